@@ -1,17 +1,27 @@
 package fr.ax_dev.universejobs;
 
 import fr.ax_dev.universejobs.action.ActionProcessor;
+import fr.ax_dev.universejobs.action.ActionMetrics;
+import fr.ax_dev.universejobs.action.RewardPipeline;
+import fr.ax_dev.universejobs.action.CustomActionQueue;
 import fr.ax_dev.universejobs.action.ActionLimitManager;
+import fr.ax_dev.universejobs.api.JobChangeDispatcher;
+import fr.ax_dev.universejobs.api.UniverseJobsAPI;
 import fr.ax_dev.universejobs.bonus.XpBonusManager;
 import fr.ax_dev.universejobs.bonus.MoneyBonusManager;
 import fr.ax_dev.universejobs.cache.ConfigurationCache;
+import fr.ax_dev.universejobs.cache.EnvironmentCache;
+import fr.ax_dev.universejobs.cache.HeldItemCache;
+import fr.ax_dev.universejobs.cache.PlaceholderValueCache;
 import fr.ax_dev.universejobs.cache.PlayerJobCache;
 import fr.ax_dev.universejobs.command.JobCommand;
 import fr.ax_dev.universejobs.compatibility.FoliaCompatibilityManager;
 import fr.ax_dev.universejobs.config.ConfigManager;
 import fr.ax_dev.universejobs.config.LanguageManager;
 import fr.ax_dev.universejobs.integration.MythicMobsHandler;
+import fr.ax_dev.universejobs.integration.item.ItemTargetRegistry;
 import fr.ax_dev.universejobs.job.JobManager;
+import fr.ax_dev.universejobs.leaderboard.LeaderboardSnapshotPublisher;
 import fr.ax_dev.universejobs.levelup.SimpleLevelUpActionManager;
 import fr.ax_dev.universejobs.listener.JobActionListener;
 import fr.ax_dev.universejobs.listener.NexoEventListener;
@@ -19,17 +29,24 @@ import fr.ax_dev.universejobs.listener.ItemsAdderEventListener;
 import fr.ax_dev.universejobs.listener.CustomCropsEventListener;
 import fr.ax_dev.universejobs.listener.CustomFishingEventListener;
 import fr.ax_dev.universejobs.listener.EnchantEventListener;
+import fr.ax_dev.universejobs.listener.BlockProtectionListener;
 import fr.ax_dev.universejobs.protection.BlockProtectionManager;
+import fr.ax_dev.universejobs.protection.FurnaceOwnerTracker;
+import fr.ax_dev.universejobs.region.RegionManager;
 import fr.ax_dev.universejobs.reward.RewardManager;
 import fr.ax_dev.universejobs.reward.gui.RewardGuiManager;
 import fr.ax_dev.universejobs.menu.MenuManager;
 import fr.ax_dev.universejobs.utils.AsyncXpMessageSender;
 import fr.ax_dev.universejobs.placeholder.PlaceholderManager;
+import fr.ax_dev.universejobs.storage.DatabaseInitializer;
+import fr.ax_dev.universejobs.storage.LeaderboardRepository;
+import fr.ax_dev.universejobs.storage.pool.ConnectionPool;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
 import org.bukkit.event.player.PlayerJoinEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.plugin.ServicePriority;
 import org.bukkit.plugin.java.JavaPlugin;
 import org.bukkit.scheduler.BukkitTask;
 
@@ -49,17 +66,31 @@ public final class UniverseJobs extends JavaPlugin implements Listener {
     private MoneyBonusManager moneyBonusManager;
     private AsyncXpMessageSender messageSender;
     private BlockProtectionManager protectionManager;
+    private FurnaceOwnerTracker furnaceOwnerTracker;
     private RewardManager rewardManager;
+    private RewardPipeline rewardPipeline;
+    private ActionMetrics actionMetrics;
+    private CustomActionQueue customActionQueue;
+    private RegionManager regionManager;
     private RewardGuiManager rewardGuiManager;
     private MenuManager menuManager;
     private PlaceholderManager placeholderManager;
+    private LeaderboardSnapshotPublisher leaderboardPublisher;
+    private ConnectionPool connectionPool;
+    private LeaderboardRepository leaderboardRepository;
     private MythicMobsHandler mythicMobsHandler;
+    private UniverseJobsAPI api;
+    private JobChangeDispatcher jobChangeDispatcher;
     private BukkitTask saveTask;
     private long startTime;
     
     // ========== ULTRA-FAST CACHE SYSTEM ==========
     private ConfigurationCache configCache;
     private PlayerJobCache playerCache;
+    private PlaceholderValueCache placeholderValueCache;
+    private HeldItemCache heldItemCache;
+    private EnvironmentCache environmentCache;
+    private ItemTargetRegistry itemTargetRegistry;
 
     @Override
     public void onEnable() {
@@ -69,6 +100,8 @@ public final class UniverseJobs extends JavaPlugin implements Listener {
         this.configManager = new ConfigManager(this);
         this.languageManager = new LanguageManager(this);
         this.foliaManager = new FoliaCompatibilityManager(this);
+        this.jobChangeDispatcher = new JobChangeDispatcher(this);
+        jobChangeDispatcher.start();
         this.jobManager = new JobManager(this);
         this.levelUpActionManager = new SimpleLevelUpActionManager(this);
         this.limitManager = new ActionLimitManager(this);
@@ -76,9 +109,13 @@ public final class UniverseJobs extends JavaPlugin implements Listener {
         this.moneyBonusManager = new MoneyBonusManager(this);
         this.messageSender = new AsyncXpMessageSender(this);
         this.protectionManager = new BlockProtectionManager(this);
+        this.furnaceOwnerTracker = new FurnaceOwnerTracker(this);
+        furnaceOwnerTracker.start();
+        this.regionManager = new RegionManager(this);
         this.rewardManager = new RewardManager(this);
         this.rewardGuiManager = new RewardGuiManager(this, rewardManager);
         this.menuManager = new MenuManager(this);
+        this.leaderboardPublisher = new LeaderboardSnapshotPublisher(this);
         this.placeholderManager = new PlaceholderManager(this);
         this.mythicMobsHandler = new MythicMobsHandler(this);
         
@@ -86,7 +123,11 @@ public final class UniverseJobs extends JavaPlugin implements Listener {
         getLogger().info("Initializing ultra-fast cache system...");
         this.configCache = new ConfigurationCache(this);
         this.playerCache = new PlayerJobCache(this);
+        this.itemTargetRegistry = new ItemTargetRegistry(this);
+        this.heldItemCache = new HeldItemCache(this);
+        this.environmentCache = new EnvironmentCache(this);
         
+        this.actionMetrics = new ActionMetrics();
         this.actionProcessor = new ActionProcessor(this, jobManager, bonusManager, moneyBonusManager, 
                                                  messageSender, limitManager, configCache, playerCache);
         
@@ -109,6 +150,20 @@ public final class UniverseJobs extends JavaPlugin implements Listener {
             // Don't disable plugin, just log warning - missing configs have defaults
         }
         
+        // Start the reward pipeline (worker count comes from the configuration)
+        this.rewardPipeline = new RewardPipeline(this, configManager.getRewardWorkerThreads());
+        actionMetrics.setEnabled(configManager.isActionMetricsEnabled());
+        this.customActionQueue = new CustomActionQueue(this, configManager.getCustomActionMaxQueued(),
+                                                       configManager.getCustomActionMaxPerFlush());
+        customActionQueue.start(configManager.getCustomActionFlushInterval());
+        
+        // Load regions (before jobs, whose region requirements reference them)
+        try {
+            regionManager.loadRegions();
+        } catch (Exception e) {
+            getLogger().log(Level.WARNING, "Failed to load regions", e);
+        }
+        
         // Load jobs
         try {
             jobManager.loadJobs();
@@ -123,6 +178,7 @@ public final class UniverseJobs extends JavaPlugin implements Listener {
         try {
             configCache.loadAllConfigurations();
             playerCache.preloadOnlinePlayers();
+            placeholderValueCache = new PlaceholderValueCache(this);
             getLogger().info("Ultra-fast cache system loaded!");
         } catch (Exception e) {
             getLogger().log(Level.SEVERE, "Failed to initialize cache system", e);
@@ -159,6 +215,9 @@ public final class UniverseJobs extends JavaPlugin implements Listener {
         getServer().getPluginManager().registerEvents(
             new JobActionListener(this, actionProcessor, protectionManager, mythicMobsHandler, configCache, playerCache), this);
         getServer().getPluginManager().registerEvents(new EnchantEventListener(this, actionProcessor), this);
+        getServer().getPluginManager().registerEvents(new BlockProtectionListener(protectionManager), this);
+        getServer().getPluginManager().registerEvents(heldItemCache, this);
+        getServer().getPluginManager().registerEvents(environmentCache, this);
         getServer().getPluginManager().registerEvents(this, this);
         
         // Register MythicMobs event listener if available
@@ -215,6 +274,12 @@ public final class UniverseJobs extends JavaPlugin implements Listener {
             });
         }
         
+        // Connect to the database if enabled (used for SQL leaderboards)
+        initializeDatabase();
+        
+        // Start background leaderboard snapshots (read by placeholders and menus)
+        leaderboardPublisher.start();
+        
         // Initialize PlaceholderAPI integration
         try {
             placeholderManager.initialize();
@@ -223,6 +288,10 @@ public final class UniverseJobs extends JavaPlugin implements Listener {
             getLogger().log(Level.WARNING, "Failed to initialize PlaceholderAPI integration", e);
         }
         
+        // Expose the public API to other plugins
+        this.api = new UniverseJobsAPI(this);
+        getServer().getServicesManager().register(UniverseJobsAPI.class, api, this, ServicePriority.Normal);
+        
         // Start periodic save task
         startSaveTask();
         
@@ -238,6 +307,10 @@ public final class UniverseJobs extends JavaPlugin implements Listener {
         
         try {
             stopSaveTask();
+            // Finish queued rewards so their XP is saved
+            shutdownManagerSafely("reward pipeline", rewardPipeline, () -> rewardPipeline.shutdown());
+            // Process accepted custom actions inline, now that rewards are applied synchronously
+            shutdownManagerSafely("custom action queue", customActionQueue, () -> customActionQueue.shutdown());
             savePlayerData();
             shutdownManagers();
             getLogger().info("UniverseJobs plugin shutdown completed successfully");
@@ -275,6 +348,8 @@ public final class UniverseJobs extends JavaPlugin implements Listener {
     private void shutdownManagers() {
         getLogger().info("Shutting down managers...");
         
+        getServer().getServicesManager().unregisterAll(this);
+        shutdownManagerSafely("job change dispatcher", jobChangeDispatcher, () -> jobChangeDispatcher.flush());
         shutdownRewardGuiManager();
         shutdownManagerSafely("menu manager", menuManager, () -> menuManager.closeAllMenus());
         shutdownManagerSafely("reward manager", rewardManager, () -> rewardManager.shutdown());
@@ -282,8 +357,13 @@ public final class UniverseJobs extends JavaPlugin implements Listener {
         shutdownManagerSafely("bonus manager", bonusManager, () -> bonusManager.shutdown());
         shutdownManagerSafely("money bonus manager", moneyBonusManager, () -> moneyBonusManager.shutdown());
         shutdownManagerSafely("placeholder manager", placeholderManager, () -> placeholderManager.shutdown());
+        shutdownManagerSafely("leaderboard publisher", leaderboardPublisher, () -> leaderboardPublisher.stop());
         shutdownManagerSafely("job manager", jobManager, () -> jobManager.shutdown());
+        shutdownManagerSafely("leaderboard repository", leaderboardRepository, () -> leaderboardRepository.flushPendingLevels());
+        shutdownManagerSafely("connection pool", connectionPool, () -> connectionPool.shutdown());
         shutdownManagerSafely("action limit manager", limitManager, () -> limitManager.clearAllLimits());
+        // Written directly: scheduled region tasks no longer run while disabling
+        shutdownManagerSafely("block protection manager", protectionManager, () -> protectionManager.flushAll());
         shutdownManagerSafely("Folia manager", foliaManager, () -> foliaManager.cancelAllTasks());
         
         // Clear references for managers without explicit shutdown
@@ -324,6 +404,31 @@ public final class UniverseJobs extends JavaPlugin implements Listener {
         }
     }
     
+    /**
+     * Initialize the database connection pool and schema when database storage is enabled.
+     * Failures are logged and the plugin falls back to file-based leaderboards.
+     */
+    private void initializeDatabase() {
+        if (!getConfig().getBoolean("database.enabled", false)) {
+            return;
+        }
+        
+        try {
+            connectionPool = new ConnectionPool(this, getConfig());
+            connectionPool.initialize();
+            
+            if (connectionPool.isEnabled() && new DatabaseInitializer(this, connectionPool).initializeDatabase()) {
+                leaderboardRepository = new LeaderboardRepository(this, connectionPool);
+                java.io.File dataFolder = new java.io.File(getDataFolder(), "data");
+                foliaManager.runAsync(() -> leaderboardRepository.backfillIfEmpty(dataFolder));
+            } else {
+                getLogger().warning("Database unavailable - leaderboards will use local player data");
+            }
+        } catch (Exception e) {
+            getLogger().log(Level.WARNING, "Failed to initialize database", e);
+        }
+    }
+    
     /**
      * Start the periodic save task.
      */
@@ -397,6 +502,8 @@ public final class UniverseJobs extends JavaPlugin implements Listener {
      */
     @EventHandler
     public void onPlayerJoin(PlayerJoinEvent event) {
+        leaderboardPublisher.cacheName(event.getPlayer().getUniqueId(), event.getPlayer().getName());
+        
         // Load player data asynchronously et précharge dans le cache
         foliaManager.runAsync(() -> {
             jobManager.loadPlayerData(event.getPlayer());
@@ -422,6 +529,7 @@ public final class UniverseJobs extends JavaPlugin implements Listener {
         
         // Cleanup cache immédiatement
         playerCache.cleanupPlayer(event.getPlayer().getUniqueId());
+        placeholderValueCache.invalidate(event.getPlayer().getUniqueId());
         
         // Save player data asynchronously
         foliaManager.runAsync(() -> {
@@ -523,6 +631,42 @@ public final class UniverseJobs extends JavaPlugin implements Listener {
         return protectionManager;
     }
     
+    /**
+     * Get the pipeline computing action rewards off the event thread.
+     * 
+     * @return The reward pipeline
+     */
+    public RewardPipeline getRewardPipeline() {
+        return rewardPipeline;
+    }
+    
+    /**
+     * Get the per-stage latency metrics of the action pipeline.
+     * 
+     * @return The action metrics
+     */
+    public ActionMetrics getActionMetrics() {
+        return actionMetrics;
+    }
+    
+    /**
+     * Get the queue batching CUSTOM actions submitted through the API.
+     * 
+     * @return The custom action queue
+     */
+    public CustomActionQueue getCustomActionQueue() {
+        return customActionQueue;
+    }
+    
+    /**
+     * Get the tracker of furnace, smoker and brewing stand owners.
+     * 
+     * @return The furnace owner tracker
+     */
+    public FurnaceOwnerTracker getFurnaceOwnerTracker() {
+        return furnaceOwnerTracker;
+    }
+    
     /**
      * Get the reward manager.
      * 
@@ -532,6 +676,15 @@ public final class UniverseJobs extends JavaPlugin implements Listener {
         return rewardManager;
     }
     
+    /**
+     * Get the region manager.
+     * 
+     * @return The region manager
+     */
+    public RegionManager getRegionManager() {
+        return regionManager;
+    }
+    
     /**
      * Get the reward GUI manager.
      * 
@@ -568,6 +721,42 @@ public final class UniverseJobs extends JavaPlugin implements Listener {
         return playerCache;
     }
     
+    /**
+     * Get the PlaceholderAPI value cache used by requirement checks.
+     * 
+     * @return The placeholder value cache
+     */
+    public PlaceholderValueCache getPlaceholderValueCache() {
+        return placeholderValueCache;
+    }
+    
+    /**
+     * Get the main-hand item attribute cache shared by conditions and actions.
+     * 
+     * @return The held item cache
+     */
+    public HeldItemCache getHeldItemCache() {
+        return heldItemCache;
+    }
+    
+    /**
+     * Get the environment cache (world time, weather and biomes).
+     * 
+     * @return The environment cache
+     */
+    public EnvironmentCache getEnvironmentCache() {
+        return environmentCache;
+    }
+    
+    /**
+     * Get the registry resolving items to action targets (vanilla or custom items).
+     * 
+     * @return The item target registry
+     */
+    public ItemTargetRegistry getItemTargetRegistry() {
+        return itemTargetRegistry;
+    }
+    
     /**
      * Get the placeholder manager.
      * 
@@ -577,6 +766,24 @@ public final class UniverseJobs extends JavaPlugin implements Listener {
         return placeholderManager;
     }
     
+    /**
+     * Get the leaderboard snapshot publisher.
+     * 
+     * @return The leaderboard publisher
+     */
+    public LeaderboardSnapshotPublisher getLeaderboardPublisher() {
+        return leaderboardPublisher;
+    }
+    
+    /**
+     * Get the leaderboard repository.
+     * 
+     * @return The leaderboard repository, or null if the database is disabled
+     */
+    public LeaderboardRepository getLeaderboardRepository() {
+        return leaderboardRepository;
+    }
+    
     /**
      * Get the MythicMobs integration handler.
      * 
@@ -586,6 +793,24 @@ public final class UniverseJobs extends JavaPlugin implements Listener {
         return mythicMobsHandler;
     }
     
+    /**
+     * Get the public API, also registered as a Bukkit service.
+     * 
+     * @return The API
+     */
+    public UniverseJobsAPI getApi() {
+        return api;
+    }
+    
+    /**
+     * Get the dispatcher delivering job XP changes to API listeners.
+     * 
+     * @return The job change dispatcher
+     */
+    public JobChangeDispatcher getJobChangeDispatcher() {
+        return jobChangeDispatcher;
+    }
+    
     /**
      * Get the action limit manager.
      * 
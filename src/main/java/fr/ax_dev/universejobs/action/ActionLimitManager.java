@@ -2,7 +2,6 @@ package fr.ax_dev.universejobs.action;
 
 import fr.ax_dev.universejobs.UniverseJobs;
 import org.bukkit.entity.Player;
-import org.bukkit.scheduler.BukkitRunnable;
 
 import java.time.LocalDateTime;
 import java.time.LocalTime;
@@ -256,13 +255,8 @@ public class ActionLimitManager {
      * Start the automatic restore task based on configured schedule.
      */
     private void startAutoRestoreTask() {
-        // Check for scheduled restore every minute
-        new BukkitRunnable() {
-            @Override
-            public void run() {
-                checkScheduledRestore();
-            }
-        }.runTaskTimer(plugin, 20 * 60, 20 * 60); // Every minute
+        // Check for scheduled restore every minute; only touches limit data, so no region thread is needed
+        plugin.getFoliaManager().runTimerAsync(this::checkScheduledRestore, 20 * 60, 20 * 60);
     }
     
     /**
@@ -404,8 +398,9 @@ public class ActionLimitManager {
      * Stores current limit data for a player's specific action.
      */
     private static class ActionLimitData {
-        private int currentActionsPerformed;
-        private long cooldownEndTime;
+        // Written by reward pipeline lanes and the auto-restore task
+        private volatile int currentActionsPerformed;
+        private volatile long cooldownEndTime;
         
         public ActionLimitData(ActionLimit limit) {
             this.currentActionsPerformed = 0;
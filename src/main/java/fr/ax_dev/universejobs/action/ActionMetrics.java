@@ -0,0 +1,197 @@
+package fr.ax_dev.universejobs.action;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Per-stage latency of the action pipeline, per action type and per job.
+ * <p>
+ * Disabled by default. When disabled, {@link #start()} returns 0 and every
+ * {@code record} call returns immediately, so instrumented code only pays one
+ * volatile read. Histograms are created the first time a stage is recorded.
+ */
+public class ActionMetrics {
+
+    /**
+     * Timed stages of an action, in pipeline order.
+     */
+    public enum Stage {
+        /** Building the condition context in the listener, including item target resolution. */
+        CONTEXT,
+        /** Matching the event target against the job's actions. */
+        TARGET,
+        /** Checking if a broken block was placed by a player. */
+        PROTECTION,
+        /** Evaluating requirements. */
+        CONDITIONS,
+        /** Checking and consuming action limits. */
+        LIMITS,
+        /** Applying multipliers and XP/money bonuses. */
+        BONUS,
+        /** Adding XP and updating the level. */
+        XP,
+        /** Depositing money. */
+        ECONOMY,
+        /** Level-up handling and the XP message. */
+        MESSAGES;
+
+        /**
+         * Get the stage name used in commands and placeholders.
+         *
+         * @return The lowercase name
+         */
+        public String key() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+
+        /**
+         * Find a stage by name.
+         *
+         * @param key The stage name, case-insensitive
+         * @return The stage, or null if unknown
+         */
+        public static Stage fromKey(String key) {
+            for (Stage stage : values()) {
+                if (stage.name().equalsIgnoreCase(key)) {
+                    return stage;
+                }
+            }
+            return null;
+        }
+    }
+
+    private static final int STAGE_COUNT = Stage.values().length;
+
+    private volatile boolean enabled;
+    private final AtomicReferenceArray<LatencyHistogram> byActionType =
+            new AtomicReferenceArray<>(ActionType.values().length * STAGE_COUNT);
+    private final Map<String, AtomicReferenceArray<LatencyHistogram>> byJob = new ConcurrentHashMap<>();
+
+    /**
+     * Check if stage timings are collected.
+     *
+     * @return true if enabled
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Enable or disable collection at runtime. Recorded data is kept.
+     *
+     * @param enabled true to collect timings
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Start timing a stage.
+     *
+     * @return The start time to pass to {@code record}, 0 if disabled
+     */
+    public long start() {
+        return enabled ? System.nanoTime() : 0L;
+    }
+
+    /**
+     * Record a stage not tied to a job.
+     *
+     * @param stage The stage
+     * @param actionType The action type
+     * @param start The value returned by {@link #start()}
+     */
+    public void record(Stage stage, ActionType actionType, long start) {
+        if (start == 0L) {
+            return;
+        }
+        long elapsed = System.nanoTime() - start;
+        histogram(byActionType, actionType.ordinal() * STAGE_COUNT + stage.ordinal()).record(elapsed);
+    }
+
+    /**
+     * Record a stage for an action type and a job.
+     *
+     * @param stage The stage
+     * @param actionType The action type
+     * @param jobId The job ID
+     * @param start The value returned by {@link #start()}
+     */
+    public void record(Stage stage, ActionType actionType, String jobId, long start) {
+        if (start == 0L) {
+            return;
+        }
+        long elapsed = System.nanoTime() - start;
+        histogram(byActionType, actionType.ordinal() * STAGE_COUNT + stage.ordinal()).record(elapsed);
+        AtomicReferenceArray<LatencyHistogram> jobHistograms =
+                byJob.computeIfAbsent(jobId, k -> new AtomicReferenceArray<>(STAGE_COUNT));
+        histogram(jobHistograms, stage.ordinal()).record(elapsed);
+    }
+
+    /**
+     * Get the histogram of a stage for an action type.
+     *
+     * @param actionType The action type
+     * @param stage The stage
+     * @return The histogram, or null if nothing was recorded
+     */
+    public LatencyHistogram getHistogram(ActionType actionType, Stage stage) {
+        return byActionType.get(actionType.ordinal() * STAGE_COUNT + stage.ordinal());
+    }
+
+    /**
+     * Get the histogram of a stage for a job.
+     *
+     * @param jobId The job ID
+     * @param stage The stage
+     * @return The histogram, or null if nothing was recorded
+     */
+    public LatencyHistogram getJobHistogram(String jobId, Stage stage) {
+        AtomicReferenceArray<LatencyHistogram> jobHistograms = byJob.get(jobId);
+        return jobHistograms != null ? jobHistograms.get(stage.ordinal()) : null;
+    }
+
+    /**
+     * Get the jobs with recorded timings.
+     *
+     * @return The job IDs
+     */
+    public Set<String> getJobIds() {
+        return byJob.keySet();
+    }
+
+    /**
+     * Clear every recorded timing.
+     */
+    public void reset() {
+        for (int i = 0; i < byActionType.length(); i++) {
+            LatencyHistogram histogram = byActionType.get(i);
+            if (histogram != null) {
+                histogram.reset();
+            }
+        }
+        byJob.clear();
+    }
+
+    /**
+     * Format a duration in microseconds with one decimal.
+     *
+     * @param nanos The duration in nanoseconds
+     * @return The formatted microseconds
+     */
+    public static String formatMicros(double nanos) {
+        return String.format(Locale.ROOT, "%.1f", nanos / 1000.0);
+    }
+
+    private static LatencyHistogram histogram(AtomicReferenceArray<LatencyHistogram> histograms, int index) {
+        LatencyHistogram histogram = histograms.get(index);
+        if (histogram == null) {
+            histograms.compareAndSet(index, null, new LatencyHistogram());
+            histogram = histograms.get(index);
+        }
+        return histogram;
+    }
+}
@@ -1,6 +1,7 @@
 package fr.ax_dev.universejobs.action;
 
 import fr.ax_dev.universejobs.UniverseJobs;
+import fr.ax_dev.universejobs.action.ActionMetrics.Stage;
 import fr.ax_dev.universejobs.bonus.XpBonusManager;
 import fr.ax_dev.universejobs.bonus.MoneyBonusManager;
 import fr.ax_dev.universejobs.condition.ConditionContext;
@@ -20,8 +21,12 @@ import org.bukkit.Sound;
 import org.bukkit.entity.Player;
 import org.bukkit.event.Event;
 
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.UUID;
 
 /**
  * Processes actions and awards XP when requirements are met.
@@ -30,6 +35,16 @@ public class ActionProcessor {
     
     private static final String MATCHES_SUFFIX = ", matches: ";
     
+    /**
+     * Context key of the summed amount of coalesced CUSTOM submissions, multiplying their XP and money.
+     */
+    public static final String CUSTOM_AMOUNT_KEY = "custom_amount";
+    
+    /**
+     * Context key of the number of CUSTOM submissions coalesced into one context; each consumes a limit slot.
+     */
+    public static final String CUSTOM_COUNT_KEY = "custom_count";
+    
     private final UniverseJobs plugin;
     private final JobManager jobManager;
     private final XpBonusManager bonusManager;
@@ -38,6 +53,7 @@ public class ActionProcessor {
     private final ActionLimitManager limitManager;
     private final ConfigurationCache configCache;
     private final PlayerJobCache playerCache;
+    private final ActionMetrics metrics;
     
     /**
      * Create a new ActionProcessor with ultra-fast caching.
@@ -63,6 +79,7 @@ public class ActionProcessor {
         this.limitManager = limitManager;
         this.configCache = configCache;
         this.playerCache = playerCache;
+        this.metrics = plugin.getActionMetrics();
     }
     
     /**
@@ -137,7 +154,7 @@ public class ActionProcessor {
         
         boolean shouldCancel = false;
         for (JobAction action : actions) {
-            if (processJobAction(player, job, action, event, context)) {
+            if (processJobAction(player, job, actionType, action, event, context)) {
                 shouldCancel = true;
             }
         }
@@ -169,33 +186,14 @@ public class ActionProcessor {
      * 
      * @param player The player
      * @param job The job
+     * @param actionType The action type
      * @param action The job action
      * @param event The event
      * @param context The context
      * @return true if the event should be cancelled
      */
-    private boolean processJobAction(Player player, Job job, JobAction action, Event event, ConditionContext context) {
-        if (!validateActionTarget(action, context, job)) {
-            return false;
-        }
-        
-        if (!validateInteractType(action, context, job)) {
-            return false;
-        }
-        
-        if (!validateProfession(action, context, job)) {
-            return false;
-        }
-        
-        if (!validateColor(action, context, job)) {
-            return false;
-        }
-        
-        if (!validateNbt(action, context, job)) {
-            return false;
-        }
-        
-        if (!validatePotionType(action, context, job)) {
+    private boolean processJobAction(Player player, Job job, ActionType actionType, JobAction action, Event event, ConditionContext context) {
+        if (!matchesAction(job, actionType, action, context)) {
             return false;
         }
         
@@ -204,21 +202,203 @@ public class ActionProcessor {
         
         // Check requirements first
         if (action.hasRequirements()) {
+            long conditionsStart = metrics.start();
             ConditionResult result = action.getRequirements().evaluate(player, event, context);
             conditionMet = result.isAllowed();
             shouldCancel = result.shouldCancelEvent();
-            result.execute(player);
+            if (result.hasActions()) {
+                result.execute(player);
+            }
+            metrics.record(Stage.CONDITIONS, actionType, job.getId(), conditionsStart);
         }
         
         // Only process rewards and effects if conditions are met
         if (conditionMet) {
-            processActionRewardsFast(player, job, action, context);
+            processActionRewardsFast(player, job, actionType, action, context);
             executeActionEffects(player, action);
         }
         
         return shouldCancel;
     }
     
+    /**
+     * Check the target and the action-specific filters (interact type, profession,
+     * color, NBT, potion type) of an action against a context.
+     */
+    private boolean matchesAction(Job job, ActionType actionType, JobAction action, ConditionContext context) {
+        long targetStart = metrics.start();
+        boolean targetMatches = validateActionTarget(action, context, job);
+        metrics.record(Stage.TARGET, actionType, job.getId(), targetStart);
+        if (!targetMatches) {
+            return false;
+        }
+        
+        return validateInteractType(action, context, job)
+            && validateProfession(action, context, job)
+            && validateColor(action, context, job)
+            && validateNbt(action, context, job)
+            && validatePotionType(action, context, job);
+    }
+    
+    /**
+     * Process many targets of one action type for a player at once, such as the blocks
+     * of a vein-miner or tree-feller swing. Targets, filters and requirements are checked
+     * for each context; the rewards of each job are then summed and go through bonuses,
+     * XP, economy and the XP message once. Action limits still count every target.
+     * A context may stand for several coalesced CUSTOM submissions: {@link #CUSTOM_AMOUNT_KEY}
+     * multiplies its rewards and {@link #CUSTOM_COUNT_KEY} is the number of limit slots it uses.
+     * Must be called on the player's thread.
+     * 
+     * @param player The player performing the actions
+     * @param actionType The type of action
+     * @param contexts One context per target
+     * @return The number of contexts rewarded by at least one job
+     */
+    public int processActionBatch(Player player, ActionType actionType, List<ConditionContext> contexts) {
+        if (contexts.isEmpty()) {
+            return 0;
+        }
+        Set<String> playerJobs = playerCache.getPlayerJobs(player.getUniqueId());
+        if (playerJobs.isEmpty()) {
+            return 0;
+        }
+        
+        boolean[] rewarded = new boolean[contexts.size()];
+        for (String jobId : playerJobs) {
+            Job job = jobManager.getJob(jobId);
+            if (!isJobValid(job, jobId)) {
+                continue;
+            }
+            List<JobAction> actions = job.getActions(actionType);
+            if (actions.isEmpty()) {
+                continue;
+            }
+            
+            // Per action: summed XP, summed money, number of limit slots (rewarded targets)
+            Map<JobAction, double[]> accrued = new LinkedHashMap<>();
+            // Actions whose deny / accept result actions already ran in this batch
+            Set<JobAction> denyShown = new HashSet<>();
+            Set<JobAction> acceptShown = new HashSet<>();
+            for (int i = 0; i < contexts.size(); i++) {
+                ConditionContext context = contexts.get(i);
+                for (JobAction action : actions) {
+                    if (!matchesAction(job, actionType, action, context)
+                            || !meetsBatchRequirements(player, job, actionType, action, context, denyShown, acceptShown)) {
+                        continue;
+                    }
+                    double multiplier = context.getCraftMultiplier() * getNumber(context, CUSTOM_AMOUNT_KEY);
+                    double[] amounts = accrued.computeIfAbsent(action, a -> new double[3]);
+                    amounts[0] += action.getXp() * multiplier;
+                    amounts[1] += action.getMoney() * multiplier;
+                    amounts[2] += Math.max(1, (int) getNumber(context, CUSTOM_COUNT_KEY));
+                    rewarded[i] = true;
+                }
+            }
+            
+            if (!accrued.isEmpty()) {
+                // Effects once per matched action, not once per target
+                for (JobAction action : accrued.keySet()) {
+                    executeActionEffects(player, action);
+                }
+                processBatchRewards(player, job, actionType, accrued);
+            }
+        }
+        
+        int count = 0;
+        for (boolean targetRewarded : rewarded) {
+            if (targetRewarded) {
+                count++;
+            }
+        }
+        debugLog("Batch " + actionType + " for " + player.getName() + ": " + count + "/" + contexts.size() + " targets rewarded");
+        return count;
+    }
+    
+    private static double getNumber(ConditionContext context, String key) {
+        Object value = context.get(key);
+        return value instanceof Number number ? number.doubleValue() : 1.0;
+    }
+    
+    /**
+     * Evaluate the requirements of an action for one target of a batch.
+     * There is no event to cancel: only the allowed result is used. The result's messages,
+     * sounds and commands run once per action and outcome in a batch, for the first target.
+     */
+    private boolean meetsBatchRequirements(Player player, Job job, ActionType actionType, JobAction action, ConditionContext context,
+                                           Set<JobAction> denyShown, Set<JobAction> acceptShown) {
+        if (!action.hasRequirements()) {
+            return true;
+        }
+        long conditionsStart = metrics.start();
+        ConditionResult result = action.getRequirements().evaluate(player, null, context);
+        if (result.hasActions() && (result.isAllowed() ? acceptShown : denyShown).add(action)) {
+            result.execute(player);
+        }
+        metrics.record(Stage.CONDITIONS, actionType, job.getId(), conditionsStart);
+        return result.isAllowed();
+    }
+    
+    /**
+     * Reward the summed gains of a batch for one job, through the reward pipeline
+     * unless one of the matched actions requires synchronous rewards.
+     */
+    private void processBatchRewards(Player player, Job job, ActionType actionType, Map<JobAction, double[]> accrued) {
+        boolean syncRewards = false;
+        for (JobAction action : accrued.keySet()) {
+            syncRewards |= action.isSyncRewards();
+        }
+        
+        RewardPipeline pipeline = plugin.getRewardPipeline();
+        if (pipeline != null && pipeline.isEnabled() && !syncRewards) {
+            pipeline.submit(player,
+                () -> computeBatchRewards(player, job, actionType, accrued),
+                gains -> applyRewards(player, job, actionType, gains));
+        } else {
+            RewardGains gains = computeBatchRewards(player, job, actionType, accrued);
+            if (gains != null) {
+                applyRewards(player, job, actionType, gains);
+            }
+        }
+    }
+    
+    /**
+     * Compute the gains of a batch: limits per target, then bonuses and XP once.
+     * 
+     * @return The gains, or null if there is nothing to apply
+     */
+    private RewardGains computeBatchRewards(Player player, Job job, ActionType actionType, Map<JobAction, double[]> accrued) {
+        double xp = 0;
+        double money = 0;
+        for (Map.Entry<JobAction, double[]> entry : accrued.entrySet()) {
+            JobAction action = entry.getKey();
+            double[] amounts = entry.getValue();
+            if (!action.hasLimits()) {
+                xp += amounts[0];
+                money += amounts[1];
+                continue;
+            }
+            
+            // Limits count actions: consume one per rewarded target or coalesced submission
+            int slots = (int) amounts[2];
+            long limitsStart = metrics.start();
+            for (int i = 0; i < slots; i++) {
+                ActionLimitManager.ActionGains allowedGains = limitManager.checkAndConsumeLimit(
+                    player, job.getId(), action.getTarget(), amounts[0] / slots, amounts[1] / slots);
+                if (!allowedGains.hasGains()) {
+                    break;
+                }
+                xp += allowedGains.getXp();
+                money += allowedGains.getMoney();
+            }
+            metrics.record(Stage.LIMITS, actionType, job.getId(), limitsStart);
+        }
+        
+        if (xp <= 0 && money <= 0) {
+            return null;
+        }
+        return computeGains(player, job, actionType, xp, money);
+    }
+    
     /**
      * Version ultra-rapide sans debug logging.
      */
@@ -232,7 +412,9 @@ public class ActionProcessor {
         }
         
         // Cache lookup direct des actions
+        long targetStart = metrics.start();
         Set<JobAction> actions = configCache.getActionsForMaterial(context.getTarget());
+        metrics.record(Stage.TARGET, actionType, jobId, targetStart);
         if (actions.isEmpty()) {
             if (configCache.isDebugEnabled()) {
                 plugin.getLogger().info("DEBUG: No actions found for material " + context.getTarget());
@@ -262,18 +444,22 @@ public class ActionProcessor {
             // Check requirements first before giving rewards
             boolean conditionMet = true;
             if (action.hasRequirements()) {
+                long conditionsStart = metrics.start();
                 ConditionResult result = action.getRequirements().evaluate(player, event, context);
                 conditionMet = result.isAllowed();
                 
                 if (result.shouldCancelEvent()) {
                     shouldCancel = true;
                 }
-                result.execute(player);
+                if (result.hasActions()) {
+                    result.execute(player);
+                }
+                metrics.record(Stage.CONDITIONS, actionType, jobId, conditionsStart);
             }
             
             // Only process rewards if conditions are met
             if (conditionMet) {
-                processActionRewardsFast(player, job, action, context);
+                processActionRewardsFast(player, job, actionType, action, context);
             }
         }
         
@@ -282,75 +468,132 @@ public class ActionProcessor {
     
     /**
      * Process action rewards with optimal performance and all features.
+     * Runs in the event; the computation and its side effects go through the
+     * reward pipeline unless the action requires synchronous rewards.
      */
-    private void processActionRewardsFast(Player player, Job job, JobAction action, ConditionContext context) {
+    private void processActionRewardsFast(Player player, Job job, ActionType actionType, JobAction action, ConditionContext context) {
         double xp = action.getXp();
         double money = action.getMoney();
         
         if (xp <= 0 && money <= 0) return;
         
         // Craft multiplier
-        Object craftMultiplierObj = context.get("craft_multiplier");
-        if (craftMultiplierObj instanceof Integer) {
-            int craftMultiplier = (Integer) craftMultiplierObj;
+        int craftMultiplier = context.getCraftMultiplier();
+        if (craftMultiplier != 1) {
             xp *= craftMultiplier;
             money *= craftMultiplier;
         }
         
+        // The context is released after the event: only plain values go further
+        final double baseXp = xp;
+        final double baseMoney = money;
+        RewardPipeline pipeline = plugin.getRewardPipeline();
+        if (pipeline != null && pipeline.isEnabled() && !action.isSyncRewards()) {
+            pipeline.submit(player,
+                () -> computeRewards(player, job, actionType, action, baseXp, baseMoney),
+                gains -> applyRewards(player, job, actionType, gains));
+        } else {
+            RewardGains gains = computeRewards(player, job, actionType, action, baseXp, baseMoney);
+            if (gains != null) {
+                applyRewards(player, job, actionType, gains);
+            }
+        }
+    }
+    
+    /**
+     * Compute the gains of an action: limits, multipliers, bonuses and XP.
+     * Only touches thread-safe state, so it may run on a reward pipeline lane.
+     * 
+     * @return The gains, or null if there is nothing to apply
+     */
+    private RewardGains computeRewards(Player player, Job job, ActionType actionType, JobAction action, double xp, double money) {
         // Check action limits first (if any)
         if (action.hasLimits()) {
+            long limitsStart = metrics.start();
             ActionLimitManager.ActionGains allowedGains = limitManager.checkAndConsumeLimit(
                 player, job.getId(), action.getTarget(), xp, money);
+            metrics.record(Stage.LIMITS, actionType, job.getId(), limitsStart);
             
             xp = allowedGains.getXp();
             money = allowedGains.getMoney();
             
             // If no gains allowed due to limits, return early
             if (!allowedGains.hasGains()) {
-                return;
+                return null;
             }
         }
         
+        return computeGains(player, job, actionType, xp, money);
+    }
+    
+    /**
+     * Compute the gains once limits are applied: multipliers, bonuses and XP.
+     * 
+     * @return The gains
+     */
+    private RewardGains computeGains(Player player, Job job, ActionType actionType, double xp, double money) {
+        UUID playerId = player.getUniqueId();
+        int currentLevel = 0;
+        int newLevel = 0;
+        
+        // Multipliers and bonuses avec cache
+        long bonusStart = metrics.start();
+        double multiplier = playerCache.getPlayerMultiplier(playerId);
+        double bonusMultiplier = xp > 0 ? bonusManager.getTotalMultiplier(playerId, job.getId()) : 1.0;
+        double moneyBonusMultiplier = money > 0 ? moneyBonusManager.getTotalMultiplier(playerId, job.getId()) : 1.0;
+        metrics.record(Stage.BONUS, actionType, job.getId(), bonusStart);
+        
         // XP processing avec cache
         if (xp > 0) {
-            int currentLevel = playerCache.getPlayerLevel(player.getUniqueId(), job.getId());
+            currentLevel = playerCache.getPlayerLevel(playerId, job.getId());
+            newLevel = currentLevel;
             if (currentLevel < job.getMaxLevel()) {
-                // Multiplier avec cache
-                double multiplier = playerCache.getPlayerMultiplier(player.getUniqueId());
-                xp *= multiplier;
-                
-                // Bonus avec cache
-                double bonusMultiplier = bonusManager.getTotalMultiplier(player.getUniqueId(), job.getId());
-                xp *= bonusMultiplier;
+                xp *= multiplier * bonusMultiplier;
                 
                 // Add XP et mise à jour cache
+                long xpStart = metrics.start();
                 jobManager.addXp(player, job.getId(), xp);
-                int newLevel = jobManager.getLevel(player, job.getId());
-                playerCache.updatePlayerXp(player.getUniqueId(), job.getId(), 
-                    playerCache.getPlayerXp(player.getUniqueId(), job.getId()) + xp, newLevel);
-                
-                if (newLevel > currentLevel) {
-                    handleLevelUp(player, job, currentLevel, newLevel);
-                }
+                newLevel = jobManager.getLevel(player, job.getId());
+                playerCache.updatePlayerXp(playerId, job.getId(), 
+                    playerCache.getPlayerXp(playerId, job.getId()) + xp, newLevel);
+                metrics.record(Stage.XP, actionType, job.getId(), xpStart);
             }
         }
         
         // Money processing
         if (money > 0) {
-            double multiplier = playerCache.getPlayerMultiplier(player.getUniqueId());
-            money *= multiplier;
-            
-            double moneyBonusMultiplier = moneyBonusManager.getTotalMultiplier(player.getUniqueId(), job.getId());
-            money *= moneyBonusMultiplier;
-            
-            addPlayerMoney(player, money);
+            money *= multiplier * moneyBonusMultiplier;
+        }
+        
+        return new RewardGains(xp, money, currentLevel, newLevel);
+    }
+    
+    /**
+     * Apply computed gains: deposit money, announce level-ups and show the XP message.
+     * Runs on the player's thread.
+     */
+    private void applyRewards(Player player, Job job, ActionType actionType, RewardGains gains) {
+        if (gains.money() > 0) {
+            long economyStart = metrics.start();
+            addPlayerMoney(player, gains.money());
+            metrics.record(Stage.ECONOMY, actionType, job.getId(), economyStart);
+        }
+        
+        if (!player.isOnline()) {
+            return; // Nothing to show to a player who left
+        }
+        
+        long messagesStart = metrics.start();
+        if (gains.newLevel() > gains.oldLevel()) {
+            handleLevelUp(player, job, gains.oldLevel(), gains.newLevel());
         }
         
         // Message async seulement si activé
-        if (configCache.isShowXpGain() && (xp > 0 || money > 0)) {
+        if (configCache.isShowXpGain() && (gains.xp() > 0 || gains.money() > 0)) {
             fr.ax_dev.universejobs.job.PlayerJobData playerData = jobManager.getPlayerData(player);
-            messageSender.sendXpMessage(player, job, xp, money, playerData);
+            messageSender.sendXpMessage(player, job, gains.xp(), gains.money(), playerData);
         }
+        metrics.record(Stage.MESSAGES, actionType, job.getId(), messagesStart);
     }
     
     /**
@@ -384,7 +627,7 @@ public class ActionProcessor {
             return true;
         }
         
-        String eventInteractType = context.get("interact-type");
+        String eventInteractType = context.getInteractType();
         String actionInteractType = action.getInteractType();
         
         debugLog("Interact type check - event: " + eventInteractType + ", action: " + actionInteractType);
@@ -476,12 +719,12 @@ public class ActionProcessor {
     }
     
     /**
-     * Validate potion-type requirements for POTION actions.
+     * Validate potion-type requirements for POTION and BREW actions.
      */
     private boolean validatePotionType(JobAction action, ConditionContext context, Job job) {
         ActionType actionType = job.getActionTypeForAction(action);
-        if (actionType != ActionType.POTION) {
-            return true; // Potion-type validation only applies to POTION actions
+        if (actionType != ActionType.POTION && actionType != ActionType.BREW) {
+            return true; // Potion-type validation only applies to POTION and BREW actions
         }
         
         // If no potion-type requirements specified, allow all potions
@@ -507,9 +750,8 @@ public class ActionProcessor {
         double money = action.getMoney();
         
         // Apply craft multiplier if present
-        Object craftMultiplierObj = context.get("craft_multiplier");
-        if (craftMultiplierObj instanceof Integer) {
-            int craftMultiplier = (Integer) craftMultiplierObj;
+        int craftMultiplier = context.getCraftMultiplier();
+        if (craftMultiplier != 1) {
             xp *= craftMultiplier;
             money *= craftMultiplier;
             
@@ -785,7 +1027,7 @@ public class ActionProcessor {
                     MessageUtils.sendActionBar(player, text);
                     // Schedule clear after duration
                     if (messageConfig.getDuration() > 0) {
-                        plugin.getFoliaManager().runLater(() -> {
+                        plugin.getFoliaManager().runAtEntityLater(player, () -> {
                             if (player.isOnline()) {
                                 MessageUtils.sendActionBar(player, "");
                             }
@@ -821,4 +1063,9 @@ public class ActionProcessor {
         return null; // Performance listener feature removed
     }
     
-}
\ No newline at end of file
+    /**
+     * Gains of one action, computed by the reward stage.
+     */
+    private record RewardGains(double xp, double money, int oldLevel, int newLevel) {
+    }
+}
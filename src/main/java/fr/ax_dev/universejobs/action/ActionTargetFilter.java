@@ -0,0 +1,227 @@
+package fr.ax_dev.universejobs.action;
+
+import fr.ax_dev.universejobs.job.Job;
+import org.bukkit.Material;
+import org.bukkit.entity.EntityType;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Precomputed answer to "could any job reward this action on this material or entity?".
+ * <p>
+ * Built from the targets of every loaded job each time jobs are loaded, so listeners can
+ * drop irrelevant events (placing scaffolding, breaking grass...) with one set lookup before
+ * building a context. Plain names and {@code PREFIX_*} / {@code *_SUFFIX} wildcards are
+ * expanded over all materials and entity types. Namespaced custom IDs such as
+ * {@code nexo:...} or {@code MYTHICMOB:...} are kept in an ID set; for block actions they
+ * only let the carrier materials of custom blocks through, for other actions they cannot be
+ * decided from the material or entity type alone. Any other target ({@code *}) lets every
+ * event of that action type through.
+ */
+public final class ActionTargetFilter {
+
+    private static final ActionTargetFilter EMPTY = new ActionTargetFilter(new TypeFilter[ActionType.values().length]);
+
+    // Actions on blocks, whose custom blocks (Nexo, ItemsAdder, Oraxen) are backed by these materials
+    private static final Set<ActionType> BLOCK_ACTIONS =
+            EnumSet.of(ActionType.BREAK, ActionType.PLACE, ActionType.HARVEST, ActionType.BLOCK_INTERACT);
+    private static final Set<Material> CUSTOM_BLOCK_CARRIERS = EnumSet.of(
+            Material.NOTE_BLOCK, Material.TRIPWIRE, Material.MUSHROOM_STEM, Material.BROWN_MUSHROOM_BLOCK,
+            Material.RED_MUSHROOM_BLOCK, Material.CHORUS_PLANT, Material.BARRIER);
+
+    private final TypeFilter[] filters;
+
+    private ActionTargetFilter(TypeFilter[] filters) {
+        this.filters = filters;
+    }
+
+    /**
+     * Get a filter rejecting everything (no jobs loaded).
+     *
+     * @return The empty filter
+     */
+    public static ActionTargetFilter empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Build the filter for a set of jobs.
+     *
+     * @param jobs The loaded jobs
+     * @return The filter
+     */
+    public static ActionTargetFilter build(Collection<Job> jobs) {
+        ActionType[] types = ActionType.values();
+        TypeFilter[] filters = new TypeFilter[types.length];
+
+        for (ActionType type : types) {
+            List<String> targets = new ArrayList<>();
+            for (Job job : jobs) {
+                for (JobAction action : job.getActions(type)) {
+                    targets.add(action.getTarget());
+                }
+            }
+            if (!targets.isEmpty()) {
+                filters[type.ordinal()] = TypeFilter.of(targets, BLOCK_ACTIONS.contains(type));
+            }
+        }
+        return new ActionTargetFilter(filters);
+    }
+
+    /**
+     * Check if an action on a material may be rewarded by some job.
+     *
+     * @param type The action type
+     * @param material The block or item material
+     * @return false if no job can match, true otherwise
+     */
+    public boolean mayMatch(ActionType type, Material material) {
+        TypeFilter filter = filters[type.ordinal()];
+        return filter != null && (filter.allMaterials || filter.materials.contains(material));
+    }
+
+    /**
+     * Check if an action on an entity type may be rewarded by some job.
+     *
+     * @param type The action type
+     * @param entityType The entity type
+     * @return false if no job can match, true otherwise
+     */
+    public boolean mayMatch(ActionType type, EntityType entityType) {
+        TypeFilter filter = filters[type.ordinal()];
+        return filter != null && (filter.allEntities || filter.entities.contains(entityType));
+    }
+
+    /**
+     * Check if an action on a custom target ID may be rewarded by some job,
+     * such as a custom block ({@code nexo:ruby_ore}) or a CUSTOM action key.
+     *
+     * @param type The action type
+     * @param id The target ID, case-insensitive
+     * @return false if no job can match, true otherwise
+     */
+    public boolean mayMatch(ActionType type, String id) {
+        TypeFilter filter = filters[type.ordinal()];
+        return filter != null && (filter.allIds || filter.ids.contains(id.toLowerCase(Locale.ROOT)));
+    }
+
+    /**
+     * Check if any job has actions of a type.
+     *
+     * @param type The action type
+     * @return true if at least one action is configured
+     */
+    public boolean hasActions(ActionType type) {
+        return filters[type.ordinal()] != null;
+    }
+
+    /**
+     * Targets of one action type.
+     */
+    private static final class TypeFilter {
+        private boolean allMaterials;
+        private boolean allEntities;
+        private boolean allIds;
+        private final Set<Material> materials = EnumSet.noneOf(Material.class);
+        private final Set<EntityType> entities = EnumSet.noneOf(EntityType.class);
+        private final Set<String> ids = new HashSet<>();
+
+        static TypeFilter of(List<String> targets, boolean blockAction) {
+            TypeFilter filter = new TypeFilter();
+            List<String> expandable = new ArrayList<>();
+            for (String target : targets) {
+                if (isExpandable(target)) {
+                    expandable.add(target);
+                    if (target.indexOf('*') >= 0) {
+                        filter.allIds = true;
+                    } else {
+                        filter.ids.add(target.toLowerCase(Locale.ROOT));
+                    }
+                } else if (isNamespaced(target)) {
+                    filter.ids.add(target.toLowerCase(Locale.ROOT));
+                    if (target.regionMatches(true, 0, "minecraft:", 0, 10)) {
+                        // Vanilla ID: expand its name like a plain target
+                        expandable.add(target.substring(10));
+                        continue;
+                    }
+                    filter.allEntities = true;
+                    if (blockAction) {
+                        filter.materials.addAll(CUSTOM_BLOCK_CARRIERS);
+                    } else {
+                        filter.allMaterials = true;
+                    }
+                } else {
+                    filter.allMaterials = true;
+                    filter.allEntities = true;
+                    filter.allIds = true;
+                }
+            }
+
+            if (expandable.isEmpty()) {
+                return filter;
+            }
+            for (Material material : Material.values()) {
+                if (matchesAny(expandable, material.name())) {
+                    filter.materials.add(material);
+                }
+            }
+            for (EntityType entityType : EntityType.values()) {
+                if (matchesAny(expandable, entityType.name())) {
+                    filter.entities.add(entityType);
+                }
+            }
+            return filter;
+        }
+
+        /**
+         * Check if a target is a namespaced custom ID ({@code namespace:id}) without wildcards.
+         */
+        private static boolean isNamespaced(String target) {
+            if (target == null || target.indexOf('*') >= 0) {
+                return false;
+            }
+            int colon = target.indexOf(':');
+            return colon > 0 && colon < target.length() - 1;
+        }
+
+        /**
+         * Check if a target is a plain name with at most a leading or trailing wildcard.
+         */
+        private static boolean isExpandable(String target) {
+            if (target == null || target.isEmpty() || (target.startsWith("*") && target.endsWith("*"))) {
+                return false;
+            }
+            for (int i = 0; i < target.length(); i++) {
+                char c = target.charAt(i);
+                boolean wildcardEdge = c == '*' && (i == 0 || i == target.length() - 1);
+                if (!wildcardEdge && !Character.isLetterOrDigit(c) && c != '_') {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static boolean matchesAny(List<String> targets, String name) {
+            for (String target : targets) {
+                // Same rules as JobAction.matchesTarget(String)
+                if (target.equalsIgnoreCase(name)) {
+                    return true;
+                }
+                if (target.endsWith("*")
+                        && name.startsWith(target.substring(0, target.length() - 1).toUpperCase())) {
+                    return true;
+                }
+                if (target.startsWith("*") && name.endsWith(target.substring(1).toUpperCase())) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
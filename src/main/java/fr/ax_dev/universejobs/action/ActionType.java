@@ -56,6 +56,11 @@ public enum ActionType {
      */
     SMELT,
     
+    /**
+     * Brewing potions
+     */
+    BREW,
+    
     /**
      * Enchanting items
      */
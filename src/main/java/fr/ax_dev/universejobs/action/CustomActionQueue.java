@@ -0,0 +1,290 @@
+package fr.ax_dev.universejobs.action;
+
+import fr.ax_dev.universejobs.UniverseJobs;
+import fr.ax_dev.universejobs.condition.ConditionContext;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Buffers {@link ActionType#CUSTOM} actions submitted by other plugins and rewards them in batches.
+ * <p>
+ * Submitting is a lock-free queue append from any thread. An async timer drains a bounded
+ * number of submissions, sums the amounts of identical ones (same player, key and attributes),
+ * and schedules one batch per player on the player's thread, so a high-rate emitter costs
+ * one batch per player and flush instead of one event per submission.
+ * Submissions beyond the queue capacity are dropped and counted. Coalesced submissions
+ * still consume one action limit slot each.
+ */
+public class CustomActionQueue {
+
+    private final UniverseJobs plugin;
+    private final Set<String> registeredKeys = ConcurrentHashMap.newKeySet();
+    private final ConcurrentLinkedQueue<Submission> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicBoolean shutdown = new AtomicBoolean(false);
+    // Batches scheduled on a player's thread that have not run yet
+    private final Set<PendingBatch> pendingBatches = ConcurrentHashMap.newKeySet();
+    // Serializes flush and shutdown, so no batch is scheduled after shutdown drained them
+    private final Object flushLock = new Object();
+    private final int maxQueued;
+    private final int maxPerFlush;
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder processed = new LongAdder();
+
+    /**
+     * Create a new queue.
+     *
+     * @param plugin The plugin instance
+     * @param maxQueued The maximum number of pending submissions
+     * @param maxPerFlush The maximum number of submissions drained per flush
+     */
+    public CustomActionQueue(UniverseJobs plugin, int maxQueued, int maxPerFlush) {
+        this.plugin = plugin;
+        this.maxQueued = Math.max(1, maxQueued);
+        this.maxPerFlush = Math.max(1, maxPerFlush);
+    }
+
+    /**
+     * Start draining the queue.
+     *
+     * @param intervalTicks The ticks between two flushes
+     */
+    public void start(long intervalTicks) {
+        long interval = Math.max(1L, intervalTicks);
+        plugin.getFoliaManager().runTimerAsync(this::flush, interval, interval);
+    }
+
+    /**
+     * Register a custom action key. Only registered keys are accepted.
+     *
+     * @param key The key, matched case-insensitively against CUSTOM action targets
+     * @return true if the key was not registered yet
+     */
+    public boolean register(String key) {
+        return registeredKeys.add(normalize(key));
+    }
+
+    /**
+     * Unregister a custom action key.
+     *
+     * @param key The key
+     * @return true if the key was registered
+     */
+    public boolean unregister(String key) {
+        return registeredKeys.remove(normalize(key));
+    }
+
+    /**
+     * Check if a custom action key is registered.
+     *
+     * @param key The key
+     * @return true if registered
+     */
+    public boolean isRegistered(String key) {
+        return key != null && registeredKeys.contains(normalize(key));
+    }
+
+    /**
+     * Queue a custom action. Safe to call from any thread.
+     *
+     * @param playerUuid The player performing the action
+     * @param key The registered key
+     * @param amount The amount, multiplying the action's XP and money
+     * @param attributes Extra values readable by conditions, may be null
+     * @return true if queued, false if the key is unknown, no job rewards it,
+     *         the amount is invalid, the queue is full or the plugin is disabling
+     */
+    public boolean submit(UUID playerUuid, String key, double amount, Map<String, Object> attributes) {
+        if (shutdown.get() || playerUuid == null || !isRegistered(key)
+                || amount <= 0 || Double.isNaN(amount) || Double.isInfinite(amount)
+                || !plugin.getJobManager().getTargetFilter().mayMatch(ActionType.CUSTOM, key)) {
+            rejected.increment();
+            return false;
+        }
+        if (queued.incrementAndGet() > maxQueued) {
+            queued.decrementAndGet();
+            dropped.increment();
+            return false;
+        }
+        Map<String, Object> copy = attributes == null || attributes.isEmpty()
+                ? Map.of()
+                : Collections.unmodifiableMap(new HashMap<>(attributes));
+        queue.add(new Submission(playerUuid, normalize(key), amount, copy));
+        submitted.increment();
+        return true;
+    }
+
+    /**
+     * Drain pending submissions and schedule one batch per player.
+     */
+    private void flush() {
+        if (queue.isEmpty()) {
+            return;
+        }
+        synchronized (flushLock) {
+            if (shutdown.get()) {
+                return;
+            }
+            for (Map.Entry<UUID, Map<SubmissionKey, double[]>> entry : drain(maxPerFlush).entrySet()) {
+                Player player = Bukkit.getPlayer(entry.getKey());
+                if (player == null || !player.isOnline()) {
+                    dropped.add(countSubmissions(entry.getValue()));
+                    continue;
+                }
+                PendingBatch batch = new PendingBatch(player, entry.getValue());
+                pendingBatches.add(batch);
+                plugin.getFoliaManager().runAtEntity(player, batch);
+            }
+        }
+    }
+
+    /**
+     * Stop accepting submissions and process the queued ones on the calling thread,
+     * as scheduled tasks no longer run while the plugin is disabling.
+     * Waits for a running flush, so every batch it scheduled is processed here.
+     * On Folia this runs the batches on the disabling thread rather than each player's
+     * thread, which is only acceptable because the server is stopping.
+     * Call after the reward pipeline is shut down, so rewards are applied inline.
+     */
+    public void shutdown() {
+        synchronized (flushLock) {
+            if (!shutdown.compareAndSet(false, true)) {
+                return;
+            }
+        }
+        for (PendingBatch batch : pendingBatches) {
+            batch.run();
+        }
+        for (Map.Entry<UUID, Map<SubmissionKey, double[]>> entry : drain(Integer.MAX_VALUE).entrySet()) {
+            Player player = Bukkit.getPlayer(entry.getKey());
+            if (player == null || !player.isOnline()) {
+                dropped.add(countSubmissions(entry.getValue()));
+                continue;
+            }
+            process(player, entry.getValue());
+        }
+    }
+
+    /**
+     * Poll up to a number of submissions, summing the amounts of identical ones per player.
+     *
+     * @return Per player, per key and attributes: the summed amount and the submission count
+     */
+    private Map<UUID, Map<SubmissionKey, double[]>> drain(int max) {
+        Map<UUID, Map<SubmissionKey, double[]>> byPlayer = new LinkedHashMap<>();
+        Submission submission;
+        int drained = 0;
+        while (drained < max && (submission = queue.poll()) != null) {
+            queued.decrementAndGet();
+            drained++;
+            double[] totals = byPlayer.computeIfAbsent(submission.playerUuid(), uuid -> new LinkedHashMap<>())
+                    .computeIfAbsent(new SubmissionKey(submission.key(), submission.attributes()), k -> new double[2]);
+            totals[0] += submission.amount();
+            totals[1]++;
+        }
+        return byPlayer;
+    }
+
+    private static long countSubmissions(Map<SubmissionKey, double[]> actions) {
+        long count = 0;
+        for (double[] totals : actions.values()) {
+            count += (long) totals[1];
+        }
+        return count;
+    }
+
+    /**
+     * Reward one player's coalesced submissions on the player's thread.
+     */
+    private void process(Player player, Map<SubmissionKey, double[]> actions) {
+        if (!player.isOnline()) {
+            dropped.add(countSubmissions(actions));
+            return;
+        }
+        List<ConditionContext> contexts = new ArrayList<>(actions.size());
+        for (Map.Entry<SubmissionKey, double[]> action : actions.entrySet()) {
+            ConditionContext context = new ConditionContext();
+            action.getKey().attributes().forEach(context::set);
+            double[] totals = action.getValue();
+            context.set("target", action.getKey().key())
+                    .set(ActionProcessor.CUSTOM_AMOUNT_KEY, totals[0])
+                    .set(ActionProcessor.CUSTOM_COUNT_KEY, (int) totals[1]);
+            contexts.add(context);
+        }
+        try {
+            plugin.getActionProcessor().processActionBatch(player, ActionType.CUSTOM, contexts);
+        } catch (Exception e) {
+            plugin.getLogger().warning("Error processing custom actions for " + player.getName() + ": " + e.getMessage());
+        }
+        batches.increment();
+        processed.add(countSubmissions(actions));
+    }
+
+    private static String normalize(String key) {
+        return key.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Get queue statistics for the debug command.
+     *
+     * @return The statistics
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("registered_keys", registeredKeys.size());
+        stats.put("queued", queued.get());
+        stats.put("pending_batches", pendingBatches.size());
+        stats.put("submitted", submitted.sum());
+        stats.put("rejected", rejected.sum());
+        stats.put("dropped", dropped.sum());
+        stats.put("batches", batches.sum());
+        stats.put("processed", processed.sum());
+        return stats;
+    }
+
+    private record Submission(UUID playerUuid, String key, double amount, Map<String, Object> attributes) {
+    }
+
+    private record SubmissionKey(String key, Map<String, Object> attributes) {
+    }
+
+    /**
+     * A player's batch scheduled on their thread. Runs at most once, whichever of the
+     * scheduled task and the shutdown drain comes first.
+     */
+    private final class PendingBatch implements Runnable {
+        private final Player player;
+        private final Map<SubmissionKey, double[]> actions;
+
+        private PendingBatch(Player player, Map<SubmissionKey, double[]> actions) {
+            this.player = player;
+            this.actions = actions;
+        }
+
+        @Override
+        public void run() {
+            if (pendingBatches.remove(this)) {
+                process(player, actions);
+            }
+        }
+    }
+}
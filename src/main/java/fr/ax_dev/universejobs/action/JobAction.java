@@ -34,6 +34,7 @@ public class JobAction {
     private final List<String> colors;
     private final List<String> nbtTags;
     private final List<String> potionTypes;
+    private final boolean syncRewards;
     
     /**
      * Create a new JobAction from configuration.
@@ -50,6 +51,7 @@ public class JobAction {
         this.lore = config.getStringList("lore");
         this.interactType = config.getString("interact-type", "RIGHT_CLICK").toUpperCase();
         this.enchantLevel = config.getString("enchant-level", null);
+        this.syncRewards = config.getBoolean("sync-rewards", false);
         
         // Load profession requirements for TRADE actions
         this.professions = loadProfessions(config);
@@ -568,6 +570,16 @@ public class JobAction {
         return actionLimit != null;
     }
     
+    /**
+     * Check if this action's rewards must be applied inside the event
+     * instead of going through the reward pipeline.
+     * 
+     * @return true if rewards are applied synchronously
+     */
+    public boolean isSyncRewards() {
+        return syncRewards;
+    }
+    
     /**
      * Get the list of required professions for this action.
      * Only applicable for TRADE actions.
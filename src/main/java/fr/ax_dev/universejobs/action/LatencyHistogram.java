@@ -0,0 +1,121 @@
+package fr.ax_dev.universejobs.action;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with logarithmic buckets, in the style of HdrHistogram.
+ * <p>
+ * Each power of two is split into {@link #SUB_BUCKETS} linear sub-buckets, so any recorded
+ * value is reported within 12.5% of its real value, from nanoseconds up to minutes, in a
+ * fixed array. Recording is a bucket index computation and one atomic increment.
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int SUB_BUCKET_MASK = SUB_BUCKETS - 1;
+    private static final int BUCKET_COUNT = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder totalCount = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    /**
+     * Record a duration.
+     *
+     * @param nanos The duration in nanoseconds
+     */
+    public void record(long nanos) {
+        if (nanos < 0) {
+            nanos = 0;
+        }
+        counts.incrementAndGet(indexOf(nanos));
+        totalCount.increment();
+        totalNanos.add(nanos);
+        if (nanos > maxNanos.get()) {
+            maxNanos.accumulateAndGet(nanos, Math::max);
+        }
+    }
+
+    /**
+     * Get the number of recorded durations.
+     *
+     * @return The count
+     */
+    public long getCount() {
+        return totalCount.sum();
+    }
+
+    /**
+     * Get the mean recorded duration.
+     *
+     * @return The mean in nanoseconds, 0 if empty
+     */
+    public double getMeanNanos() {
+        long count = totalCount.sum();
+        return count == 0 ? 0.0 : (double) totalNanos.sum() / count;
+    }
+
+    /**
+     * Get the highest recorded duration.
+     *
+     * @return The maximum in nanoseconds
+     */
+    public long getMaxNanos() {
+        return maxNanos.get();
+    }
+
+    /**
+     * Get the duration below which a percentage of the recorded durations fall.
+     *
+     * @param percentile The percentile, between 0 and 100
+     * @return The highest value of the matching bucket in nanoseconds, 0 if empty
+     */
+    public long getPercentileNanos(double percentile) {
+        long count = totalCount.sum();
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(count * Math.min(100.0, percentile) / 100.0));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return Math.min(highestValueOf(i), maxNanos.get());
+            }
+        }
+        return maxNanos.get();
+    }
+
+    /**
+     * Clear all recorded durations.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts.set(i, 0);
+        }
+        totalCount.reset();
+        totalNanos.reset();
+        maxNanos.set(0);
+    }
+
+    private static int indexOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return (shift + 1) * SUB_BUCKETS + (int) ((value >>> shift) & SUB_BUCKET_MASK);
+    }
+
+    private static long highestValueOf(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        long subBucket = SUB_BUCKETS + (index & SUB_BUCKET_MASK);
+        return ((subBucket + 1) << shift) - 1;
+    }
+}
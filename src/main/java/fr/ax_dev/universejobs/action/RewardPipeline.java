@@ -0,0 +1,196 @@
+package fr.ax_dev.universejobs.action;
+
+import fr.ax_dev.universejobs.UniverseJobs;
+import org.bukkit.entity.Player;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Runs the reward stage of actions off the event thread.
+ * <p>
+ * Requirements are evaluated in the event, which may need to be cancelled. Then a snapshot
+ * of the reward goes through two stages. Worker lanes compute limits, bonuses and XP.
+ * The result (money, level-up, messages) is then applied on the player's thread. Each
+ * player always uses the same single-threaded lane, so their rewards are computed in
+ * event order and level-ups are detected exactly once.
+ */
+public class RewardPipeline {
+
+    private final UniverseJobs plugin;
+    private final ThreadPoolExecutor[] lanes;
+    private final AtomicBoolean shutdown = new AtomicBoolean(false);
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder applied = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    // Computed rewards whose apply stage has not run yet
+    private final Set<PendingApply> pendingApplies = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Create the pipeline and start its worker lanes.
+     *
+     * @param plugin The plugin instance
+     * @param threads The number of worker lanes
+     */
+    public RewardPipeline(UniverseJobs plugin, int threads) {
+        this.plugin = plugin;
+        this.lanes = new ThreadPoolExecutor[Math.max(1, threads)];
+        for (int i = 0; i < lanes.length; i++) {
+            String threadName = "UniverseJobs-Rewards-" + i;
+            lanes[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), r -> {
+                Thread thread = new Thread(r, threadName);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    /**
+     * Check if rewards should go through the pipeline.
+     *
+     * @return true if enabled in the configuration and not shut down
+     */
+    public boolean isEnabled() {
+        return !shutdown.get() && plugin.getConfigManager().isAsyncRewardsEnabled();
+    }
+
+    /**
+     * Compute a reward on the player's lane, then apply it on the player's thread.
+     * The compute stage must only use thread-safe state; returning null skips the apply stage.
+     *
+     * @param player The rewarded player
+     * @param compute The reward computation
+     * @param apply The side effects of the computed reward
+     * @param <T> The computed reward type
+     */
+    public <T> void submit(Player player, Supplier<T> compute, Consumer<T> apply) {
+        submitted.increment();
+        ExecutorService lane = lanes[Math.floorMod(player.getUniqueId().hashCode(), lanes.length)];
+        try {
+            lane.execute(() -> runStages(player, compute, apply));
+        } catch (RejectedExecutionException e) {
+            // Shutting down: finish inline rather than losing the reward
+            T result = compute.get();
+            if (result != null) {
+                apply.accept(result);
+                applied.increment();
+            }
+        }
+    }
+
+    private <T> void runStages(Player player, Supplier<T> compute, Consumer<T> apply) {
+        T result;
+        try {
+            result = compute.get();
+        } catch (Exception e) {
+            failed.increment();
+            plugin.getLogger().warning("Error computing rewards for player " + player.getName() + ": " + e.getMessage());
+            return;
+        }
+        if (result == null) {
+            return;
+        }
+
+        PendingApply applyTask = new PendingApply(player, () -> apply.accept(result));
+        pendingApplies.add(applyTask);
+        if (shutdown.get()) {
+            // Scheduled tasks no longer run; shutdown() applies it on the disabling thread
+            return;
+        }
+        if (player.isOnline()) {
+            plugin.getFoliaManager().runAtEntity(player, applyTask);
+        } else {
+            // Entity tasks of a player who left never run; money is still owed
+            plugin.getFoliaManager().runNextTick(applyTask);
+        }
+    }
+
+    /**
+     * Stop accepting rewards, wait for the queued ones to be computed, then apply on the
+     * calling thread every computed reward whose scheduled apply has not run yet.
+     * Call before saving player data so their XP and money are included.
+     */
+    public void shutdown() {
+        if (!shutdown.compareAndSet(false, true)) {
+            return;
+        }
+        for (ThreadPoolExecutor lane : lanes) {
+            lane.shutdown();
+        }
+        try {
+            for (ThreadPoolExecutor lane : lanes) {
+                if (!lane.awaitTermination(2, TimeUnit.SECONDS)) {
+                    lane.shutdownNow();
+                }
+            }
+        } catch (InterruptedException e) {
+            for (ThreadPoolExecutor lane : lanes) {
+                lane.shutdownNow();
+            }
+            Thread.currentThread().interrupt();
+        }
+        for (PendingApply pending : pendingApplies) {
+            pending.run();
+        }
+    }
+
+    /**
+     * Get pipeline statistics for the debug command.
+     *
+     * @return The statistics
+     */
+    public Map<String, Object> getStats() {
+        int queued = 0;
+        for (ThreadPoolExecutor lane : lanes) {
+            queued += lane.getQueue().size();
+        }
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("enabled", isEnabled());
+        stats.put("lanes", lanes.length);
+        stats.put("queued", queued);
+        stats.put("pending_apply", pendingApplies.size());
+        stats.put("submitted", submitted.sum());
+        stats.put("applied", applied.sum());
+        stats.put("failed", failed.sum());
+        return stats;
+    }
+
+    /**
+     * Apply stage of a computed reward. Runs at most once, whichever of the scheduled
+     * task and the shutdown drain comes first.
+     */
+    private final class PendingApply implements Runnable {
+        private final Player player;
+        private final Runnable apply;
+
+        private PendingApply(Player player, Runnable apply) {
+            this.player = player;
+            this.apply = apply;
+        }
+
+        @Override
+        public void run() {
+            if (!pendingApplies.remove(this)) {
+                return;
+            }
+            try {
+                apply.run();
+                applied.increment();
+            } catch (Exception e) {
+                failed.increment();
+                plugin.getLogger().warning("Error applying rewards for player " + player.getName() + ": " + e.getMessage());
+            }
+        }
+    }
+}
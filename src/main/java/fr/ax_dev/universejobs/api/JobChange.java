@@ -0,0 +1,15 @@
+package fr.ax_dev.universejobs.api;
+
+import java.util.UUID;
+
+/**
+ * Latest state of a player's job after a change: XP gained or set, level set, job joined
+ * or left, or job reset by an admin.
+ *
+ * @param playerUuid The player UUID
+ * @param jobId The job ID
+ * @param xp The total XP in the job after the change
+ * @param level The level in the job after the change, 0 if the player left the job
+ */
+public record JobChange(UUID playerUuid, String jobId, double xp, int level) {
+}
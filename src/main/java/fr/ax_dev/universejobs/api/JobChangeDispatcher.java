@@ -0,0 +1,112 @@
+package fr.ax_dev.universejobs.api;
+
+import fr.ax_dev.universejobs.UniverseJobs;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Collects job XP changes and delivers them to {@link JobChangeListener}s in batches.
+ * <p>
+ * Recording is a lock-free queue append, skipped entirely while no listener is registered.
+ * An async timer drains the queue every second, keeps the latest change per player and
+ * job, and hands the batch to every listener.
+ */
+public class JobChangeDispatcher {
+
+    private static final long FLUSH_INTERVAL_TICKS = 20L;
+
+    private final UniverseJobs plugin;
+    private final List<JobChangeListener> listeners = new CopyOnWriteArrayList<>();
+    private final ConcurrentLinkedQueue<JobChange> pending = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Create a new dispatcher.
+     *
+     * @param plugin The plugin instance
+     */
+    public JobChangeDispatcher(UniverseJobs plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Start delivering batches.
+     */
+    public void start() {
+        plugin.getFoliaManager().runTimerAsync(this::flush, FLUSH_INTERVAL_TICKS, FLUSH_INTERVAL_TICKS);
+    }
+
+    /**
+     * Register a listener.
+     *
+     * @param listener The listener
+     */
+    public void addListener(JobChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Unregister a listener.
+     *
+     * @param listener The listener
+     */
+    public void removeListener(JobChangeListener listener) {
+        listeners.remove(listener);
+        if (listeners.isEmpty()) {
+            pending.clear();
+        }
+    }
+
+    /**
+     * Check if changes need to be recorded.
+     *
+     * @return true if at least one listener is registered
+     */
+    public boolean hasListeners() {
+        return !listeners.isEmpty();
+    }
+
+    /**
+     * Record the state of a player's job after a change.
+     *
+     * @param playerUuid The player UUID
+     * @param jobId The job ID
+     * @param xp The total XP after the change
+     * @param level The level after the change
+     */
+    public void record(UUID playerUuid, String jobId, double xp, int level) {
+        if (listeners.isEmpty()) {
+            return;
+        }
+        pending.add(new JobChange(playerUuid, jobId, xp, level));
+    }
+
+    /**
+     * Deliver the pending changes now. Called by the timer and on shutdown.
+     */
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        // Keep the latest change per player and job, in order of first change
+        Map<String, JobChange> latest = new LinkedHashMap<>();
+        JobChange change;
+        while ((change = pending.poll()) != null) {
+            latest.put(change.playerUuid() + ":" + change.jobId(), change);
+        }
+        List<JobChange> batch = List.copyOf(latest.values());
+
+        for (JobChangeListener listener : listeners) {
+            try {
+                listener.onJobChanges(batch);
+            } catch (Exception e) {
+                plugin.getLogger().warning("Error in job change listener " + listener.getClass().getName() + ": " + e.getMessage());
+            }
+        }
+    }
+}
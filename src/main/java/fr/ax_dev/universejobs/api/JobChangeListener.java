@@ -0,0 +1,20 @@
+package fr.ax_dev.universejobs.api;
+
+import java.util.List;
+
+/**
+ * Receives job changes (XP, levels, joins and leaves) in batches.
+ * <p>
+ * Changes are collected and delivered about once per second, off the main thread.
+ * A batch holds at most one change per player and job: the latest one.
+ */
+@FunctionalInterface
+public interface JobChangeListener {
+
+    /**
+     * Called with the changes since the previous batch.
+     *
+     * @param changes The changes, never empty
+     */
+    void onJobChanges(List<JobChange> changes);
+}
@@ -0,0 +1,45 @@
+package fr.ax_dev.universejobs.api;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Immutable copy of a player's jobs, XP and levels.
+ *
+ * @param playerUuid The player UUID
+ * @param xp The total XP per joined job
+ * @param levels The level per joined job
+ */
+public record PlayerJobSnapshot(UUID playerUuid, Map<String, Double> xp, Map<String, Integer> levels) {
+
+    /**
+     * Get the joined jobs.
+     *
+     * @return The job IDs
+     */
+    public Set<String> getJobs() {
+        return xp.keySet();
+    }
+
+    /**
+     * Get the XP in a job.
+     *
+     * @param jobId The job ID
+     * @return The XP, 0 if the job is not joined
+     */
+    public double getXp(String jobId) {
+        return xp.getOrDefault(jobId, 0.0);
+    }
+
+    /**
+     * Get the level in a job.
+     *
+     * @param jobId The job ID
+     * @param defaultLevel The level returned if the job is not joined
+     * @return The level
+     */
+    public int getLevel(String jobId, int defaultLevel) {
+        return levels.getOrDefault(jobId, defaultLevel);
+    }
+}
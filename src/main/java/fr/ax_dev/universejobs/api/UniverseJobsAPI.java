@@ -0,0 +1,406 @@
+package fr.ax_dev.universejobs.api;
+
+import fr.ax_dev.universejobs.UniverseJobs;
+import fr.ax_dev.universejobs.action.ActionTargetFilter;
+import fr.ax_dev.universejobs.action.ActionType;
+import fr.ax_dev.universejobs.condition.ConditionContext;
+import fr.ax_dev.universejobs.job.JobManager;
+import fr.ax_dev.universejobs.job.PlayerJobData;
+import fr.ax_dev.universejobs.protection.BlockProtectionManager;
+import org.bukkit.Bukkit;
+import org.bukkit.block.Block;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.Predicate;
+
+/**
+ * Public API of UniverseJobs for other plugins.
+ * <p>
+ * Registered as a Bukkit service on enable:
+ * <pre>{@code
+ * UniverseJobsAPI api = Bukkit.getServicesManager().load(UniverseJobsAPI.class);
+ * }</pre>
+ * Reads of loaded players never block and may be called from any thread. Offline
+ * players and mutations go through futures completed on an async thread; callers
+ * needing the main thread must switch back themselves.
+ */
+public class UniverseJobsAPI {
+
+    private static final String TARGET_KEY = "target";
+
+    private final UniverseJobs plugin;
+    private final JobManager jobManager;
+    private final Executor asyncExecutor;
+
+    /**
+     * Create the API.
+     *
+     * @param plugin The plugin instance
+     */
+    public UniverseJobsAPI(UniverseJobs plugin) {
+        this.plugin = plugin;
+        this.jobManager = plugin.getJobManager();
+        this.asyncExecutor = task -> plugin.getFoliaManager().runAsync(task);
+    }
+
+    // ========== READS ==========
+
+    /**
+     * Check if a player's data is loaded (online players).
+     *
+     * @param playerUuid The player UUID
+     * @return true if loaded
+     */
+    public boolean isLoaded(UUID playerUuid) {
+        return jobManager.getLoadedPlayerData(playerUuid) != null;
+    }
+
+    /**
+     * Get the jobs of a loaded player.
+     *
+     * @param playerUuid The player UUID
+     * @return The job IDs, empty if the player is not loaded
+     */
+    public Set<String> getJobs(UUID playerUuid) {
+        PlayerJobData data = jobManager.getLoadedPlayerData(playerUuid);
+        return data != null ? Set.copyOf(data.getJobs()) : Set.of();
+    }
+
+    /**
+     * Get the XP of a loaded player in a job.
+     *
+     * @param playerUuid The player UUID
+     * @param jobId The job ID
+     * @return The XP, 0 if the player is not loaded
+     */
+    public double getXp(UUID playerUuid, String jobId) {
+        PlayerJobData data = jobManager.getLoadedPlayerData(playerUuid);
+        return data != null ? data.getXp(jobId) : 0.0;
+    }
+
+    /**
+     * Get the level of a loaded player in a job.
+     *
+     * @param playerUuid The player UUID
+     * @param jobId The job ID
+     * @return The level, 0 if the player is not loaded
+     */
+    public int getLevel(UUID playerUuid, String jobId) {
+        PlayerJobData data = jobManager.getLoadedPlayerData(playerUuid);
+        return data != null ? jobManager.getLevel(data, jobId) : 0;
+    }
+
+    /**
+     * Get a snapshot of any player's jobs, reading the saved data of offline players.
+     *
+     * @param playerUuid The player UUID
+     * @return The snapshot, or null if the player has no data
+     */
+    public CompletableFuture<PlayerJobSnapshot> getPlayer(UUID playerUuid) {
+        PlayerJobData loaded = jobManager.getLoadedPlayerData(playerUuid);
+        if (loaded != null) {
+            return CompletableFuture.completedFuture(snapshot(loaded));
+        }
+        return CompletableFuture.supplyAsync(() -> {
+            PlayerJobData data = jobManager.readPlayerData(playerUuid);
+            return data != null ? snapshot(data) : null;
+        }, asyncExecutor);
+    }
+
+    private PlayerJobSnapshot snapshot(PlayerJobData data) {
+        Map<String, Double> xp = new HashMap<>();
+        Map<String, Integer> levels = new HashMap<>();
+        for (String jobId : data.getJobs()) {
+            xp.put(jobId, data.getXp(jobId));
+            levels.put(jobId, jobManager.getLevel(data, jobId));
+        }
+        return new PlayerJobSnapshot(data.getPlayerUuid(), Map.copyOf(xp), Map.copyOf(levels));
+    }
+
+    // ========== MUTATIONS ==========
+
+    /**
+     * Give XP in a job to many players, online or offline.
+     * Online players go through the same accrual as action rewards (level-up actions,
+     * player cache); offline players' saved data is updated.
+     * Players who have not joined the job are skipped.
+     *
+     * @param playerUuids The players
+     * @param jobId The job ID
+     * @param xp The XP to give to each player, positive
+     * @return The number of players who received the XP
+     */
+    public CompletableFuture<Integer> grantXp(Collection<UUID> playerUuids, String jobId, double xp) {
+        if (xp <= 0 || Double.isNaN(xp) || Double.isInfinite(xp) || jobManager.getJob(jobId) == null) {
+            return CompletableFuture.completedFuture(0);
+        }
+        List<UUID> players = List.copyOf(playerUuids);
+        return CompletableFuture.supplyAsync(() -> {
+            int updated = 0;
+            for (UUID playerUuid : players) {
+                if (updateXp(playerUuid, jobId, current -> current + xp)) {
+                    updated++;
+                }
+            }
+            return updated;
+        }, asyncExecutor);
+    }
+
+    /**
+     * Set the XP in a job of many players, online or offline.
+     * Players who have not joined the job are skipped.
+     *
+     * @param xpByPlayer The new XP per player
+     * @param jobId The job ID
+     * @return The number of players updated
+     */
+    public CompletableFuture<Integer> setXp(Map<UUID, Double> xpByPlayer, String jobId) {
+        if (jobManager.getJob(jobId) == null) {
+            return CompletableFuture.completedFuture(0);
+        }
+        Map<UUID, Double> targets = new HashMap<>();
+        for (Map.Entry<UUID, Double> entry : xpByPlayer.entrySet()) {
+            Double xp = entry.getValue();
+            if (entry.getKey() != null && xp != null && !Double.isNaN(xp) && !Double.isInfinite(xp)) {
+                targets.put(entry.getKey(), Math.max(0.0, xp));
+            }
+        }
+        return CompletableFuture.supplyAsync(() -> {
+            int updated = 0;
+            for (Map.Entry<UUID, Double> entry : targets.entrySet()) {
+                double xp = entry.getValue();
+                if (updateXp(entry.getKey(), jobId, current -> xp)) {
+                    updated++;
+                }
+            }
+            return updated;
+        }, asyncExecutor);
+    }
+
+    /**
+     * Change one player's XP through the live data if loaded, the saved data otherwise.
+     */
+    private boolean updateXp(UUID playerUuid, String jobId, DoubleUnaryOperator newXp) {
+        boolean[] changed = new boolean[1];
+        Predicate<PlayerJobData> offlineUpdate = data -> {
+            if (!data.hasJob(jobId)) {
+                return false;
+            }
+            applyXp(data, jobId, newXp);
+            jobManager.recordJobChange(playerUuid, jobId, data);
+            changed[0] = true;
+            return true;
+        };
+        PlayerJobData[] loaded = new PlayerJobData[1];
+        Consumer<PlayerJobData> loadedUpdate = data -> {
+            if (!data.hasJob(jobId)) {
+                return;
+            }
+            synchronized (data) {
+                applyXp(data, jobId, newXp);
+            }
+            jobManager.recordJobChange(playerUuid, jobId, data);
+            loaded[0] = data;
+        };
+        // Both updates run under the player's file lock; retry if the player
+        // was loaded or evicted between the two
+        while (true) {
+            if (jobManager.updateOfflinePlayerData(playerUuid, offlineUpdate)) {
+                return changed[0];
+            }
+            if (jobManager.updateLoadedPlayerData(playerUuid, loadedUpdate)) {
+                break;
+            }
+        }
+        PlayerJobData data = loaded[0];
+        if (data == null) {
+            return false;
+        }
+
+        if (Bukkit.getPlayer(playerUuid) != null) {
+            if (plugin.getPlayerCache() != null) {
+                plugin.getPlayerCache().updatePlayerXp(playerUuid, jobId, data.getXp(jobId), jobManager.getLevel(data, jobId));
+            }
+        } else {
+            // Loaded but offline: the periodic save may skip it
+            jobManager.savePlayerData(playerUuid);
+        }
+        return true;
+    }
+
+    /**
+     * Apply a new XP value; gains go through addXp so level-up actions get the gained amount,
+     * decreases through setXp, which lowers the level to match.
+     */
+    private static void applyXp(PlayerJobData data, String jobId, DoubleUnaryOperator newXp) {
+        double current = data.getXp(jobId);
+        double target = newXp.applyAsDouble(current);
+        if (target > current) {
+            data.addXp(jobId, target - current);
+        } else {
+            data.setXp(jobId, target);
+        }
+    }
+
+    // ========== LISTENERS ==========
+
+    /**
+     * Register a listener receiving job changes in batches, about once per second.
+     *
+     * @param listener The listener
+     */
+    public void addChangeListener(JobChangeListener listener) {
+        plugin.getJobChangeDispatcher().addListener(listener);
+    }
+
+    /**
+     * Unregister a change listener.
+     *
+     * @param listener The listener
+     */
+    public void removeChangeListener(JobChangeListener listener) {
+        plugin.getJobChangeDispatcher().removeListener(listener);
+    }
+
+    // ========== CUSTOM ACTIONS ==========
+
+    /**
+     * Register a custom action key. Jobs reward it with a CUSTOM action whose target is the key.
+     *
+     * @param key The key, case-insensitive
+     * @return true if the key was not registered yet
+     */
+    public boolean registerCustomAction(String key) {
+        return plugin.getCustomActionQueue().register(key);
+    }
+
+    /**
+     * Unregister a custom action key. Queued submissions of the key are still processed.
+     *
+     * @param key The key
+     * @return true if the key was registered
+     */
+    public boolean unregisterCustomAction(String key) {
+        return plugin.getCustomActionQueue().unregister(key);
+    }
+
+    /**
+     * Submit a custom action from any thread.
+     * <p>
+     * Submissions are queued and rewarded in batches on the player's thread a few ticks
+     * later, through the same targets, requirements, limits and bonuses as native actions.
+     * Identical submissions (same player, key and attributes) between two batches are
+     * summed, so emitting every second, such as passive income, stays cheap.
+     *
+     * @param playerUuid The player performing the action, must be online when processed
+     * @param key The registered key
+     * @param amount The amount, multiplying the action's XP and money
+     * @param attributes Extra values readable by conditions, may be null
+     * @return true if queued, false if rejected (unknown key, no job rewarding it,
+     *         invalid amount or full queue)
+     */
+    public boolean submitCustomAction(UUID playerUuid, String key, double amount, Map<String, Object> attributes) {
+        return plugin.getCustomActionQueue().submit(playerUuid, key, amount, attributes);
+    }
+
+    /**
+     * Submit a custom action with an amount of 1 and no attributes.
+     *
+     * @param player The player performing the action
+     * @param key The registered key
+     * @return true if queued
+     */
+    public boolean submitCustomAction(Player player, String key) {
+        return submitCustomAction(player.getUniqueId(), key, 1.0, null);
+    }
+
+    // ========== ACTIONS ==========
+
+    /**
+     * Reward a player for many blocks at once, for vein-miner, tree-feller or area tools.
+     * <p>
+     * Each block is checked like a single event (target, requirements, and for BREAK the
+     * player-placed protection, whose marks are cleared), but each job gains its summed
+     * XP and money once and shows one XP message per batch.
+     * Must be called on the player's thread, before the blocks are changed.
+     *
+     * @param player The player performing the actions
+     * @param actionType The action type, usually {@link ActionType#BREAK} or {@link ActionType#PLACE}
+     * @param blocks The blocks
+     * @return The number of blocks rewarded by at least one job
+     */
+    public int processBlocks(Player player, ActionType actionType, Collection<Block> blocks) {
+        ActionTargetFilter filter = plugin.getJobManager().getTargetFilter();
+        BlockProtectionManager protectionManager = plugin.getProtectionManager();
+        boolean breaking = actionType == ActionType.BREAK;
+
+        List<ConditionContext> contexts = new ArrayList<>(blocks.size());
+        try {
+            for (Block block : blocks) {
+                if (!filter.mayMatch(actionType, block.getType())) {
+                    if (breaking) {
+                        protectionManager.removeTrackedBlock(block);
+                    }
+                    continue;
+                }
+                if (breaking && protectionManager.isPlayerPlacedBlock(block)) {
+                    protectionManager.removeTrackedBlock(block);
+                    continue;
+                }
+                contexts.add(ConditionContext.acquire()
+                        .setBlock(block)
+                        .set(TARGET_KEY, block.getType().name()));
+            }
+            return plugin.getActionProcessor().processActionBatch(player, actionType, contexts);
+        } finally {
+            for (ConditionContext context : contexts) {
+                context.release();
+            }
+        }
+    }
+
+    /**
+     * Reward a player for many entities at once, such as area kills or shears.
+     * Each job gains its summed XP and money once and shows one XP message per batch.
+     * Must be called on the player's thread.
+     *
+     * @param player The player performing the actions
+     * @param actionType The action type, such as {@link ActionType#KILL} or {@link ActionType#SHEAR}
+     * @param entities The entities
+     * @return The number of entities rewarded by at least one job
+     */
+    public int processEntities(Player player, ActionType actionType, Collection<? extends Entity> entities) {
+        ActionTargetFilter filter = plugin.getJobManager().getTargetFilter();
+
+        List<ConditionContext> contexts = new ArrayList<>(entities.size());
+        try {
+            for (Entity entity : entities) {
+                if (!filter.mayMatch(actionType, entity.getType())) {
+                    continue;
+                }
+                ConditionContext context = ConditionContext.acquire()
+                        .setEntity(entity)
+                        .set(TARGET_KEY, entity.getType().name());
+                contexts.add(context);
+                plugin.getMythicMobsHandler().populateMythicMobContext(entity, context);
+            }
+            return plugin.getActionProcessor().processActionBatch(player, actionType, contexts);
+        } finally {
+            for (ConditionContext context : contexts) {
+                context.release();
+            }
+        }
+    }
+}
@@ -8,6 +8,7 @@ import org.bukkit.entity.Player;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.stream.Collectors;
 
 /**
@@ -69,7 +70,8 @@ public abstract class BaseBonusManager<T extends BaseBonus> implements BonusMana
     }
     
     protected void addBonus(T bonus) {
-        playerBonuses.computeIfAbsent(bonus.getPlayerId(), k -> new ArrayList<>()).add(bonus);
+        // Copy-on-write: read by reward pipeline lanes while bonuses are added or expire
+        playerBonuses.computeIfAbsent(bonus.getPlayerId(), k -> new CopyOnWriteArrayList<>()).add(bonus);
         
         Player player = Bukkit.getPlayer(bonus.getPlayerId());
         if (player != null) {
@@ -173,7 +175,7 @@ public abstract class BaseBonusManager<T extends BaseBonus> implements BonusMana
     }
     
     private void startCleanupTask() {
-        Bukkit.getScheduler().runTaskTimerAsynchronously(plugin, this::cleanupExpiredBonuses, 1200L, 1200L);
+        foliaManager.runTimerAsync(this::cleanupExpiredBonuses, 1200L, 1200L);
     }
     
     /**
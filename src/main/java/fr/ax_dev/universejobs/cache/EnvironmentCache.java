@@ -0,0 +1,174 @@
+package fr.ax_dev.universejobs.cache;
+
+import fr.ax_dev.universejobs.UniverseJobs;
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.block.Biome;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.world.ChunkUnloadEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Memoizes the environment read by the world, time, weather and biome requirements.
+ * <p>
+ * World time and weather are read at most once per world per tick. Biomes are kept per
+ * chunk section at the game's biome resolution (4x4x4 cells, so a section holding several
+ * biomes stays exact) and dropped when the chunk unloads.
+ */
+public class EnvironmentCache implements Listener {
+
+    /**
+     * Weather of a world.
+     */
+    public enum Weather {
+        CLEAR, RAIN, THUNDER
+    }
+
+    private final UniverseJobs plugin;
+    private final Map<UUID, WorldSnapshot> snapshots = new ConcurrentHashMap<>();
+    private final Map<UUID, Map<Long, Biome[][]>> biomes = new ConcurrentHashMap<>();
+    private final LongAdder biomeHits = new LongAdder();
+    private final LongAdder biomeMisses = new LongAdder();
+
+    /**
+     * Create a new environment cache.
+     *
+     * @param plugin The plugin instance
+     */
+    public EnvironmentCache(UniverseJobs plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Get the time of a world, read once per tick.
+     *
+     * @param world The world
+     * @return The world time
+     */
+    public long getTime(World world) {
+        return snapshot(world).time();
+    }
+
+    /**
+     * Get the weather of a world, read once per tick.
+     *
+     * @param world The world
+     * @return The weather
+     */
+    public Weather getWeather(World world) {
+        return snapshot(world).weather();
+    }
+
+    private WorldSnapshot snapshot(World world) {
+        int tick = Bukkit.getCurrentTick();
+        WorldSnapshot snapshot = snapshots.get(world.getUID());
+        if (snapshot != null && snapshot.tick() == tick) {
+            return snapshot;
+        }
+
+        Weather weather = world.isThundering() ? Weather.THUNDER
+                : world.hasStorm() ? Weather.RAIN
+                : Weather.CLEAR;
+        snapshot = new WorldSnapshot(tick, world.getTime(), weather);
+        snapshots.put(world.getUID(), snapshot);
+        return snapshot;
+    }
+
+    /**
+     * Get the biome at a block position, read once per biome cell while its chunk is loaded.
+     *
+     * @param world The world
+     * @param x The block X
+     * @param y The block Y
+     * @param z The block Z
+     * @return The biome
+     */
+    public Biome getBiome(World world, int x, int y, int z) {
+        int minHeight = world.getMinHeight();
+        if (y < minHeight || y >= world.getMaxHeight()) {
+            // Outside the build height there are no sections to cache
+            return world.getBiome(x, y, z);
+        }
+
+        Map<Long, Biome[][]> chunks = biomes.computeIfAbsent(world.getUID(), k -> new ConcurrentHashMap<>());
+        long chunkKey = ((long) (x >> 4) << 32) | ((z >> 4) & 0xFFFFFFFFL);
+        Biome[][] sections = chunks.get(chunkKey);
+        if (sections == null) {
+            sections = new Biome[(world.getMaxHeight() - minHeight + 15) >> 4][];
+            Biome[][] existing = chunks.putIfAbsent(chunkKey, sections);
+            if (existing != null) {
+                sections = existing;
+            }
+        }
+
+        int sectionIndex = (y - minHeight) >> 4;
+        Biome[] cells = sections[sectionIndex];
+        if (cells == null) {
+            cells = new Biome[64];
+            sections[sectionIndex] = cells;
+        }
+
+        // One cell per 4x4x4 block volume, as stored by the game
+        int cell = (((y >> 2) & 3) << 4) | (((z >> 2) & 3) << 2) | ((x >> 2) & 3);
+        Biome biome = cells[cell];
+        if (biome != null) {
+            biomeHits.increment();
+            return biome;
+        }
+
+        biomeMisses.increment();
+        biome = world.getBiome(x, y, z);
+        cells[cell] = biome;
+        return biome;
+    }
+
+    /**
+     * Get cache statistics for the debug command.
+     *
+     * @return The statistics
+     */
+    public Map<String, Object> getStats() {
+        long hits = biomeHits.sum();
+        long total = hits + biomeMisses.sum();
+        int chunks = 0;
+        for (Map<Long, Biome[][]> worldChunks : biomes.values()) {
+            chunks += worldChunks.size();
+        }
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("worlds", snapshots.size());
+        stats.put("biomeChunks", chunks);
+        stats.put("biomeHitRate", String.format("%.1f%%", total == 0 ? 0.0 : hits * 100.0 / total));
+        return stats;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onChunkUnload(ChunkUnloadEvent event) {
+        Map<Long, Biome[][]> chunks = biomes.get(event.getWorld().getUID());
+        if (chunks != null) {
+            int chunkX = event.getChunk().getX();
+            int chunkZ = event.getChunk().getZ();
+            chunks.remove(((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL));
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onWorldUnload(WorldUnloadEvent event) {
+        UUID worldId = event.getWorld().getUID();
+        biomes.remove(worldId);
+        snapshots.remove(worldId);
+        if (plugin.getConfigManager().isDebugEnabled()) {
+            plugin.getLogger().info("Dropped environment cache of world " + event.getWorld().getName());
+        }
+    }
+
+    private record WorldSnapshot(int tick, long time, Weather weather) {
+    }
+}
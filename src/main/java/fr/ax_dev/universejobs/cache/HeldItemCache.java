@@ -0,0 +1,225 @@
+package fr.ax_dev.universejobs.cache;
+
+import de.tr7zw.changeme.nbtapi.NBTItem;
+import fr.ax_dev.universejobs.UniverseJobs;
+import org.bukkit.Material;
+import org.bukkit.entity.HumanEntity;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.inventory.InventoryDragEvent;
+import org.bukkit.event.player.PlayerDropItemEvent;
+import org.bukkit.event.player.PlayerItemHeldEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.player.PlayerSwapHandItemsEvent;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.PlayerInventory;
+import org.bukkit.inventory.meta.ItemMeta;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-player cache of main-hand item attributes (custom model data, NBT values,
+ * MMOItems type/ID, Nexo/ItemsAdder ID).
+ * <p>
+ * Attributes are read once when the held item changes instead of on every guarded event.
+ * Entries are dropped on slot changes, hand swaps, inventory clicks/drags and drops, and
+ * are checked against the held slot, material and amount on every lookup (which covers
+ * pickups, consumption and breaking). Durability loss deliberately does not invalidate,
+ * so mining with a tool keeps hitting the cache; other changes made by plugins are
+ * picked up within {@link #MAX_AGE_MILLIS}.
+ */
+public class HeldItemCache implements Listener {
+
+    private static final String MMOITEMS_TYPE_KEY = "MMOITEMS_ITEM_TYPE";
+    private static final String MMOITEMS_ID_KEY = "MMOITEMS_ITEM_ID";
+    // Upper bound for changes that bypass inventory events (e.g. NBT edited by another plugin)
+    private static final long MAX_AGE_MILLIS = 1000L;
+
+    private final UniverseJobs plugin;
+    private final Map<UUID, HeldItemInfo> entries = new ConcurrentHashMap<>();
+    private final Set<String> trackedNbtKeys = ConcurrentHashMap.newKeySet();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private volatile boolean trackMmoItems;
+    private volatile boolean trackCustomItemIds;
+
+    /**
+     * Create a new held item cache.
+     *
+     * @param plugin The plugin instance
+     */
+    public HeldItemCache(UniverseJobs plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Read the NBT string value of this key from held items.
+     *
+     * @param key The NBT key
+     */
+    public void trackNbtKey(String key) {
+        if (trackedNbtKeys.add(key)) {
+            entries.clear();
+        }
+    }
+
+    /**
+     * Read MMOItems type and ID from held items.
+     */
+    public void trackMmoItems() {
+        if (!trackMmoItems) {
+            trackMmoItems = true;
+            entries.clear();
+        }
+    }
+
+    /**
+     * Resolve custom item IDs (Nexo, ItemsAdder...) of held items.
+     */
+    public void trackCustomItemIds() {
+        if (!trackCustomItemIds) {
+            trackCustomItemIds = true;
+            entries.clear();
+        }
+    }
+
+    /**
+     * Get the attributes of a player's main-hand item.
+     *
+     * @param player The player
+     * @return The held item attributes
+     */
+    public HeldItemInfo get(Player player) {
+        PlayerInventory inventory = player.getInventory();
+        ItemStack item = inventory.getItemInMainHand();
+        int slot = inventory.getHeldItemSlot();
+        long now = System.currentTimeMillis();
+
+        HeldItemInfo info = entries.get(player.getUniqueId());
+        if (info != null && info.matches(slot, item, now, MAX_AGE_MILLIS)) {
+            hits.increment();
+            return info;
+        }
+
+        misses.increment();
+        info = read(slot, item, now);
+        entries.put(player.getUniqueId(), info);
+        return info;
+    }
+
+    /**
+     * Drop the cached attributes of a player.
+     *
+     * @param playerUuid The player UUID
+     */
+    public void invalidate(UUID playerUuid) {
+        entries.remove(playerUuid);
+    }
+
+    /**
+     * Get cache statistics for the debug command.
+     *
+     * @return The statistics
+     */
+    public Map<String, Object> getStats() {
+        long h = hits.sum();
+        long total = h + misses.sum();
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("players", entries.size());
+        stats.put("hits", h);
+        stats.put("misses", total - h);
+        stats.put("hitRate", String.format("%.1f%%", total == 0 ? 0.0 : h * 100.0 / total));
+        stats.put("nbtKeys", trackedNbtKeys.size());
+        return stats;
+    }
+
+    private HeldItemInfo read(int slot, ItemStack item, long now) {
+        if (item == null || item.getType() == Material.AIR) {
+            return new HeldItemInfo(slot, Material.AIR, 0, now, null, HeldItemInfo.emptyNbt(), null, null, null);
+        }
+
+        Integer customModelData = null;
+        if (item.hasItemMeta()) {
+            // getItemMeta() returns a copy, so it is read once here
+            ItemMeta meta = item.getItemMeta();
+            if (meta.hasCustomModelData()) {
+                customModelData = meta.getCustomModelData();
+            }
+        }
+
+        Map<String, String> nbtValues = HeldItemInfo.emptyNbt();
+        String mmoType = null;
+        String mmoId = null;
+        if (!trackedNbtKeys.isEmpty() || trackMmoItems) {
+            try {
+                NBTItem nbtItem = new NBTItem(item);
+                if (!trackedNbtKeys.isEmpty()) {
+                    nbtValues = new HashMap<>();
+                    for (String key : trackedNbtKeys) {
+                        if (nbtItem.hasKey(key)) {
+                            nbtValues.put(key, nbtItem.getString(key));
+                        }
+                    }
+                }
+                if (trackMmoItems && nbtItem.hasKey(MMOITEMS_TYPE_KEY) && nbtItem.hasKey(MMOITEMS_ID_KEY)) {
+                    mmoType = nbtItem.getString(MMOITEMS_TYPE_KEY);
+                    mmoId = nbtItem.getString(MMOITEMS_ID_KEY);
+                }
+            } catch (Exception e) {
+                // NBT-API not available or error occurred
+                nbtValues = null;
+            }
+        }
+
+        String customItemId = trackCustomItemIds ? readCustomItemId(item) : null;
+        return new HeldItemInfo(slot, item.getType(), item.getAmount(), now, customModelData,
+                nbtValues, mmoType, mmoId, customItemId);
+    }
+
+    private String readCustomItemId(ItemStack item) {
+        String target = plugin.getItemTargetRegistry().resolveTarget(item);
+        return target.indexOf(':') > 0 ? target.toLowerCase() : null;
+    }
+
+    private void invalidate(HumanEntity entity) {
+        entries.remove(entity.getUniqueId());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onItemHeld(PlayerItemHeldEvent event) {
+        invalidate(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onSwapHands(PlayerSwapHandItemsEvent event) {
+        invalidate(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onInventoryClick(InventoryClickEvent event) {
+        invalidate(event.getWhoClicked());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onInventoryDrag(InventoryDragEvent event) {
+        invalidate(event.getWhoClicked());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onDrop(PlayerDropItemEvent event) {
+        invalidate(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent event) {
+        invalidate(event.getPlayer());
+    }
+}
@@ -0,0 +1,133 @@
+package fr.ax_dev.universejobs.cache;
+
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Attributes of a player's main-hand item, read once and shared by every condition
+ * and action that inspects the held item. Instances are immutable.
+ */
+public final class HeldItemInfo {
+
+    private final int slot;
+    private final Material material;
+    private final int amount;
+    private final long readAt;
+    private final Integer customModelData;
+    private final Map<String, String> nbtValues;
+    private final String mmoItemsType;
+    private final String mmoItemsId;
+    private final String customItemId;
+
+    HeldItemInfo(int slot, Material material, int amount, long readAt, Integer customModelData,
+                 Map<String, String> nbtValues, String mmoItemsType, String mmoItemsId, String customItemId) {
+        this.slot = slot;
+        this.material = material;
+        this.amount = amount;
+        this.readAt = readAt;
+        this.customModelData = customModelData;
+        this.nbtValues = nbtValues;
+        this.mmoItemsType = mmoItemsType;
+        this.mmoItemsId = mmoItemsId;
+        this.customItemId = customItemId;
+    }
+
+    /**
+     * Cheap check that the item in hand is still the one these attributes were read from.
+     *
+     * @param heldSlot The current held slot
+     * @param item The current main-hand item
+     * @param now The current time in milliseconds
+     * @param maxAgeMillis The maximum age of the attributes
+     * @return true if the attributes can be reused
+     */
+    boolean matches(int heldSlot, ItemStack item, long now, long maxAgeMillis) {
+        if (heldSlot != slot || now - readAt > maxAgeMillis) {
+            return false;
+        }
+        if (item == null) {
+            return material == Material.AIR;
+        }
+        return item.getType() == material && item.getAmount() == amount;
+    }
+
+    /**
+     * Check if the player holds nothing.
+     *
+     * @return true if the hand is empty
+     */
+    public boolean isEmpty() {
+        return material == Material.AIR;
+    }
+
+    /**
+     * Get the held material.
+     *
+     * @return The material, AIR if empty
+     */
+    public Material getMaterial() {
+        return material;
+    }
+
+    /**
+     * Get the custom model data of the held item.
+     *
+     * @return The custom model data, or null if none
+     */
+    public Integer getCustomModelData() {
+        return customModelData;
+    }
+
+    /**
+     * Check if the NBT of the held item could be read.
+     *
+     * @return false if NBT-API failed on this item
+     */
+    public boolean isNbtReadable() {
+        return nbtValues != null;
+    }
+
+    /**
+     * Get a tracked NBT string value of the held item.
+     *
+     * @param key The NBT key (must have been tracked, see {@link HeldItemCache#trackNbtKey(String)})
+     * @return The value, or null if absent
+     */
+    public String getNbtValue(String key) {
+        return nbtValues != null ? nbtValues.get(key) : null;
+    }
+
+    /**
+     * Get the MMOItems type of the held item.
+     *
+     * @return The type, or null if not an MMOItem
+     */
+    public String getMmoItemsType() {
+        return mmoItemsType;
+    }
+
+    /**
+     * Get the MMOItems ID of the held item.
+     *
+     * @return The ID, or null if not an MMOItem
+     */
+    public String getMmoItemsId() {
+        return mmoItemsId;
+    }
+
+    /**
+     * Get the lower-case target of a custom item (e.g. nexo:ruby_pickaxe, itemsadder:ruby_pickaxe).
+     *
+     * @return The custom item ID, or null if not a custom item or not tracked
+     */
+    public String getCustomItemId() {
+        return customItemId;
+    }
+
+    static Map<String, String> emptyNbt() {
+        return Collections.emptyMap();
+    }
+}
@@ -0,0 +1,169 @@
+package fr.ax_dev.universejobs.cache;
+
+import fr.ax_dev.universejobs.UniverseJobs;
+import me.clip.placeholderapi.PlaceholderAPI;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.entity.Player;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Short-lived cache of resolved PlaceholderAPI values used by requirement checks.
+ * Values are kept per player and per placeholder for a configurable number of ticks,
+ * so high-frequency actions (BREAK, KILL...) do not call into other plugins on every event.
+ */
+public class PlaceholderValueCache {
+
+    private static final long MILLIS_PER_TICK = 50L;
+
+    private final UniverseJobs plugin;
+    private final Map<UUID, Map<String, CachedValue>> values = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    private volatile boolean placeholderApiEnabled;
+    private volatile boolean enabled;
+    private volatile long defaultTtlMillis;
+    private volatile Map<String, Long> ttlOverrides = Collections.emptyMap();
+
+    /**
+     * Create a new placeholder value cache.
+     *
+     * @param plugin The plugin instance
+     */
+    public PlaceholderValueCache(UniverseJobs plugin) {
+        this.plugin = plugin;
+        reload();
+    }
+
+    /**
+     * Re-read the cache settings and drop all cached values.
+     */
+    public void reload() {
+        this.placeholderApiEnabled = plugin.getServer().getPluginManager().isPluginEnabled("PlaceholderAPI");
+        this.enabled = plugin.getConfig().getBoolean("placeholder-cache.enabled", true);
+        this.defaultTtlMillis = Math.max(0, plugin.getConfig().getLong("placeholder-cache.default-ttl-ticks", 20)) * MILLIS_PER_TICK;
+
+        Map<String, Long> overrides = new HashMap<>();
+        ConfigurationSection section = plugin.getConfig().getConfigurationSection("placeholder-cache.ttl-ticks");
+        if (section != null) {
+            for (String placeholder : section.getKeys(false)) {
+                overrides.put(normalize(placeholder), Math.max(0, section.getLong(placeholder)) * MILLIS_PER_TICK);
+            }
+        }
+        this.ttlOverrides = overrides;
+        values.clear();
+    }
+
+    /**
+     * Check if PlaceholderAPI is available.
+     *
+     * @return true if placeholders can be resolved
+     */
+    public boolean isAvailable() {
+        return placeholderApiEnabled;
+    }
+
+    /**
+     * Resolve a placeholder for a player, reusing a recent value when one is cached.
+     *
+     * @param player The player
+     * @param placeholder The placeholder text (e.g. %vault_eco_balance%)
+     * @return The resolved value, or null if PlaceholderAPI is not available
+     */
+    public String resolve(Player player, String placeholder) {
+        if (!placeholderApiEnabled) {
+            return null;
+        }
+
+        long ttl = enabled ? getTtlMillis(placeholder) : 0L;
+        if (ttl <= 0) {
+            return PlaceholderAPI.setPlaceholders(player, placeholder);
+        }
+
+        long now = System.currentTimeMillis();
+        Map<String, CachedValue> playerValues = values.computeIfAbsent(player.getUniqueId(), k -> new ConcurrentHashMap<>());
+        CachedValue cached = playerValues.get(placeholder);
+        if (cached != null && cached.expiresAt() > now) {
+            hits.increment();
+            return cached.value();
+        }
+
+        misses.increment();
+        String value = PlaceholderAPI.setPlaceholders(player, placeholder);
+        playerValues.put(placeholder, new CachedValue(value, now + ttl));
+        return value;
+    }
+
+    /**
+     * Drop the cached values of a player (quit).
+     *
+     * @param playerUuid The player UUID
+     */
+    public void invalidate(UUID playerUuid) {
+        values.remove(playerUuid);
+    }
+
+    /**
+     * Get the number of lookups answered from the cache.
+     *
+     * @return The hit count
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Get the number of lookups that had to call PlaceholderAPI.
+     *
+     * @return The miss count
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Get the share of cached lookups answered from the cache.
+     *
+     * @return The hit rate between 0 and 1
+     */
+    public double getHitRate() {
+        long h = hits.sum();
+        long total = h + misses.sum();
+        return total == 0 ? 0.0 : (double) h / total;
+    }
+
+    /**
+     * Get cache statistics for the debug command.
+     *
+     * @return The statistics
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("players", values.size());
+        stats.put("hits", getHits());
+        stats.put("misses", getMisses());
+        stats.put("hitRate", String.format("%.1f%%", getHitRate() * 100));
+        return stats;
+    }
+
+    private long getTtlMillis(String placeholder) {
+        Long override = ttlOverrides.get(placeholder);
+        return override != null ? override : defaultTtlMillis;
+    }
+
+    /**
+     * Overrides may be written with or without the surrounding '%' (YAML keys starting with '%' need quotes).
+     */
+    private static String normalize(String placeholder) {
+        return placeholder.startsWith("%") ? placeholder : "%" + placeholder + "%";
+    }
+
+    private record CachedValue(String value, long expiresAt) {
+    }
+}
@@ -1,6 +1,9 @@
 package fr.ax_dev.universejobs.command.handler;
 
 import fr.ax_dev.universejobs.UniverseJobs;
+import fr.ax_dev.universejobs.action.ActionMetrics;
+import fr.ax_dev.universejobs.action.ActionType;
+import fr.ax_dev.universejobs.action.LatencyHistogram;
 import fr.ax_dev.universejobs.job.Job;
 import fr.ax_dev.universejobs.job.JobManager;
 import fr.ax_dev.universejobs.job.PlayerJobData;
@@ -278,6 +281,7 @@ public class AdminJobCommandHandler extends JobCommandHandler {
                         playerData.setXp(jobToReset, 0.0);
                         playerData.setLevel(jobToReset, 0);
                         playerData.leaveJob(jobToReset);
+                        jobManager.recordJobChange(target.getUniqueId(), jobToReset, playerData);
                     }
                     
                     // Sauvegarde
@@ -320,6 +324,7 @@ public class AdminJobCommandHandler extends JobCommandHandler {
                     // Reset XP et niveau du métier
                     playerData.setXp(jobId, 0);
                     playerData.setLevel(jobId, 0);
+                    jobManager.recordJobChange(target.getUniqueId(), jobId, playerData);
                     
                     // Sauvegarde
                     jobManager.savePlayerData(target.getUniqueId());
@@ -464,7 +469,8 @@ public class AdminJobCommandHandler extends JobCommandHandler {
                 double newXp = Math.max(0, currentXp - amount);
                 
                 playerData.setXp(jobId, newXp);
-                int newLevel = jobManager.getLevel(target.getPlayer(), jobId);
+                int newLevel = jobManager.getLevel(playerData, jobId);
+                jobManager.recordJobChange(target.getUniqueId(), jobId, playerData);
                 
                 jobManager.savePlayerData(target.getUniqueId());
                 
@@ -530,6 +536,7 @@ public class AdminJobCommandHandler extends JobCommandHandler {
                 
                 playerData.setLevel(jobId, newLevel);
                 playerData.setXp(jobId, requiredXp);
+                jobManager.recordJobChange(target.getUniqueId(), jobId, playerData);
                 
                 jobManager.savePlayerData(target.getUniqueId());
                 
@@ -595,6 +602,7 @@ public class AdminJobCommandHandler extends JobCommandHandler {
                 
                 playerData.setLevel(jobId, newLevel);
                 playerData.setXp(jobId, requiredXp);
+                jobManager.recordJobChange(target.getUniqueId(), jobId, playerData);
                 
                 jobManager.savePlayerData(target.getUniqueId());
                 
@@ -809,12 +817,16 @@ public class AdminJobCommandHandler extends JobCommandHandler {
                 // Reload config
                 plugin.getConfigManager().loadConfig();
                 
+                // Reload regions before the jobs referencing them
+                plugin.getRegionManager().loadRegions();
+                
                 // Reload jobs
                 plugin.getJobManager().reloadJobs();
                 
                 // Reload cache
                 plugin.getConfigCache().reload();
                 plugin.getPlayerCache().preloadOnlinePlayers();
+                plugin.getPlaceholderValueCache().reload();
                 
                 plugin.getFoliaManager().runAsync(() -> {
                     MessageUtils.sendMessage(sender, "&aUniverseJobs rechargé avec succès!");
@@ -870,7 +882,7 @@ public class AdminJobCommandHandler extends JobCommandHandler {
         }
         
         if (args.length < 3) {
-            MessageUtils.sendMessage(sender, "&cUsage: /jobs admin debug <xp|cache|config>");
+            MessageUtils.sendMessage(sender, "&cUsage: /jobs admin debug <xp|cache|config|conditions|regions|perf> [job|on|off|reset]");
             return true;
         }
         
@@ -886,9 +898,18 @@ public class AdminJobCommandHandler extends JobCommandHandler {
             case "config":
                 debugConfiguration(sender);
                 break;
+            case "conditions":
+                debugConditions(sender, args.length > 3 ? args[3] : null);
+                break;
+            case "regions":
+                debugRegions(sender);
+                break;
+            case "perf":
+                debugPerformance(sender, args.length > 3 ? args[3] : null);
+                break;
             default:
                 MessageUtils.sendMessage(sender, "&cType de debug invalide: " + debugType);
-                MessageUtils.sendMessage(sender, "&eTypes disponibles: xp, cache, config");
+                MessageUtils.sendMessage(sender, "&eTypes disponibles: xp, cache, config, conditions, regions, perf");
         }
         
         return true;
@@ -931,6 +952,178 @@ public class AdminJobCommandHandler extends JobCommandHandler {
                 MessageUtils.sendMessage(sender, "&f  " + key + ": &a" + value);
             });
         }
+        
+        if (plugin.getPlaceholderValueCache() != null) {
+            MessageUtils.sendMessage(sender, "&eStats des placeholders:");
+            plugin.getPlaceholderValueCache().getStats().forEach((key, value) -> {
+                MessageUtils.sendMessage(sender, "&f  " + key + ": &a" + value);
+            });
+        }
+        
+        if (plugin.getHeldItemCache() != null) {
+            MessageUtils.sendMessage(sender, "&eStats des objets en main:");
+            plugin.getHeldItemCache().getStats().forEach((key, value) -> {
+                MessageUtils.sendMessage(sender, "&f  " + key + ": &a" + value);
+            });
+        }
+        
+        if (plugin.getItemTargetRegistry() != null) {
+            MessageUtils.sendMessage(sender, "&eStats des objets custom:");
+            plugin.getItemTargetRegistry().getStats().forEach((key, value) -> {
+                MessageUtils.sendMessage(sender, "&f  " + key + ": &a" + value);
+            });
+        }
+        
+        if (plugin.getEnvironmentCache() != null) {
+            MessageUtils.sendMessage(sender, "&eStats de l'environnement:");
+            plugin.getEnvironmentCache().getStats().forEach((key, value) -> {
+                MessageUtils.sendMessage(sender, "&f  " + key + ": &a" + value);
+            });
+        }
+        
+        if (plugin.getRewardPipeline() != null) {
+            MessageUtils.sendMessage(sender, "&eStats du pipeline de récompenses:");
+            plugin.getRewardPipeline().getStats().forEach((key, value) -> {
+                MessageUtils.sendMessage(sender, "&f  " + key + ": &a" + value);
+            });
+        }
+        
+        if (plugin.getCustomActionQueue() != null) {
+            MessageUtils.sendMessage(sender, "&eStats des actions custom:");
+            plugin.getCustomActionQueue().getStats().forEach((key, value) -> {
+                MessageUtils.sendMessage(sender, "&f  " + key + ": &a" + value);
+            });
+        }
+        
+        if (plugin.getFurnaceOwnerTracker() != null) {
+            MessageUtils.sendMessage(sender, "&eStats des fours suivis:");
+            plugin.getFurnaceOwnerTracker().getStats().forEach((key, value) -> {
+                MessageUtils.sendMessage(sender, "&f  " + key + ": &a" + value);
+            });
+        }
+    }
+    
+    private void debugConditions(CommandSender sender, String jobId) {
+        MessageUtils.sendMessage(sender, "&6=== Debug Conditions ===");
+        
+        if (jobId == null) {
+            MessageUtils.sendMessage(sender, "&eOrdre d'évaluation des requirements par métier:");
+            for (var job : jobManager.getAllJobs()) {
+                MessageUtils.sendMessage(sender, "&f  - &e" + job.getId() + " &7(/jobs admin debug conditions " + job.getId() + ")");
+            }
+            return;
+        }
+        
+        Job job = jobManager.getJob(jobId);
+        if (job == null) {
+            MessageUtils.sendMessage(sender, "&cMétier introuvable: " + jobId);
+            return;
+        }
+        
+        List<String> lines = new ArrayList<>();
+        for (var entry : job.getActions().entrySet()) {
+            for (var action : entry.getValue()) {
+                if (!action.hasRequirements()) continue;
+                lines.add("&6" + entry.getKey() + " &f" + action.getTarget() + ":");
+                action.getRequirements().describe(lines, "  ");
+            }
+        }
+        
+        if (lines.isEmpty()) {
+            MessageUtils.sendMessage(sender, "&7Aucune action avec requirements pour " + jobId);
+        }
+        for (String line : lines) {
+            MessageUtils.sendMessage(sender, line);
+        }
+    }
+    
+    private void debugRegions(CommandSender sender) {
+        MessageUtils.sendMessage(sender, "&6=== Debug Regions ===");
+        
+        plugin.getRegionManager().getStats().forEach((key, value) -> {
+            MessageUtils.sendMessage(sender, "&f  " + key + ": &a" + value);
+        });
+        
+        if (sender instanceof Player player) {
+            var regions = plugin.getRegionManager().getRegionsAt(player.getLocation());
+            if (regions.isEmpty()) {
+                MessageUtils.sendMessage(sender, "&7Aucune région à votre position");
+            } else {
+                MessageUtils.sendMessage(sender, "&eRégions à votre position:");
+                for (var region : regions) {
+                    MessageUtils.sendMessage(sender, "&f  - &a" + region.getId() + " &7(" + region.getShape() + ")");
+                }
+            }
+        }
+    }
+    
+    private void debugPerformance(CommandSender sender, String option) {
+        ActionMetrics metrics = plugin.getActionMetrics();
+        
+        if (option != null) {
+            switch (option.toLowerCase()) {
+                case "on":
+                    metrics.setEnabled(true);
+                    MessageUtils.sendMessage(sender, "&aMesures de performance activées.");
+                    return;
+                case "off":
+                    metrics.setEnabled(false);
+                    MessageUtils.sendMessage(sender, "&aMesures de performance désactivées.");
+                    return;
+                case "reset":
+                    metrics.reset();
+                    MessageUtils.sendMessage(sender, "&aMesures de performance réinitialisées.");
+                    return;
+                default:
+                    break;
+            }
+        }
+        
+        MessageUtils.sendMessage(sender, "&6=== Debug Performance ===");
+        MessageUtils.sendMessage(sender, "&eMesures actives: &a" + metrics.isEnabled());
+        MessageUtils.sendMessage(sender, "&7Temps en µs: nombre | p50 | p95 | p99 | max");
+        
+        boolean found = false;
+        if (option != null) {
+            Job job = jobManager.getJob(option);
+            if (job == null) {
+                MessageUtils.sendMessage(sender, "&cMétier introuvable: " + option);
+                return;
+            }
+            MessageUtils.sendMessage(sender, "&6" + job.getId() + ":");
+            for (ActionMetrics.Stage stage : ActionMetrics.Stage.values()) {
+                found |= sendStageTimings(sender, stage, metrics.getJobHistogram(job.getId(), stage));
+            }
+        } else {
+            for (ActionType type : ActionType.values()) {
+                boolean header = false;
+                for (ActionMetrics.Stage stage : ActionMetrics.Stage.values()) {
+                    LatencyHistogram histogram = metrics.getHistogram(type, stage);
+                    if (histogram == null || histogram.getCount() == 0) continue;
+                    if (!header) {
+                        MessageUtils.sendMessage(sender, "&6" + type + ":");
+                        header = true;
+                    }
+                    found |= sendStageTimings(sender, stage, histogram);
+                }
+            }
+        }
+        
+        if (!found) {
+            MessageUtils.sendMessage(sender, "&7Aucune mesure enregistrée" + (metrics.isEnabled() ? "" : " &7(/jobs admin debug perf on)"));
+        }
+    }
+    
+    private boolean sendStageTimings(CommandSender sender, ActionMetrics.Stage stage, LatencyHistogram histogram) {
+        if (histogram == null || histogram.getCount() == 0) {
+            return false;
+        }
+        MessageUtils.sendMessage(sender, "&f  " + stage.key() + ": &a" + histogram.getCount()
+            + " &7| &f" + ActionMetrics.formatMicros(histogram.getPercentileNanos(50))
+            + " &7| &f" + ActionMetrics.formatMicros(histogram.getPercentileNanos(95))
+            + " &7| &f" + ActionMetrics.formatMicros(histogram.getPercentileNanos(99))
+            + " &7| &c" + ActionMetrics.formatMicros(histogram.getMaxNanos()));
+        return true;
     }
     
     private void debugConfiguration(CommandSender sender) {
@@ -1160,7 +1353,7 @@ public class AdminJobCommandHandler extends JobCommandHandler {
             }
             
             if ("debug".equals(subCommand)) {
-                return Arrays.asList("xp", "cache", "config");
+                return Arrays.asList("xp", "cache", "config", "conditions", "regions", "perf");
             }
             
         }
@@ -1182,6 +1375,18 @@ public class AdminJobCommandHandler extends JobCommandHandler {
                     .collect(Collectors.toList());
             }
             
+            if ("debug".equals(subCommand) && "conditions".equalsIgnoreCase(args[2])) {
+                return jobManager.getAllJobs().stream()
+                    .map(Job::getId)
+                    .collect(Collectors.toList());
+            }
+            
+            if ("debug".equals(subCommand) && "perf".equalsIgnoreCase(args[2])) {
+                List<String> options = new ArrayList<>(Arrays.asList("on", "off", "reset"));
+                jobManager.getAllJobs().forEach(job -> options.add(job.getId()));
+                return options;
+            }
+            
             if (Arrays.asList("forcejoin", "forceleave").contains(subCommand)) {
                 // Liste des métiers
                 return jobManager.getAllJobs().stream()
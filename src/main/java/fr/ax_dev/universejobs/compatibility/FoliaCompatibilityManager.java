@@ -7,9 +7,11 @@ import org.bukkit.entity.Player;
 import org.bukkit.event.player.PlayerTeleportEvent;
 
 import com.tcoded.folialib.FoliaLib;
+import com.tcoded.folialib.wrapper.task.WrappedTask;
 
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 /**
  * Compatibility manager for Folia support.
@@ -125,6 +127,18 @@ public class FoliaCompatibilityManager {
         foliaLib.getScheduler().runTimerAsync(wrappedTask -> task.run(), initialDelay, period, unit);
     }
     
+    /**
+     * Run a task repeatedly at fixed intervals asynchronously, giving it its own
+     * handle so it can cancel itself.
+     * 
+     * @param task The task to run, receiving its handle
+     * @param initialDelay Initial delay in ticks
+     * @param period Period between executions in ticks
+     */
+    public void runTimerAsync(Consumer<WrappedTask> task, long initialDelay, long period) {
+        foliaLib.getScheduler().runTimerAsync(task, initialDelay, period);
+    }
+    
     /**
      * Run a task at a specific location.
      * On Folia: Uses RegionScheduler for the region owning the location
@@ -149,6 +163,19 @@ public class FoliaCompatibilityManager {
         foliaLib.getScheduler().runAtEntity(entity, wrappedTask -> task.run());
     }
     
+    /**
+     * Run a task for a specific entity after a delay.
+     * On Folia: Uses EntityScheduler for the entity, following it across regions
+     * On Paper/Spigot: Uses main thread scheduler
+     * 
+     * @param entity The entity
+     * @param task The task to run
+     * @param delay Delay in ticks
+     */
+    public void runAtEntityLater(Entity entity, Runnable task, long delay) {
+        foliaLib.getScheduler().runAtEntityLater(entity, wrappedTask -> task.run(), delay);
+    }
+    
     /**
      * Teleport an entity asynchronously.
      * On Folia: Uses native async teleportation
@@ -246,4 +273,19 @@ public class FoliaCompatibilityManager {
         }
         return true; // Always true on Paper/Spigot (single thread)
     }
-}
\ No newline at end of file
+    
+    /**
+     * Check if the current thread may access an entity: the entity's region thread on Folia,
+     * the main thread on Paper/Spigot. Unlike {@link #isOwnedByCurrentRegion(Entity)},
+     * this is false on worker threads on every platform.
+     * 
+     * @param entity The entity to check
+     * @return true if the entity can be accessed from the current thread
+     */
+    public boolean isEntityThread(Entity entity) {
+        if (foliaLib.isFolia()) {
+            return isOwnedByCurrentRegion(entity);
+        }
+        return org.bukkit.Bukkit.isPrimaryThread();
+    }
+}
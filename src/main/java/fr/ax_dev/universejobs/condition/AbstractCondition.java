@@ -1,14 +1,10 @@
 package fr.ax_dev.universejobs.condition;
 
 import fr.ax_dev.universejobs.config.MessageConfig;
-import fr.ax_dev.universejobs.utils.MessageUtils;
 import org.bukkit.NamespacedKey;
 import org.bukkit.Registry;
 import org.bukkit.Sound;
-import org.bukkit.boss.BossBar;
 import org.bukkit.configuration.ConfigurationSection;
-import org.bukkit.entity.Player;
-import fr.ax_dev.universejobs.UniverseJobs;
 
 import java.util.List;
 
@@ -108,9 +104,9 @@ public abstract class AbstractCondition implements Condition {
             acceptCancelEvent = acceptSection.getBoolean("cancel-event", false);
         }
         
-        // Create enhanced condition results
-        this.denyResult = new EnhancedConditionResult(false, denyMessage, denySound, denyCommands, denyCancelEvent, null, null, null, false);
-        this.acceptResult = new EnhancedConditionResult(true, null, null, null, false, acceptMessage, acceptSound, acceptCommands, acceptCancelEvent);
+        // Sides without message, sound, commands or cancel-event share the plain allow/deny results
+        this.denyResult = ConditionResult.of(false, denyMessage, denySound, denyCommands, denyCancelEvent);
+        this.acceptResult = ConditionResult.of(true, acceptMessage, acceptSound, acceptCommands, acceptCancelEvent);
     }
     
     @Override
@@ -122,89 +118,4 @@ public abstract class AbstractCondition implements Condition {
     public ConditionResult getAcceptResult() {
         return acceptResult;
     }
-    
-    /**
-     * Enhanced condition result that supports the new message format.
-     */
-    private static class EnhancedConditionResult extends ConditionResult {
-        private final MessageConfig denyMessageConfig;
-        private final MessageConfig acceptMessageConfig;
-        
-        public EnhancedConditionResult(boolean allowed, 
-                                      MessageConfig denyMessageConfig, Sound denySound, List<String> denyCommands, boolean denyCancelEvent,
-                                      MessageConfig acceptMessageConfig, Sound acceptSound, List<String> acceptCommands, boolean acceptCancelEvent) {
-            super(allowed, 
-                  denyMessageConfig != null ? denyMessageConfig.getText() : null, 
-                  denySound, denyCommands, denyCancelEvent,
-                  acceptMessageConfig != null ? acceptMessageConfig.getText() : null, 
-                  acceptSound, acceptCommands, acceptCancelEvent);
-            this.denyMessageConfig = denyMessageConfig;
-            this.acceptMessageConfig = acceptMessageConfig;
-        }
-        
-        @Override
-        public void execute(Player player) {
-            MessageConfig messageConfig = isAllowed() ? acceptMessageConfig : denyMessageConfig;
-            List<String> commands = isAllowed() ? getAcceptCommands() : getDenyCommands();
-            Sound sound = isAllowed() ? getAcceptSound() : getDenySound();
-            
-            // Handle message display based on type
-            if (messageConfig != null && messageConfig.hasContent()) {
-                String text = messageConfig.getText();
-                
-                switch (messageConfig.getType()) {
-                    case CHAT:
-                        MessageUtils.sendMessage(player, text);
-                        break;
-                        
-                    case ACTIONBAR:
-                        MessageUtils.sendActionBar(player, text);
-                        // Schedule clear after duration
-                        if (messageConfig.getDuration() > 0) {
-                            UniverseJobs.getInstance().getFoliaManager().runLater(() -> {
-                                if (player.isOnline()) {
-                                    MessageUtils.sendActionBar(player, "");
-                                }
-                            }, messageConfig.getDuration());
-                        }
-                        break;
-                        
-                    case BOSSBAR:
-                        BossBar bossBar = org.bukkit.Bukkit.createBossBar(
-                            MessageUtils.colorize(text),
-                            messageConfig.getBossbarColor(),
-                            messageConfig.getBossbarStyle()
-                        );
-                        bossBar.setProgress(1.0);
-                        bossBar.addPlayer(player);
-                        
-                        // Remove after duration
-                        if (messageConfig.getDuration() > 0) {
-                            UniverseJobs.getInstance().getFoliaManager().runLater(() -> {
-                                if (player.isOnline()) {
-                                    bossBar.removePlayer(player);
-                                }
-                            }, messageConfig.getDuration());
-                        }
-                        break;
-                }
-            }
-            
-            // Play sound
-            if (sound != null) {
-                player.playSound(player.getLocation(), sound, 1.0f, 1.0f);
-            }
-            
-            // Execute commands
-            if (commands != null && !commands.isEmpty()) {
-                for (String command : commands) {
-                    String processedCommand = command.replace("{player}", player.getName());
-                    player.getServer().dispatchCommand(
-                        player.getServer().getConsoleSender(),
-                        processedCommand
-                    );
-                }
-            }
-        }
-    }
-}
\ No newline at end of file
+}
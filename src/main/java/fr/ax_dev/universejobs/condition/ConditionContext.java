@@ -1,47 +1,163 @@
 package fr.ax_dev.universejobs.condition;
 
-import org.bukkit.Location;
+import org.bukkit.Bukkit;
 import org.bukkit.Material;
 import org.bukkit.block.Block;
 import org.bukkit.entity.Entity;
+import org.bukkit.entity.EntityType;
 import org.bukkit.inventory.ItemStack;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.function.Supplier;
 
 /**
  * Context object that holds data for condition evaluation.
  * Provides easy access to common action-related data.
+ * <p>
+ * Common attributes (block, entity, item, material, target, interact type, craft multiplier,
+ * NBT) are stored in typed fields; any other key goes to a small overflow map allocated on
+ * first use. The string-keyed {@link #set(String, Object)} / {@link #get(String)} API routes
+ * the well-known keys to their fields, so existing callers keep working.
+ * <p>
+ * Expensive attributes can be registered with {@link #setLazy(String, Supplier)} and are only
+ * computed when an action or condition reads them. Listeners on hot paths should use
+ * {@link #acquire()} / {@link #release()} to reuse one instance per thread (region threads on
+ * Folia) instead of allocating a context per event. A pooled context must not escape the
+ * call that acquired it (e.g. into a scheduled task).
  */
 public class ConditionContext {
-    
+
     private static final String MATERIAL_KEY = "material";
-    
-    private final Map<String, Object> data = new HashMap<>();
-    
+    private static final String BLOCK_KEY = "block";
+    private static final String ENTITY_KEY = "entity";
+    private static final String ENTITY_TYPE_KEY = "entityType";
+    private static final String ITEM_KEY = "item";
+    private static final String TARGET_KEY = "target";
+    private static final String INTERACT_TYPE_KEY = "interact-type";
+    private static final String CRAFT_MULTIPLIER_KEY = "craft_multiplier";
+    private static final String NBT_KEY = "nbt";
+    private static final String NEXO_BLOCK_ID_KEY = "nexo_block_id";
+
+    private static final ThreadLocal<ConditionContext> POOL = ThreadLocal.withInitial(() -> new ConditionContext(true));
+
+    private final boolean pooled;
+    private boolean inUse;
+
+    private Block block;
+    private Entity entity;
+    private EntityType entityType;
+    private ItemStack item;
+    private Material material;
+    private String target;
+    private String interactType;
+    private Integer craftMultiplier;
+    private Object nbt;
+    private String nexoBlockId;
+    private boolean nexoBlockIdResolved;
+    private Map<String, Object> extra;
+
     /**
      * Create a new empty context.
-     * The empty constructor initializes the internal data map for storing context values.
+     * Short-lived contexts on hot paths should use {@link #acquire()} instead.
      */
     public ConditionContext() {
-        // Initialize with empty data map - this is the standard pattern for builder classes
+        this(false);
     }
-    
+
+    private ConditionContext(boolean pooled) {
+        this.pooled = pooled;
+    }
+
+    /**
+     * Get an empty context reused by the current thread.
+     * Falls back to a new instance when the thread's context is already in use
+     * (an action triggering another event on the same thread).
+     *
+     * @return An empty context, to be given back with {@link #release()}
+     */
+    public static ConditionContext acquire() {
+        ConditionContext context = POOL.get();
+        if (context.inUse) {
+            return new ConditionContext();
+        }
+        context.inUse = true;
+        return context;
+    }
+
+    /**
+     * Give a context obtained from {@link #acquire()} back to its thread.
+     * Does nothing for contexts created with the constructor.
+     */
+    public void release() {
+        if (!pooled) {
+            return;
+        }
+        block = null;
+        entity = null;
+        entityType = null;
+        item = null;
+        material = null;
+        target = null;
+        interactType = null;
+        craftMultiplier = null;
+        nbt = null;
+        nexoBlockId = null;
+        nexoBlockIdResolved = false;
+        if (extra != null) {
+            extra.clear();
+        }
+        inUse = false;
+    }
+
     /**
      * Set a value in the context.
-     * 
+     *
      * @param key The key
      * @param value The value
      * @return This context for chaining
      */
     public ConditionContext set(String key, Object value) {
-        data.put(key, value);
+        switch (key) {
+            case BLOCK_KEY -> block = value instanceof Block b ? b : null;
+            case ENTITY_KEY -> entity = value instanceof Entity e ? e : null;
+            case ENTITY_TYPE_KEY -> entityType = value instanceof EntityType t ? t : null;
+            case ITEM_KEY -> item = value instanceof ItemStack i ? i : null;
+            case MATERIAL_KEY -> material = value instanceof Material m ? m : null;
+            case TARGET_KEY -> target = value != null ? value.toString() : null;
+            case INTERACT_TYPE_KEY -> interactType = value != null ? value.toString() : null;
+            case CRAFT_MULTIPLIER_KEY -> craftMultiplier = value instanceof Integer i ? i : null;
+            case NBT_KEY -> nbt = value;
+            case NEXO_BLOCK_ID_KEY -> {
+                nexoBlockId = value != null ? value.toString() : null;
+                nexoBlockIdResolved = true;
+            }
+            default -> {
+                if (extra == null) {
+                    extra = new HashMap<>(8);
+                }
+                extra.put(key, value);
+            }
+        }
         return this;
     }
-    
+
+    /**
+     * Set a value computed only when it is first read.
+     * The supplier runs at most once; a null result is treated as an absent key.
+     * Only "nbt" and keys without a typed field can be lazy.
+     *
+     * @param key The key
+     * @param supplier The value supplier
+     * @return This context for chaining
+     */
+    public ConditionContext setLazy(String key, Supplier<?> supplier) {
+        return set(key, new LazyValue(supplier));
+    }
+
     /**
      * Get a value from the context.
-     * 
+     *
      * @param key The key
      * @param defaultValue The default value if not found
      * @param <T> The value type
@@ -49,19 +165,19 @@ public class ConditionContext {
      */
     @SuppressWarnings("unchecked")
     public <T> T get(String key, T defaultValue) {
-        Object value = data.get(key);
+        Object value = lookup(key);
         if (value == null) return defaultValue;
-        
+
         try {
             return (T) value;
         } catch (ClassCastException e) {
             return defaultValue;
         }
     }
-    
+
     /**
      * Get a value from the context.
-     * 
+     *
      * @param key The key
      * @param <T> The value type
      * @return The value or null
@@ -69,163 +185,253 @@ public class ConditionContext {
     public <T> T get(String key) {
         return get(key, null);
     }
-    
+
     /**
-     * Check if a key exists in the context.
-     * 
+     * Check if a key has a value in the context.
+     * Lazy values are computed by this check.
+     *
      * @param key The key
-     * @return true if the key exists
+     * @return true if the key has a non-null value
      */
     public boolean has(String key) {
-        return data.containsKey(key);
+        return lookup(key) != null;
+    }
+
+    private Object lookup(String key) {
+        return switch (key) {
+            case BLOCK_KEY -> block;
+            case ENTITY_KEY -> entity;
+            case ENTITY_TYPE_KEY -> entityType;
+            case ITEM_KEY -> item;
+            case MATERIAL_KEY -> material;
+            case TARGET_KEY -> target;
+            case INTERACT_TYPE_KEY -> interactType;
+            case CRAFT_MULTIPLIER_KEY -> craftMultiplier;
+            case NBT_KEY -> {
+                if (nbt instanceof LazyValue lazy) {
+                    nbt = lazy.get();
+                }
+                yield nbt;
+            }
+            case NEXO_BLOCK_ID_KEY -> getNexoBlockId();
+            default -> {
+                if (extra == null) {
+                    yield null;
+                }
+                Object value = extra.get(key);
+                if (value instanceof LazyValue lazy) {
+                    value = lazy.get();
+                    if (value != null) {
+                        extra.put(key, value);
+                    } else {
+                        extra.remove(key);
+                    }
+                }
+                yield value;
+            }
+        };
     }
-    
+
     /**
      * Set the block involved in the action.
-     * 
+     * The Nexo block ID is detected when first read, see {@link #getNexoBlockId()}.
+     *
      * @param block The block
      * @return This context for chaining
      */
     public ConditionContext setBlock(Block block) {
-        set("block", block).set(MATERIAL_KEY, block.getType());
-        
-        // Try to detect Nexo block ID
-        String nexoBlockId = detectNexoBlockId(block);
-        if (nexoBlockId != null) {
-            set("nexo_block_id", nexoBlockId);
-        }
-        
+        this.block = block;
+        this.material = block.getType();
+        this.nexoBlockId = null;
+        this.nexoBlockIdResolved = false;
         return this;
     }
-    
+
     /**
      * Set the entity involved in the action.
-     * 
+     *
      * @param entity The entity
      * @return This context for chaining
      */
     public ConditionContext setEntity(Entity entity) {
-        return set("entity", entity).set("entityType", entity.getType());
+        this.entity = entity;
+        this.entityType = entity.getType();
+        return this;
     }
-    
+
     /**
      * Set the item involved in the action.
-     * 
+     *
      * @param item The item
      * @return This context for chaining
      */
     public ConditionContext setItem(ItemStack item) {
         if (item != null) {
-            set("item", item).set(MATERIAL_KEY, item.getType());
+            this.item = item;
+            this.material = item.getType();
         }
         return this;
     }
-    
+
     /**
      * Set the material involved in the action.
-     * 
+     *
      * @param material The material
      * @return This context for chaining
      */
     public ConditionContext setMaterial(Material material) {
-        return set(MATERIAL_KEY, material);
+        this.material = material;
+        return this;
     }
-    
+
     /**
      * Get the block from the context.
-     * 
+     *
      * @return The block or null
      */
     public Block getBlock() {
-        return get("block");
+        return block;
     }
-    
+
     /**
      * Get the entity from the context.
-     * 
+     *
      * @return The entity or null
      */
     public Entity getEntity() {
-        return get("entity");
+        return entity;
+    }
+
+    /**
+     * Get the entity type from the context.
+     *
+     * @return The entity type or null
+     */
+    public EntityType getEntityType() {
+        return entityType;
     }
-    
+
     /**
      * Get the item from the context.
-     * 
+     *
      * @return The item or null
      */
     public ItemStack getItem() {
-        return get("item");
+        return item;
     }
-    
+
     /**
      * Get the material from the context.
-     * 
+     *
      * @return The material or null
      */
     public Material getMaterial() {
-        return get(MATERIAL_KEY);
+        return material;
     }
-    
+
+    /**
+     * Get the interact type (RIGHT_CLICK, RIGHT_SHIFT_CLICK...).
+     *
+     * @return The interact type or null
+     */
+    public String getInteractType() {
+        return interactType;
+    }
+
+    /**
+     * Get the craft multiplier (number of items crafted by a shift-click).
+     *
+     * @return The multiplier, 1 if not set
+     */
+    public int getCraftMultiplier() {
+        return craftMultiplier != null ? craftMultiplier : 1;
+    }
+
     /**
      * Get the target string (for matching against action targets).
-     * 
+     *
      * @return The target string
      */
     public String getTarget() {
         // First check if there's an explicit target set (for custom blocks like Nexo, ItemsAdder, CustomCrops)
-        String explicitTarget = get("target", (String) null);
-        if (explicitTarget != null && !explicitTarget.isEmpty()) {
-            return explicitTarget;
+        if (target != null && !target.isEmpty()) {
+            return target;
         }
-        
+
         // Fallback to material
-        Material material = getMaterial();
         if (material != null) {
             return material.name();
         }
-        
+
         // Fallback to entity
-        Entity entity = getEntity();
         if (entity != null) {
             return entity.getType().name();
         }
-        
+
         return "";
     }
-    
+
     /**
      * Get the Nexo block ID if this context involves a Nexo custom block.
-     * 
+     * Detected on first call and remembered for the rest of the event.
+     *
      * @return The Nexo block ID or null
      */
     public String getNexoBlockId() {
-        return get("nexo_block_id");
+        if (!nexoBlockIdResolved) {
+            nexoBlockIdResolved = true;
+            nexoBlockId = block != null ? detectNexoBlockId(block) : null;
+        }
+        return nexoBlockId;
     }
-    
+
     /**
      * Detect if a block is a Nexo custom block and return its ID.
      * Uses direct Nexo API calls.
-     * 
+     *
      * @param block The block to check
      * @return The Nexo block ID or null
      */
-    private String detectNexoBlockId(Block block) {
+    private static String detectNexoBlockId(Block block) {
+        if (!Bukkit.getPluginManager().isPluginEnabled("Nexo")) {
+            return null;
+        }
         try {
             // Use direct Nexo API
-            com.nexomc.nexo.mechanics.custom_block.CustomBlockMechanic mechanic = 
-                com.nexomc.nexo.api.NexoBlocks.customBlockMechanic((Location) block);
-            
+            com.nexomc.nexo.mechanics.custom_block.CustomBlockMechanic mechanic =
+                com.nexomc.nexo.api.NexoBlocks.customBlockMechanic(block.getLocation());
+
             return mechanic != null ? mechanic.getItemID() : null;
-            
+
         } catch (Exception ignored) {
-            // Nexo not available or error occurred
+            // Nexo API error
             return null;
         }
     }
-    
+
     @Override
     public String toString() {
-        return "ConditionContext{data=" + data + "}";
+        return "ConditionContext{target=" + target + ", material=" + material + ", entityType=" + entityType
+                + ", interactType=" + interactType + ", extra=" + extra + "}";
+    }
+
+    /**
+     * A value computed on first read.
+     */
+    private static final class LazyValue {
+        private Supplier<?> supplier;
+        private Object value;
+
+        LazyValue(Supplier<?> supplier) {
+            this.supplier = supplier;
+        }
+
+        Object get() {
+            if (supplier != null) {
+                value = supplier.get();
+                supplier = null;
+            }
+            return value;
+        }
     }
-}
\ No newline at end of file
+}
@@ -1,5 +1,7 @@
 package fr.ax_dev.universejobs.condition;
 
+import fr.ax_dev.universejobs.UniverseJobs;
+import fr.ax_dev.universejobs.condition.ConditionPlan.Node;
 import fr.ax_dev.universejobs.condition.impl.*;
 import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.entity.Player;
@@ -11,6 +13,10 @@ import java.util.List;
 /**
  * A group of conditions that can be evaluated with AND/OR logic.
  * Supports nested condition groups for complex requirement structures.
+ * <p>
+ * The declared conditions and sub-groups are compiled into a flat {@link ConditionPlan}
+ * before evaluation: sub-groups using the same logic as their parent are inlined, and
+ * the plan may evaluate nodes cheapest-first while returning the declared-order result.
  */
 public class ConditionGroup {
     
@@ -24,6 +30,7 @@ public class ConditionGroup {
     private final Logic logic;
     private final List<Condition> conditions = new ArrayList<>();
     private final List<ConditionGroup> subGroups = new ArrayList<>();
+    private volatile ConditionPlan compiled;
     
     /**
      * Create a condition group from configuration.
@@ -40,6 +47,8 @@ public class ConditionGroup {
         
         // Load sub-groups
         loadSubGroups(config);
+        
+        this.compiled = new ConditionPlan(logic, compile(), loadPlanSettings());
     }
     
     /**
@@ -133,6 +142,7 @@ public class ConditionGroup {
             case PERMISSION -> new PermissionCondition(config);
             case ITEM -> new ItemCondition(config);
             case WORLD -> new WorldCondition(config);
+            case REGION -> new RegionCondition(config);
             case TIME -> new TimeCondition(config);
             case WEATHER -> new WeatherCondition(config);
             case BIOME -> new BiomeCondition(config);
@@ -147,6 +157,7 @@ public class ConditionGroup {
      */
     public void addCondition(Condition condition) {
         conditions.add(condition);
+        compiled = null;
     }
     
     /**
@@ -156,6 +167,7 @@ public class ConditionGroup {
      */
     public void addSubGroup(ConditionGroup group) {
         subGroups.add(group);
+        compiled = null;
     }
     
     /**
@@ -167,69 +179,96 @@ public class ConditionGroup {
      * @return The evaluation result
      */
     public ConditionResult evaluate(Player player, Event event, ConditionContext context) {
-        if (conditions.isEmpty() && subGroups.isEmpty()) {
+        ConditionPlan plan = getPlan();
+        if (plan.isEmpty()) {
             return ConditionResult.allow();
         }
-        
-        boolean result = (logic == Logic.AND);
-        ConditionResult denyResult = null;
-        ConditionResult acceptResult = null;
-        
-        // Evaluate individual conditions
+        return plan.evaluate(player, event, context);
+    }
+    
+    /**
+     * Describe the current evaluation order of this group and its nested groups,
+     * with the sampled pass rate and cost of each node.
+     * 
+     * @param lines The output lines
+     * @param indent The indentation prefix
+     */
+    public void describe(List<String> lines, String indent) {
+        getPlan().describe(lines, indent);
+    }
+    
+    private ConditionPlan getPlan() {
+        ConditionPlan plan = compiled;
+        if (plan == null) {
+            plan = new ConditionPlan(logic, compile(), loadPlanSettings());
+            compiled = plan;
+        }
+        return plan;
+    }
+    
+    /**
+     * Read the adaptive ordering settings.
+     * 
+     * @return The settings, disabled when the plugin is not available
+     */
+    private static ConditionPlan.Settings loadPlanSettings() {
+        UniverseJobs plugin = UniverseJobs.getInstance();
+        if (plugin == null || plugin.getConfigManager() == null) {
+            return ConditionPlan.Settings.DISABLED;
+        }
+        return new ConditionPlan.Settings(
+            plugin.getConfigManager().isAdaptiveConditionOrderingEnabled(),
+            plugin.getConfigManager().getConditionSampleInterval(),
+            plugin.getConfigManager().getConditionReorderInterval()
+        );
+    }
+    
+    /**
+     * Compile the declared conditions and sub-groups into evaluation order:
+     * conditions first, then sub-groups, inlining sub-groups that use the same logic.
+     * 
+     * @return The compiled nodes
+     */
+    private Node[] compile() {
+        List<Node> nodes = new ArrayList<>(conditions.size() + subGroups.size());
         for (Condition condition : conditions) {
-            boolean conditionMet = condition.isMet(player, event, context);
-            
-            if (logic == Logic.AND) {
-                if (!conditionMet) {
-                    denyResult = condition.getDenyResult();
-                    result = false;
-                    break; // Short-circuit on first failure
-                } else if (acceptResult == null) {
-                    // Collect accept result from first met condition
-                    acceptResult = condition.getAcceptResult();
-                }
-            } else { // OR logic
-                if (conditionMet) {
-                    // For OR logic, use accept result from the condition that passed
-                    acceptResult = condition.getAcceptResult();
-                    result = true;
-                    break; // Short-circuit on first success
-                } else if (denyResult == null) {
-                    denyResult = condition.getDenyResult();
-                }
-            }
+            nodes.add(new Node(condition, null));
         }
-        
-        // Evaluate sub-groups if needed
-        if ((logic == Logic.AND && result) || (logic == Logic.OR && !result)) {
-            for (ConditionGroup subGroup : subGroups) {
-                ConditionResult subResult = subGroup.evaluate(player, event, context);
-                
-                if (logic == Logic.AND) {
-                    if (!subResult.isAllowed()) {
-                        return subResult; // Return the denial from sub-group
-                    } else if (acceptResult == null && subResult.isAllowed()) {
-                        // Use accept result from sub-group if we don't have one yet
-                        acceptResult = subResult;
-                    }
-                } else { // OR logic
-                    if (subResult.isAllowed()) {
-                        acceptResult = subResult;
-                        result = true;
-                        break; // Short-circuit on first success
-                    } else if (denyResult == null) {
-                        denyResult = subResult;
-                    }
+        for (ConditionGroup subGroup : subGroups) {
+            if (canInline(subGroup)) {
+                for (Node node : subGroup.compile()) {
+                    nodes.add(node);
                 }
+            } else {
+                nodes.add(new Node(null, subGroup));
             }
         }
-        
-        if (result) {
-            // Return accept result if available, otherwise return generic allow
-            return acceptResult != null ? acceptResult : ConditionResult.allow();
-        } else {
-            return denyResult != null ? denyResult : ConditionResult.deny();
+        return nodes.toArray(new Node[0]);
+    }
+    
+    /**
+     * Check if a sub-group can be merged into this group without changing the result.
+     * An empty group always passes, so it is kept as-is; otherwise a same-logic group is
+     * equivalent to its nodes as long as each of them provides the result the sub-group
+     * would otherwise substitute (accept results for AND, deny results for OR).
+     * 
+     * @param subGroup The sub-group
+     * @return true if its nodes can be inlined
+     */
+    private boolean canInline(ConditionGroup subGroup) {
+        if (subGroup.logic != logic || !subGroup.hasConditions()) {
+            return false;
+        }
+        for (Node node : subGroup.compile()) {
+            if (node.condition == null) continue;
+            ConditionResult substitute = logic == Logic.AND
+                    ? node.condition.getAcceptResult()
+                    : node.condition.getDenyResult();
+            if (substitute == null) {
+                return false;
+            }
         }
+        return true;
     }
     
     /**
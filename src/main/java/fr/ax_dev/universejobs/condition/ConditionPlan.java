@@ -0,0 +1,248 @@
+package fr.ax_dev.universejobs.condition;
+
+import org.bukkit.entity.Player;
+import org.bukkit.event.Event;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compiled, self-tuning evaluation plan of a {@link ConditionGroup}.
+ * <p>
+ * Nodes keep their declared order for result selection, but are evaluated in an order
+ * derived from sampled cost and pass rate: cheap nodes likely to decide the group
+ * (fail for AND, pass for OR) run first. When a node decides the group, the earlier
+ * declared nodes that were skipped are evaluated before returning, so the accept/deny
+ * result is always the one the declared order would give.
+ */
+final class ConditionPlan {
+
+    // Skipped-node tracking uses a 64-bit mask; larger groups keep their declared order
+    private static final int MAX_ADAPTIVE_NODES = 64;
+
+    private final boolean and;
+    private final Node[] nodes;
+    private final int resultSource;
+    private final boolean adaptive;
+    private final int sampleInterval;
+    private final int reorderInterval;
+    private final AtomicLong evaluations = new AtomicLong();
+    private volatile int[] order;
+
+    /**
+     * Create a plan.
+     *
+     * @param logic The group logic
+     * @param nodes The nodes in declared order
+     * @param settings The adaptive ordering settings
+     */
+    ConditionPlan(ConditionGroup.Logic logic, Node[] nodes, Settings settings) {
+        this.and = logic == ConditionGroup.Logic.AND;
+        this.nodes = nodes;
+        this.adaptive = settings.enabled() && nodes.length > 1 && nodes.length <= MAX_ADAPTIVE_NODES;
+        this.sampleInterval = Math.max(1, settings.sampleInterval());
+        this.reorderInterval = Math.max(1, settings.reorderInterval());
+
+        int[] declared = new int[nodes.length];
+        for (int i = 0; i < declared.length; i++) {
+            declared[i] = i;
+        }
+        this.order = declared;
+
+        // Result of a group in which no node decides: the first declared node providing one
+        int source = -1;
+        for (int i = 0; i < nodes.length && source < 0; i++) {
+            Node node = nodes[i];
+            if (node.group != null
+                    || (and ? node.condition.getAcceptResult() : node.condition.getDenyResult()) != null) {
+                source = i;
+            }
+        }
+        this.resultSource = source;
+    }
+
+    /**
+     * Check if the plan has no node.
+     *
+     * @return true if empty
+     */
+    boolean isEmpty() {
+        return nodes.length == 0;
+    }
+
+    /**
+     * Evaluate the plan.
+     *
+     * @param player The player
+     * @param event The event
+     * @param context The condition context
+     * @return The result the declared order gives
+     */
+    ConditionResult evaluate(Player player, Event event, ConditionContext context) {
+        boolean sample = false;
+        if (adaptive) {
+            long count = evaluations.incrementAndGet();
+            sample = count % sampleInterval == 0;
+            if (count % reorderInterval == 0) {
+                reorder();
+            }
+        }
+
+        int[] current = order;
+        long evaluated = 0L;
+        ConditionResult sourceResult = null;
+
+        for (int index : current) {
+            Node node = nodes[index];
+            long start = sample ? System.nanoTime() : 0L;
+
+            ConditionResult subResult = null;
+            boolean met;
+            if (node.condition != null) {
+                met = node.condition.isMet(player, event, context);
+            } else {
+                subResult = node.group.evaluate(player, event, context);
+                met = subResult.isAllowed();
+            }
+
+            if (sample) {
+                node.record(met, System.nanoTime() - start);
+            }
+            evaluated |= 1L << index;
+            if (index == resultSource) {
+                sourceResult = subResult;
+            }
+
+            if (met != and) {
+                // This node decides the group (failure for AND, success for OR).
+                // An earlier declared node that was skipped may decide it too and takes precedence.
+                for (int earlier = 0; earlier < index; earlier++) {
+                    if ((evaluated & (1L << earlier)) != 0) continue;
+
+                    Node candidate = nodes[earlier];
+                    ConditionResult candidateResult = null;
+                    boolean candidateMet;
+                    if (candidate.condition != null) {
+                        candidateMet = candidate.condition.isMet(player, event, context);
+                    } else {
+                        candidateResult = candidate.group.evaluate(player, event, context);
+                        candidateMet = candidateResult.isAllowed();
+                    }
+                    if (candidateMet != and) {
+                        return decidingResult(candidate, candidateResult);
+                    }
+                }
+                return decidingResult(node, subResult);
+            }
+        }
+
+        // No node decided: every node passed (AND) or failed (OR)
+        if (resultSource < 0) {
+            return and ? ConditionResult.allow() : ConditionResult.deny();
+        }
+        Node source = nodes[resultSource];
+        if (source.group != null) {
+            return sourceResult;
+        }
+        return and ? source.condition.getAcceptResult() : source.condition.getDenyResult();
+    }
+
+    private ConditionResult decidingResult(Node node, ConditionResult subResult) {
+        if (node.group != null) {
+            return subResult;
+        }
+        ConditionResult result = and ? node.condition.getDenyResult() : node.condition.getAcceptResult();
+        if (result != null) {
+            return result;
+        }
+        return and ? ConditionResult.deny() : ConditionResult.allow();
+    }
+
+    /**
+     * Recompute the evaluation order from the sampled statistics.
+     * A node's rank is its expected cost per decision: average cost divided by the
+     * probability that it decides the group.
+     */
+    private void reorder() {
+        Integer[] indexes = new Integer[nodes.length];
+        double[] ranks = new double[nodes.length];
+        for (int i = 0; i < nodes.length; i++) {
+            indexes[i] = i;
+            Node node = nodes[i];
+            long samples = node.samples.get();
+            // Laplace smoothing keeps unsampled nodes at a neutral 50% pass rate
+            double passRate = (node.passes.get() + 1.0) / (samples + 2.0);
+            double decideRate = and ? 1.0 - passRate : passRate;
+            double cost = samples > 0 ? (double) node.nanos.get() / samples : 0.0;
+            ranks[i] = cost / decideRate;
+        }
+        // Stable sort: equal ranks keep their declared order
+        Arrays.sort(indexes, Comparator.comparingDouble(i -> ranks[i]));
+
+        int[] reordered = new int[indexes.length];
+        for (int i = 0; i < indexes.length; i++) {
+            reordered[i] = indexes[i];
+        }
+        this.order = reordered;
+    }
+
+    /**
+     * Describe the current evaluation order for the admin debug command.
+     *
+     * @param lines The output lines
+     * @param indent The indentation prefix
+     */
+    void describe(List<String> lines, String indent) {
+        lines.add(indent + "&e" + (and ? "AND" : "OR") + "&7 (" + nodes.length + " nodes, "
+                + (adaptive ? "adaptive" : "declared order") + ", " + evaluations.get() + " evaluations)");
+        for (int index : order) {
+            Node node = nodes[index];
+            long samples = node.samples.get();
+            String stats = samples == 0 ? "no samples" : String.format("%.0f%% pass, %.1fµs",
+                    node.passes.get() * 100.0 / samples, node.nanos.get() / 1000.0 / samples);
+            String label = node.condition != null ? String.valueOf(node.condition) : "group";
+            lines.add(indent + "&f  #" + (index + 1) + " &a" + label + " &7(" + stats + ")");
+            if (node.group != null) {
+                node.group.describe(lines, indent + "    ");
+            }
+        }
+    }
+
+    /**
+     * A compiled node: either a leaf condition or a nested group with a different logic,
+     * with its sampled statistics.
+     */
+    static final class Node {
+        final Condition condition;
+        final ConditionGroup group;
+        final AtomicLong samples = new AtomicLong();
+        final AtomicLong passes = new AtomicLong();
+        final AtomicLong nanos = new AtomicLong();
+
+        Node(Condition condition, ConditionGroup group) {
+            this.condition = condition;
+            this.group = group;
+        }
+
+        void record(boolean met, long elapsedNanos) {
+            samples.incrementAndGet();
+            if (met) {
+                passes.incrementAndGet();
+            }
+            nanos.addAndGet(elapsedNanos);
+        }
+    }
+
+    /**
+     * Adaptive ordering settings.
+     *
+     * @param enabled Whether nodes may be reordered
+     * @param sampleInterval Time one evaluation out of this many
+     * @param reorderInterval Recompute the order every this many evaluations
+     */
+    record Settings(boolean enabled, int sampleInterval, int reorderInterval) {
+        static final Settings DISABLED = new Settings(false, 1, 1);
+    }
+}
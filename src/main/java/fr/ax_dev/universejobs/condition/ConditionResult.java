@@ -1,17 +1,30 @@
 package fr.ax_dev.universejobs.condition;
 
+import fr.ax_dev.universejobs.UniverseJobs;
+import fr.ax_dev.universejobs.config.MessageConfig;
 import fr.ax_dev.universejobs.utils.MessageUtils;
+import org.bukkit.Bukkit;
 import org.bukkit.Sound;
+import org.bukkit.boss.BossBar;
 import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.entity.Player;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
  * Represents the result of a condition check, including actions to take.
+ * <p>
+ * Plain results without actions are shared singletons ({@link #allow()}, {@link #deny()}).
+ * The message, sound and commands of configured results are compiled once into an action
+ * list, so {@link #execute(Player)} does no work for results that have none.
  */
 public class ConditionResult {
     
+    private static final ResultAction[] NO_ACTIONS = new ResultAction[0];
+    private static final ConditionResult ALLOW = new ConditionResult(true, true);
+    private static final ConditionResult DENY = new ConditionResult(false, true);
+    
     private final boolean allowed;
     private final String denyMessage;
     private final Sound denySound;
@@ -22,6 +35,7 @@ public class ConditionResult {
     private final List<String> acceptCommands;
     private final boolean acceptCancelEvent;
     private final boolean isDefault;
+    private final ResultAction[] actions;
     
     /**
      * Create a new condition result with separate accept/deny actions.
@@ -38,16 +52,38 @@ public class ConditionResult {
      */
     public ConditionResult(boolean allowed, String denyMessage, Sound denySound, List<String> denyCommands, boolean denyCancelEvent,
                           String acceptMessage, Sound acceptSound, List<String> acceptCommands, boolean acceptCancelEvent) {
+        this(allowed, toMessageConfig(denyMessage), denySound, denyCommands, denyCancelEvent,
+             toMessageConfig(acceptMessage), acceptSound, acceptCommands, acceptCancelEvent);
+    }
+    
+    /**
+     * Create a new condition result with display-typed messages (chat, action bar, boss bar).
+     * 
+     * @param allowed Whether the action is allowed
+     * @param denyMessage Message to display when denied (null for none)
+     * @param denySound Sound to play when denied (null for none)
+     * @param denyCommands Commands to execute when denied (null for none)
+     * @param denyCancelEvent Whether to cancel the event when denied
+     * @param acceptMessage Message to display when accepted (null for none)
+     * @param acceptSound Sound to play when accepted (null for none)
+     * @param acceptCommands Commands to execute when accepted (null for none)
+     * @param acceptCancelEvent Whether to cancel the event when accepted
+     */
+    public ConditionResult(boolean allowed, MessageConfig denyMessage, Sound denySound, List<String> denyCommands, boolean denyCancelEvent,
+                          MessageConfig acceptMessage, Sound acceptSound, List<String> acceptCommands, boolean acceptCancelEvent) {
         this.allowed = allowed;
-        this.denyMessage = denyMessage;
+        this.denyMessage = denyMessage != null ? denyMessage.getText() : null;
         this.denySound = denySound;
         this.denyCommands = denyCommands;
         this.denyCancelEvent = denyCancelEvent;
-        this.acceptMessage = acceptMessage;
+        this.acceptMessage = acceptMessage != null ? acceptMessage.getText() : null;
         this.acceptSound = acceptSound;
         this.acceptCommands = acceptCommands;
         this.acceptCancelEvent = acceptCancelEvent;
         this.isDefault = false;
+        this.actions = allowed
+                ? compileActions(acceptMessage, acceptSound, acceptCommands)
+                : compileActions(denyMessage, denySound, denyCommands);
     }
     
     /**
@@ -68,6 +104,10 @@ public class ConditionResult {
     public ConditionResult(ConfigurationSection config, boolean isAccept) {
         this.allowed = isAccept;
         
+        MessageConfig message = toMessageConfig(config.getString("message"));
+        Sound sound = parseSound(config.getString("sound"));
+        List<String> commands = config.getStringList("commands");
+        
         if (isAccept) {
             this.denyMessage = null;
             this.denySound = null;
@@ -75,13 +115,13 @@ public class ConditionResult {
             this.denyCancelEvent = false;
             
             this.acceptMessage = config.getString("message");
-            this.acceptSound = parseSound(config.getString("sound"));
-            this.acceptCommands = config.getStringList("commands");
+            this.acceptSound = sound;
+            this.acceptCommands = commands;
             this.acceptCancelEvent = config.getBoolean("cancel-event", false);
         } else {
             this.denyMessage = config.getString("message");
-            this.denySound = parseSound(config.getString("sound"));
-            this.denyCommands = config.getStringList("commands");
+            this.denySound = sound;
+            this.denyCommands = commands;
             this.denyCancelEvent = config.getBoolean("cancel-event", false);
             
             this.acceptMessage = null;
@@ -91,6 +131,7 @@ public class ConditionResult {
         }
         
         this.isDefault = false;
+        this.actions = compileActions(message, sound, commands);
     }
     
     /**
@@ -135,7 +176,7 @@ public class ConditionResult {
      * @param soundString The sound string
      * @return The Sound or null if invalid
      */
-    private Sound parseSound(String soundString) {
+    private static Sound parseSound(String soundString) {
         if (soundString == null || soundString.isEmpty()) {
             return null;
         }
@@ -160,15 +201,38 @@ public class ConditionResult {
         this.acceptCommands = null;
         this.acceptCancelEvent = false;
         this.isDefault = isDefault;
+        this.actions = NO_ACTIONS;
     }
 
     /**
-     * Create an allowed result with no actions.
+     * Create a result for one side of a condition, reusing the shared plain result
+     * when nothing is configured.
+     * 
+     * @param allowed Whether this is the accept (true) or deny (false) result
+     * @param message The message (null for none)
+     * @param sound The sound (null for none)
+     * @param commands The commands (null for none)
+     * @param cancelEvent Whether to cancel the event
+     * @return The result
+     */
+    public static ConditionResult of(boolean allowed, MessageConfig message, Sound sound, List<String> commands, boolean cancelEvent) {
+        boolean hasMessage = message != null && message.hasContent();
+        boolean hasCommands = commands != null && !commands.isEmpty();
+        if (!hasMessage && sound == null && !hasCommands && !cancelEvent) {
+            return allowed ? ALLOW : DENY;
+        }
+        return allowed
+                ? new ConditionResult(true, null, null, null, false, message, sound, commands, cancelEvent)
+                : new ConditionResult(false, message, sound, commands, cancelEvent, null, null, null, false);
+    }
+
+    /**
+     * Get the shared allowed result with no actions.
      * 
      * @return Allowed result
      */
     public static ConditionResult allow() {
-        return new ConditionResult(true, true);
+        return ALLOW;
     }
     
     /**
@@ -184,12 +248,12 @@ public class ConditionResult {
     }
     
     /**
-     * Create a denied result with no actions.
+     * Get the shared denied result with no actions.
      * 
      * @return Denied result
      */
     public static ConditionResult deny() {
-        return new ConditionResult(false, true);
+        return DENY;
     }
     
     /**
@@ -297,6 +361,15 @@ public class ConditionResult {
         return acceptCommands;
     }
     
+    /**
+     * Check if executing this result does anything (message, sound or commands).
+     * 
+     * @return true if the result has actions
+     */
+    public boolean hasActions() {
+        return actions.length > 0;
+    }
+    
     /**
      * Check if the event should be cancelled.
      * 
@@ -330,40 +403,84 @@ public class ConditionResult {
      * @param player The player
      */
     public void execute(Player player) {
-        String message;
-        Sound sound;
-        List<String> commands;
-        
-        if (allowed) {
-            message = acceptMessage;
-            sound = acceptSound;
-            commands = acceptCommands;
-        } else {
-            message = denyMessage;
-            sound = denySound;
-            commands = denyCommands;
+        for (ResultAction action : actions) {
+            action.run(player);
         }
+    }
+    
+    private static MessageConfig toMessageConfig(String message) {
+        return message != null ? new MessageConfig(message) : null;
+    }
+    
+    /**
+     * Compile the message, sound and commands of one side into actions.
+     */
+    private static ResultAction[] compileActions(MessageConfig message, Sound sound, List<String> commands) {
+        List<ResultAction> compiled = new ArrayList<>(3);
         
-        if (message != null && !message.isEmpty()) {
-            MessageUtils.sendMessage(player, message);
+        if (message != null && message.hasContent()) {
+            compiled.add(compileMessage(message));
         }
         
         if (sound != null) {
-            player.playSound(player.getLocation(), sound, 1.0f, 1.0f);
+            compiled.add(player -> player.playSound(player.getLocation(), sound, 1.0f, 1.0f));
         }
         
         if (commands != null && !commands.isEmpty()) {
-            for (String command : commands) {
-                // Replace placeholders in command
-                String processedCommand = command.replace("{player}", player.getName());
-                
-                // Execute as console command
-                player.getServer().dispatchCommand(
-                    player.getServer().getConsoleSender(),
-                    processedCommand
-                );
-            }
+            String[] commandArray = commands.toArray(new String[0]);
+            compiled.add(player -> {
+                for (String command : commandArray) {
+                    // Replace placeholders in command
+                    String processedCommand = command.replace("{player}", player.getName());
+                    
+                    // Execute as console command
+                    player.getServer().dispatchCommand(
+                        player.getServer().getConsoleSender(),
+                        processedCommand
+                    );
+                }
+            });
         }
+        
+        return compiled.isEmpty() ? NO_ACTIONS : compiled.toArray(new ResultAction[0]);
+    }
+    
+    private static ResultAction compileMessage(MessageConfig messageConfig) {
+        String text = messageConfig.getText();
+        int duration = messageConfig.getDuration();
+        
+        return switch (messageConfig.getType()) {
+            case CHAT -> player -> MessageUtils.sendMessage(player, text);
+            case ACTIONBAR -> player -> {
+                MessageUtils.sendActionBar(player, text);
+                // Schedule clear after duration
+                if (duration > 0) {
+                    UniverseJobs.getInstance().getFoliaManager().runAtEntityLater(player, () -> {
+                        if (player.isOnline()) {
+                            MessageUtils.sendActionBar(player, "");
+                        }
+                    }, duration);
+                }
+            };
+            case BOSSBAR -> player -> {
+                BossBar bossBar = Bukkit.createBossBar(
+                    MessageUtils.colorize(text),
+                    messageConfig.getBossbarColor(),
+                    messageConfig.getBossbarStyle()
+                );
+                bossBar.setProgress(1.0);
+                bossBar.addPlayer(player);
+                
+                // Remove after duration
+                if (duration > 0) {
+                    UniverseJobs.getInstance().getFoliaManager().runAtEntityLater(player, () -> {
+                        if (player.isOnline()) {
+                            bossBar.removePlayer(player);
+                        }
+                    }, duration);
+                }
+            };
+        };
     }
     
     @Override
@@ -378,4 +495,12 @@ public class ConditionResult {
                ", acceptCommandCount=" + (acceptCommands != null ? acceptCommands.size() : 0) + 
                ", acceptCancelEvent=" + acceptCancelEvent + "}";
     }
-}
\ No newline at end of file
+    
+    /**
+     * A compiled side effect of a result.
+     */
+    @FunctionalInterface
+    private interface ResultAction {
+        void run(Player player);
+    }
+}
@@ -26,7 +26,7 @@ public enum ConditionType {
     WORLD,
     
     /**
-     * Region condition (WorldGuard integration)
+     * Region condition (plugin-defined regions)
      */
     REGION,
     
@@ -50,6 +50,7 @@ public class MultipleConditionWrapper implements Condition {
             case PERMISSION -> new PermissionCondition(config);
             case ITEM -> new ItemCondition(config);
             case WORLD -> new WorldCondition(config);
+            case REGION -> new RegionCondition(config);
             case TIME -> new TimeCondition(config);
             case WEATHER -> new WeatherCondition(config);
             case BIOME -> new BiomeCondition(config);
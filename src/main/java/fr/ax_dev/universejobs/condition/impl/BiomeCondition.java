@@ -1,6 +1,8 @@
 package fr.ax_dev.universejobs.condition.impl;
 
+import fr.ax_dev.universejobs.UniverseJobs;
 import fr.ax_dev.universejobs.condition.*;
+import org.bukkit.Location;
 import org.bukkit.NamespacedKey;
 import org.bukkit.Registry;
 import org.bukkit.block.Biome;
@@ -50,7 +52,9 @@ public class BiomeCondition extends AbstractCondition {
     
     @Override
     public boolean isMet(Player player, Event event, ConditionContext context) {
-        Biome playerBiome = player.getLocation().getBlock().getBiome();
+        Location location = player.getLocation();
+        Biome playerBiome = UniverseJobs.getInstance().getEnvironmentCache()
+                .getBiome(location.getWorld(), location.getBlockX(), location.getBlockY(), location.getBlockZ());
         boolean inList = allowedBiomes.contains(playerBiome);
         
         return blacklist ? !inList : inList;
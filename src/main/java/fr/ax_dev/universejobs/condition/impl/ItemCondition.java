@@ -1,23 +1,30 @@
 package fr.ax_dev.universejobs.condition.impl;
 
+import fr.ax_dev.universejobs.UniverseJobs;
+import fr.ax_dev.universejobs.cache.HeldItemCache;
+import fr.ax_dev.universejobs.cache.HeldItemInfo;
 import fr.ax_dev.universejobs.condition.*;
 import org.bukkit.Material;
 import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.entity.Player;
 import org.bukkit.event.Event;
-import org.bukkit.inventory.ItemStack;
 
-import de.tr7zw.changeme.nbtapi.NBTItem;
+import java.util.EnumSet;
+import java.util.HashSet;
 import java.util.List;
-import java.util.ArrayList;
+import java.util.Set;
 
 /**
  * Condition that checks the item in the player's hand.
  * Supports material, NBT, custom model data, and MMOItems integration.
+ * Nexo and ItemsAdder items are matched with namespaced materials ({@code nexo:id}, {@code itemsadder:id}).
+ * Item attributes are read through the shared {@link HeldItemCache}.
  */
 public class ItemCondition extends AbstractCondition {
     
-    private final List<String> materials;
+    private final Set<Material> materials;
+    private final Set<String> customItemIds;
+    private final boolean filterMaterials;
     private final String nbtKey;
     private final String nbtValue;
     private final Integer customModelData;
@@ -33,12 +40,23 @@ public class ItemCondition extends AbstractCondition {
         super(config);
         
         // Handle both single material and material list
-        this.materials = new ArrayList<>();
-        if (config.isList("material")) {
-            this.materials.addAll(config.getStringList("material"));
-        } else if (config.getString("material") != null) {
-            this.materials.add(config.getString("material"));
+        List<String> materialNames = config.isList("material") ? config.getStringList("material")
+                : config.getString("material") != null ? List.of(config.getString("material")) : List.of();
+        this.materials = EnumSet.noneOf(Material.class);
+        this.customItemIds = new HashSet<>();
+        for (String materialName : materialNames) {
+            if (materialName.indexOf(':') > 0) {
+                customItemIds.add(materialName.toLowerCase());
+                continue;
+            }
+            try {
+                materials.add(Material.valueOf(materialName.toUpperCase()));
+            } catch (IllegalArgumentException e) {
+                // Invalid material name, ignored
+            }
         }
+        // A list of only invalid names still rejects every item
+        this.filterMaterials = !materialNames.isEmpty();
         
         this.nbtKey = config.getString("nbt.key");
         this.nbtValue = config.getString("nbt.value");
@@ -46,95 +64,52 @@ public class ItemCondition extends AbstractCondition {
                               config.getInt("custom-model-data") : null;
         this.mmoItemsType = config.getString("mmoitems.type");
         this.mmoItemsId = config.getString("mmoitems.id");
+        
+        // Only read the attributes some condition actually checks
+        HeldItemCache cache = UniverseJobs.getInstance().getHeldItemCache();
+        if (nbtKey != null && nbtValue != null) {
+            cache.trackNbtKey(nbtKey);
+        }
+        if (mmoItemsType != null && mmoItemsId != null) {
+            cache.trackMmoItems();
+        }
+        if (!customItemIds.isEmpty()) {
+            cache.trackCustomItemIds();
+        }
     }
     
     @Override
     public boolean isMet(Player player, Event event, ConditionContext context) {
-        ItemStack item = player.getInventory().getItemInMainHand();
-        if (item == null || item.getType() == Material.AIR) {
+        HeldItemInfo item = UniverseJobs.getInstance().getHeldItemCache().get(player);
+        if (item.isEmpty()) {
             return false;
         }
         
         // Check materials (OR logic - item must match at least one material)
-        if (!materials.isEmpty()) {
-            boolean materialMatched = false;
-            for (String materialName : materials) {
-                try {
-                    Material requiredMaterial = Material.valueOf(materialName.toUpperCase());
-                    if (item.getType() == requiredMaterial) {
-                        materialMatched = true;
-                        break;
-                    }
-                } catch (IllegalArgumentException e) {
-                    // Invalid material name, continue checking others
-                    continue;
-                }
-            }
-            if (!materialMatched) {
-                return false;
-            }
+        if (filterMaterials && !materials.contains(item.getMaterial())
+                && (item.getCustomItemId() == null || !customItemIds.contains(item.getCustomItemId()))) {
+            return false;
         }
         
         // Check custom model data
-        if (customModelData != null) {
-            if (!item.hasItemMeta() || !item.getItemMeta().hasCustomModelData() ||
-                item.getItemMeta().getCustomModelData() != customModelData) {
-                return false;
-            }
+        if (customModelData != null && !customModelData.equals(item.getCustomModelData())) {
+            return false;
         }
         
         // Check NBT data
-        if (nbtKey != null && nbtValue != null) {
-            try {
-                de.tr7zw.changeme.nbtapi.NBTItem nbtItem = new NBTItem(item);
-                if (!nbtItem.hasKey(nbtKey)) {
-                    return false;
-                }
-                
-                String itemNbtValue = nbtItem.getString(nbtKey);
-                if (!nbtValue.equals(itemNbtValue)) {
-                    return false;
-                }
-            } catch (Exception e) {
-                // NBT-API not available or error occurred
-                return false;
-            }
+        if (nbtKey != null && nbtValue != null && !nbtValue.equals(item.getNbtValue(nbtKey))) {
+            return false;
         }
         
         // Check MMOItems data
-        if (mmoItemsType != null && mmoItemsId != null) {
-            if (!checkMMOItemsData(item)) {
-                return false;
-            }
+        if (mmoItemsType != null && mmoItemsId != null
+                && (!mmoItemsType.equals(item.getMmoItemsType()) || !mmoItemsId.equals(item.getMmoItemsId()))) {
+            return false;
         }
         
         return true;
     }
     
-    /**
-     * Check MMOItems data using NBT.
-     * 
-     * @param item The item to check
-     * @return true if it matches
-     */
-    private boolean checkMMOItemsData(ItemStack item) {
-        try {
-            NBTItem nbtItem = new NBTItem(item);
-            
-            // Check if item has MMOItems NBT
-            if (!nbtItem.hasKey("MMOITEMS_ITEM_TYPE") || !nbtItem.hasKey("MMOITEMS_ITEM_ID")) {
-                return false;
-            }
-            
-            String itemType = nbtItem.getString("MMOITEMS_ITEM_TYPE");
-            String itemId = nbtItem.getString("MMOITEMS_ITEM_ID");
-            
-            return mmoItemsType.equals(itemType) && mmoItemsId.equals(itemId);
-        } catch (Exception e) {
-            return false;
-        }
-    }
-    
     @Override
     public ConditionType getType() {
         return ConditionType.ITEM;
@@ -142,7 +117,7 @@ public class ItemCondition extends AbstractCondition {
     
     @Override
     public String toString() {
-        return "ItemCondition{materials=" + materials + ", hasNBT=" + (nbtKey != null) + 
+        return "ItemCondition{materials=" + materials + ", customItems=" + customItemIds + ", hasNBT=" + (nbtKey != null) + 
                ", hasMMOItems=" + (mmoItemsType != null) + 
                "}";
     }
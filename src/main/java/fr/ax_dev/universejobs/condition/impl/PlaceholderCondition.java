@@ -1,20 +1,66 @@
 package fr.ax_dev.universejobs.condition.impl;
 
+import fr.ax_dev.universejobs.UniverseJobs;
 import fr.ax_dev.universejobs.condition.*;
-import me.clip.placeholderapi.PlaceholderAPI;
-import org.bukkit.Bukkit;
 import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.entity.Player;
 import org.bukkit.event.Event;
 
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
 /**
  * Condition that checks PlaceholderAPI placeholders against values.
+ * The operator, regex and numeric operand are parsed once when the condition is loaded.
  */
 public class PlaceholderCondition extends AbstractCondition {
     
+    /**
+     * Comparison operators, with their config aliases.
+     */
+    public enum Operator {
+        EQUALS("equals", "="),
+        NOT_EQUALS("not_equals", "!="),
+        CONTAINS("contains"),
+        NOT_CONTAINS("not_contains"),
+        STARTS_WITH("starts_with"),
+        ENDS_WITH("ends_with"),
+        GREATER_THAN("greater_than", ">"),
+        LESS_THAN("less_than", "<"),
+        GREATER_EQUAL("greater_equal", ">="),
+        LESS_EQUAL("less_equal", "<="),
+        REGEX("regex");
+        
+        private final String[] aliases;
+        
+        Operator(String... aliases) {
+            this.aliases = aliases;
+        }
+        
+        /**
+         * Get an operator from its config name, case-insensitive.
+         * 
+         * @param name The operator name or symbol
+         * @return The operator or null if unknown
+         */
+        public static Operator fromString(String name) {
+            for (Operator operator : values()) {
+                for (String alias : operator.aliases) {
+                    if (alias.equalsIgnoreCase(name)) {
+                        return operator;
+                    }
+                }
+            }
+            return null;
+        }
+    }
+    
     private final String placeholder;
-    private final String operator;
+    private final Operator operator;
     private final String value;
+    private final Pattern pattern;
+    private final boolean numericValue;
+    private final double number;
     
     /**
      * Create a placeholder condition from configuration.
@@ -24,53 +70,104 @@ public class PlaceholderCondition extends AbstractCondition {
     public PlaceholderCondition(ConfigurationSection config) {
         super(config);
         this.placeholder = config.getString("placeholder", "");
-        this.operator = config.getString("operator", "equals");
         this.value = config.getString("value", "");
+        
+        String operatorName = config.getString("operator", "equals");
+        this.operator = Operator.fromString(operatorName);
+        if (operator == null) {
+            UniverseJobs.getInstance().getLogger().warning("Unknown placeholder condition operator '" + operatorName
+                + "' for " + placeholder + ", the condition will never be met");
+        }
+        
+        Pattern compiledPattern = null;
+        if (operator == Operator.REGEX) {
+            try {
+                compiledPattern = Pattern.compile(value);
+            } catch (PatternSyntaxException e) {
+                UniverseJobs.getInstance().getLogger().warning("Invalid regex '" + value
+                    + "' in placeholder condition for " + placeholder + ": " + e.getDescription());
+            }
+        }
+        this.pattern = compiledPattern;
+        
+        double parsedNumber = 0;
+        boolean parsed = false;
+        try {
+            parsedNumber = Double.parseDouble(value);
+            parsed = true;
+        } catch (NumberFormatException e) {
+            // Compared as text
+        }
+        this.number = parsedNumber;
+        this.numericValue = parsed;
     }
     
     @Override
     public boolean isMet(Player player, Event event, ConditionContext context) {
-        // Check if PlaceholderAPI is available
-        if (!Bukkit.getPluginManager().isPluginEnabled("PlaceholderAPI")) {
+        if (operator == null) {
             return false;
         }
         
-        // Parse placeholder
-        String parsedValue = PlaceholderAPI.setPlaceholders(player, placeholder);
+        // Resolve through the shared cache; null when PlaceholderAPI is not available
+        String parsedValue = UniverseJobs.getInstance().getPlaceholderValueCache().resolve(player, placeholder);
         
-        // Compare based on operator
-        return switch (operator.toLowerCase()) {
-            case "equals", "=" -> parsedValue.equals(value);
-            case "not_equals", "!=" -> !parsedValue.equals(value);
-            case "contains" -> parsedValue.toLowerCase().contains(value.toLowerCase());
-            case "not_contains" -> !parsedValue.toLowerCase().contains(value.toLowerCase());
-            case "starts_with" -> parsedValue.toLowerCase().startsWith(value.toLowerCase());
-            case "ends_with" -> parsedValue.toLowerCase().endsWith(value.toLowerCase());
-            case "greater_than", ">" -> compareNumeric(parsedValue, value) > 0;
-            case "less_than", "<" -> compareNumeric(parsedValue, value) < 0;
-            case "greater_equal", ">=" -> compareNumeric(parsedValue, value) >= 0;
-            case "less_equal", "<=" -> compareNumeric(parsedValue, value) <= 0;
-            case "regex" -> parsedValue.matches(value);
-            default -> false;
+        return parsedValue != null && matches(parsedValue);
+    }
+    
+    /**
+     * Compare a resolved placeholder value against the configured value.
+     * 
+     * @param parsedValue The resolved placeholder
+     * @return true if the comparison holds
+     */
+    private boolean matches(String parsedValue) {
+        return switch (operator) {
+            case EQUALS -> parsedValue.equals(value);
+            case NOT_EQUALS -> !parsedValue.equals(value);
+            case CONTAINS -> containsIgnoreCase(parsedValue, value);
+            case NOT_CONTAINS -> !containsIgnoreCase(parsedValue, value);
+            case STARTS_WITH -> parsedValue.regionMatches(true, 0, value, 0, value.length());
+            case ENDS_WITH -> parsedValue.regionMatches(true, parsedValue.length() - value.length(), value, 0, value.length());
+            case GREATER_THAN -> compareNumeric(parsedValue) > 0;
+            case LESS_THAN -> compareNumeric(parsedValue) < 0;
+            case GREATER_EQUAL -> compareNumeric(parsedValue) >= 0;
+            case LESS_EQUAL -> compareNumeric(parsedValue) <= 0;
+            case REGEX -> pattern != null && pattern.matcher(parsedValue).matches();
         };
     }
     
     /**
-     * Compare two values numerically.
+     * Compare a resolved value with the configured value, numerically when both are numbers.
      * 
-     * @param value1 First value
-     * @param value2 Second value
+     * @param parsedValue The resolved placeholder
      * @return Comparison result (-1, 0, 1)
      */
-    private int compareNumeric(String value1, String value2) {
-        try {
-            double num1 = Double.parseDouble(value1);
-            double num2 = Double.parseDouble(value2);
-            return Double.compare(num1, num2);
-        } catch (NumberFormatException e) {
-            // Fall back to string comparison
-            return value1.compareTo(value2);
+    private int compareNumeric(String parsedValue) {
+        if (numericValue) {
+            try {
+                return Double.compare(Double.parseDouble(parsedValue), number);
+            } catch (NumberFormatException e) {
+                // Fall back to string comparison
+            }
+        }
+        return parsedValue.compareTo(value);
+    }
+    
+    /**
+     * Case-insensitive substring check without lower-casing copies.
+     * 
+     * @param text The text to search in
+     * @param search The text to search for
+     * @return true if found
+     */
+    private static boolean containsIgnoreCase(String text, String search) {
+        int length = search.length();
+        for (int i = text.length() - length; i >= 0; i--) {
+            if (text.regionMatches(true, i, search, 0, length)) {
+                return true;
+            }
         }
+        return false;
     }
     
     @Override
@@ -0,0 +1,60 @@
+package fr.ax_dev.universejobs.condition.impl;
+
+import fr.ax_dev.universejobs.UniverseJobs;
+import fr.ax_dev.universejobs.condition.*;
+import fr.ax_dev.universejobs.region.RegionManager;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.entity.Player;
+import org.bukkit.event.Event;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Condition that checks if the player is inside one of the plugin-defined regions
+ * (see the {@code regions/} folder).
+ */
+public class RegionCondition extends AbstractCondition {
+    
+    private final Set<String> regions;
+    private final boolean blacklist;
+    
+    /**
+     * Create a region condition from configuration.
+     * 
+     * @param config The configuration section
+     */
+    public RegionCondition(ConfigurationSection config) {
+        super(config);
+        this.regions = new HashSet<>();
+        for (String region : config.getStringList("regions")) {
+            regions.add(region.toLowerCase());
+        }
+        this.blacklist = config.getBoolean("blacklist", false);
+        
+        RegionManager regionManager = UniverseJobs.getInstance().getRegionManager();
+        for (String region : regions) {
+            if (!regionManager.hasRegion(region)) {
+                UniverseJobs.getInstance().getLogger().warning("Region requirement references unknown region: " + region);
+            }
+        }
+    }
+    
+    @Override
+    public boolean isMet(Player player, Event event, ConditionContext context) {
+        boolean inList = !regions.isEmpty()
+                && UniverseJobs.getInstance().getRegionManager().isInAny(player.getLocation(), regions);
+        
+        return blacklist ? !inList : inList;
+    }
+    
+    @Override
+    public ConditionType getType() {
+        return ConditionType.REGION;
+    }
+    
+    @Override
+    public String toString() {
+        return "RegionCondition{regions=" + regions.size() + ", blacklist=" + blacklist + "}";
+    }
+}
@@ -1,5 +1,6 @@
 package fr.ax_dev.universejobs.condition.impl;
 
+import fr.ax_dev.universejobs.UniverseJobs;
 import fr.ax_dev.universejobs.condition.*;
 import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.entity.Player;
@@ -26,7 +27,7 @@ public class TimeCondition extends AbstractCondition {
     
     @Override
     public boolean isMet(Player player, Event event, ConditionContext context) {
-        long worldTime = player.getWorld().getTime();
+        long worldTime = UniverseJobs.getInstance().getEnvironmentCache().getTime(player.getWorld());
         
         if (minTime <= maxTime) {
             // Normal range (e.g., 6000 to 18000)
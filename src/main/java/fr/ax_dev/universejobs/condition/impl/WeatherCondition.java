@@ -1,5 +1,7 @@
 package fr.ax_dev.universejobs.condition.impl;
 
+import fr.ax_dev.universejobs.UniverseJobs;
+import fr.ax_dev.universejobs.cache.EnvironmentCache;
 import fr.ax_dev.universejobs.condition.*;
 import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.entity.Player;
@@ -14,7 +16,7 @@ public class WeatherCondition extends AbstractCondition {
         CLEAR, RAIN, THUNDER
     }
     
-    private final WeatherType requiredWeather;
+    private final EnvironmentCache.Weather cachedWeather;
     
     /**
      * Create a weather condition from configuration.
@@ -30,29 +32,12 @@ public class WeatherCondition extends AbstractCondition {
         } catch (IllegalArgumentException e) {
             tempWeather = WeatherType.CLEAR;
         }
-        this.requiredWeather = tempWeather;
+        this.cachedWeather = EnvironmentCache.Weather.valueOf(tempWeather.name());
     }
     
     @Override
     public boolean isMet(Player player, Event event, ConditionContext context) {
-        WeatherType currentWeather = getCurrentWeather(player);
-        return currentWeather == requiredWeather;
-    }
-    
-    /**
-     * Get the current weather type for the player's world.
-     * 
-     * @param player The player
-     * @return The current weather type
-     */
-    private WeatherType getCurrentWeather(Player player) {
-        if (player.getWorld().isThundering()) {
-            return WeatherType.THUNDER;
-        } else if (player.getWorld().hasStorm()) {
-            return WeatherType.RAIN;
-        } else {
-            return WeatherType.CLEAR;
-        }
+        return UniverseJobs.getInstance().getEnvironmentCache().getWeather(player.getWorld()) == cachedWeather;
     }
     
     @Override
@@ -63,6 +48,6 @@ public class WeatherCondition extends AbstractCondition {
     
     @Override
     public String toString() {
-        return "WeatherCondition{requiredWeather=" + requiredWeather + "}";
+        return "WeatherCondition{requiredWeather=" + cachedWeather + "}";
     }
 }
\ No newline at end of file
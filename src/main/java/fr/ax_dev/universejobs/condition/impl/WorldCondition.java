@@ -1,19 +1,24 @@
 package fr.ax_dev.universejobs.condition.impl;
 
 import fr.ax_dev.universejobs.condition.*;
+import org.bukkit.World;
 import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.entity.Player;
 import org.bukkit.event.Event;
 
-import java.util.List;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
 
 /**
  * Condition that checks the world the player is in.
  */
 public class WorldCondition extends AbstractCondition {
     
-    private final List<String> allowedWorlds;
+    private final Set<String> allowedWorlds;
     private final boolean blacklist;
+    // Answer for the last world seen, by UUID so unloaded worlds are not retained
+    private volatile WorldAnswer lastAnswer;
     
     /**
      * Create a world condition from configuration.
@@ -22,16 +27,23 @@ public class WorldCondition extends AbstractCondition {
      */
     public WorldCondition(ConfigurationSection config) {
         super(config);
-        this.allowedWorlds = config.getStringList("worlds");
+        this.allowedWorlds = new HashSet<>(config.getStringList("worlds"));
         this.blacklist = config.getBoolean("blacklist", false);
     }
     
     @Override
     public boolean isMet(Player player, Event event, ConditionContext context) {
-        String playerWorld = player.getWorld().getName();
-        boolean inList = allowedWorlds.contains(playerWorld);
+        World world = player.getWorld();
+        UUID worldId = world.getUID();
+        WorldAnswer answer = lastAnswer;
+        if (answer != null && answer.worldId().equals(worldId)) {
+            return answer.met();
+        }
         
-        return blacklist ? !inList : inList;
+        boolean inList = allowedWorlds.contains(world.getName());
+        boolean met = blacklist ? !inList : inList;
+        lastAnswer = new WorldAnswer(worldId, met);
+        return met;
     }
     
     @Override
@@ -44,4 +56,7 @@ public class WorldCondition extends AbstractCondition {
     public String toString() {
         return "WorldCondition{worlds=" + allowedWorlds.size() + ", blacklist=" + blacklist + "}";
     }
+    
+    private record WorldAnswer(UUID worldId, boolean met) {
+    }
 }
\ No newline at end of file
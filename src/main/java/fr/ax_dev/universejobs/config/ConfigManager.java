@@ -181,4 +181,113 @@ public class ConfigManager {
     public int getSaveInterval() {
         return plugin.getConfig().getInt("settings.save-interval", 300);
     }
-}
\ No newline at end of file
+    
+    /**
+     * Get the leaderboard snapshot refresh interval in seconds.
+     * 
+     * @return The refresh interval
+     */
+    public int getLeaderboardRefreshInterval() {
+        return plugin.getConfig().getInt("leaderboard.refresh-interval", 30);
+    }
+    
+    /**
+     * Get how many entries of each leaderboard are loaded from the database.
+     * 
+     * @return The number of top entries per board
+     */
+    public int getLeaderboardDatabaseTopSize() {
+        return plugin.getConfig().getInt("leaderboard.database-top-size", 1000);
+    }
+    
+    /**
+     * Get how long database rank lookups are cached, in seconds.
+     * 
+     * @return The rank cache duration
+     */
+    public int getLeaderboardRankCacheSeconds() {
+        return plugin.getConfig().getInt("leaderboard.rank-cache-seconds", 10);
+    }
+    
+    /**
+     * Check if requirement conditions may be evaluated cheapest-first.
+     * 
+     * @return true if adaptive ordering is enabled
+     */
+    public boolean isAdaptiveConditionOrderingEnabled() {
+        return plugin.getConfig().getBoolean("conditions.adaptive-ordering.enabled", true);
+    }
+    
+    /**
+     * Get how often requirement evaluations are timed (one out of N).
+     * 
+     * @return The sample interval
+     */
+    public int getConditionSampleInterval() {
+        return plugin.getConfig().getInt("conditions.adaptive-ordering.sample-interval", 16);
+    }
+    
+    /**
+     * Get how many evaluations of a group pass between two reorderings.
+     * 
+     * @return The reorder interval
+     */
+    public int getConditionReorderInterval() {
+        return plugin.getConfig().getInt("conditions.adaptive-ordering.reorder-interval", 2048);
+    }
+    
+    /**
+     * Check if action rewards are computed off the event thread.
+     * 
+     * @return true if the reward pipeline is enabled
+     */
+    public boolean isAsyncRewardsEnabled() {
+        return plugin.getConfig().getBoolean("actions.async-rewards.enabled", true);
+    }
+    
+    /**
+     * Get the number of reward pipeline worker threads.
+     * 
+     * @return The number of worker threads
+     */
+    public int getRewardWorkerThreads() {
+        return plugin.getConfig().getInt("actions.async-rewards.threads", 2);
+    }
+    
+    /**
+     * Check if per-stage action timings are collected at startup.
+     * Can be toggled at runtime with /jobs admin debug perf on|off.
+     * 
+     * @return true if action metrics are enabled
+     */
+    public boolean isActionMetricsEnabled() {
+        return plugin.getConfig().getBoolean("actions.metrics.enabled", false);
+    }
+    
+    /**
+     * Get the ticks between two flushes of the custom action queue.
+     * 
+     * @return The flush interval in ticks
+     */
+    public int getCustomActionFlushInterval() {
+        return plugin.getConfig().getInt("actions.custom.flush-interval", 10);
+    }
+    
+    /**
+     * Get the maximum number of pending custom action submissions.
+     * 
+     * @return The queue capacity
+     */
+    public int getCustomActionMaxQueued() {
+        return plugin.getConfig().getInt("actions.custom.max-queued", 10000);
+    }
+    
+    /**
+     * Get the maximum number of custom action submissions drained per flush.
+     * 
+     * @return The maximum per flush
+     */
+    public int getCustomActionMaxPerFlush() {
+        return plugin.getConfig().getInt("actions.custom.max-per-flush", 2000);
+    }
+}
@@ -93,17 +93,17 @@ public class MythicMobsHandler implements Listener {
                 MythicMob mythicMob = activeMob.getType();
                 String internalName = mythicMob.getInternalName();
                 
-                // Populate context with MythicMob information
+                // Populate context with MythicMob information (target matching needs the type right away)
                 context.set("target", "MYTHICMOB:" + internalName);
                 context.set("mythicmob", true);
                 context.set("mythicmob_type", internalName);
-                context.set("mythicmob_display_name", mythicMob.getDisplayName().get());
                 context.set("mythicmob_level", activeMob.getLevel());
                 
-                // Add additional MythicMob properties if available
-                if (activeMob.getEntity() instanceof LivingEntity livingEntity) {
-                    context.set("mythicmob_health", livingEntity.getHealth());
-                    context.set("mythicmob_max_health", livingEntity.getMaxHealth());
+                // The rest is only computed if a condition reads it
+                context.setLazy("mythicmob_display_name", () -> mythicMob.getDisplayName().get());
+                if (entity instanceof LivingEntity livingEntity) {
+                    context.setLazy("mythicmob_health", livingEntity::getHealth);
+                    context.setLazy("mythicmob_max_health", livingEntity::getMaxHealth);
                 }
                 
                 if (plugin.getConfigManager().isDebugEnabled()) {
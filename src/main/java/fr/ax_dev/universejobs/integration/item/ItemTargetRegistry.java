@@ -0,0 +1,161 @@
+package fr.ax_dev.universejobs.integration.item;
+
+import fr.ax_dev.universejobs.UniverseJobs;
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Registry of {@link ItemTargetResolver}s turning items into action targets
+ * ({@code nexo:<id>}, {@code itemsadder:<id>}, ... or the material name for vanilla items).
+ * <p>
+ * Built-in resolvers are registered once at enable for the plugins that are present;
+ * other plugins can add theirs with {@link #register(ItemTargetResolver)}. Items without
+ * meta are resolved to their material directly; other items are cached by fingerprint
+ * (the item with an amount of one), so a stack of the same custom item is identified once.
+ */
+public class ItemTargetRegistry {
+
+    private static final int MAX_CACHED_ITEMS = 2048;
+
+    private final UniverseJobs plugin;
+    private final List<ItemTargetResolver> resolvers = new CopyOnWriteArrayList<>();
+    private final Map<ItemStack, String> targets = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Create the registry and register the resolvers of the plugins that are present.
+     *
+     * @param plugin The plugin instance
+     */
+    public ItemTargetRegistry(UniverseJobs plugin) {
+        this.plugin = plugin;
+        registerDefaults();
+    }
+
+    private void registerDefaults() {
+        // Same precedence as the former per-event detection: Nexo, ItemsAdder, CustomFishing, CustomCrops
+        if (isEnabled("Nexo")) {
+            register(new NexoItemTargetResolver());
+        }
+        if (isEnabled("ItemsAdder")) {
+            registerReflective("ItemsAdder", ReflectiveItemTargetResolver::itemsAdder);
+        }
+        if (isEnabled("CustomFishing")) {
+            registerReflective("CustomFishing", ReflectiveItemTargetResolver::customFishing);
+        }
+        if (isEnabled("CustomCrops")) {
+            registerReflective("CustomCrops", ReflectiveItemTargetResolver::customCrops);
+        }
+    }
+
+    private boolean isEnabled(String pluginName) {
+        return plugin.getServer().getPluginManager().isPluginEnabled(pluginName);
+    }
+
+    private void registerReflective(String pluginName, ResolverFactory factory) {
+        try {
+            register(factory.create());
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            plugin.getLogger().warning(pluginName + " item API not found, its items will be targeted by material: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Register a resolver. Resolvers are queried in registration order.
+     *
+     * @param resolver The resolver
+     */
+    public void register(ItemTargetResolver resolver) {
+        resolvers.add(resolver);
+        targets.clear();
+        if (plugin.getConfigManager().isDebugEnabled()) {
+            plugin.getLogger().info("Registered item target resolver: " + resolver.getPrefix());
+        }
+    }
+
+    /**
+     * Unregister a resolver.
+     *
+     * @param resolver The resolver
+     */
+    public void unregister(ItemTargetResolver resolver) {
+        if (resolvers.remove(resolver)) {
+            targets.clear();
+        }
+    }
+
+    /**
+     * Get the action target of an item.
+     *
+     * @param item The item
+     * @return The target: {@code <prefix>:<id>} for custom items, the material name otherwise
+     */
+    public String resolveTarget(ItemStack item) {
+        if (item == null || item.getType() == Material.AIR) {
+            return "AIR";
+        }
+        if (resolvers.isEmpty() || !item.hasItemMeta()) {
+            return item.getType().name();
+        }
+
+        ItemStack fingerprint = item.getAmount() == 1 ? item : item.asOne();
+        String target = targets.get(fingerprint);
+        if (target != null) {
+            hits.increment();
+            return target;
+        }
+
+        misses.increment();
+        target = resolveUncached(item);
+        if (targets.size() >= MAX_CACHED_ITEMS) {
+            targets.clear();
+        }
+        // Keep a private copy: the caller's stack may be modified later
+        targets.put(fingerprint == item ? item.clone() : fingerprint, target);
+        return target;
+    }
+
+    private String resolveUncached(ItemStack item) {
+        for (ItemTargetResolver resolver : resolvers) {
+            try {
+                String id = resolver.resolveId(item);
+                if (id != null) {
+                    return resolver.getPrefix() + ":" + id;
+                }
+            } catch (Exception e) {
+                if (plugin.getConfigManager().isDebugEnabled()) {
+                    plugin.getLogger().warning("Item target resolver " + resolver.getPrefix() + " failed: " + e.getMessage());
+                }
+            }
+        }
+        return item.getType().name();
+    }
+
+    /**
+     * Get cache statistics for the debug command.
+     *
+     * @return The statistics
+     */
+    public Map<String, Object> getStats() {
+        long h = hits.sum();
+        long total = h + misses.sum();
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("resolvers", resolvers.size());
+        stats.put("items", targets.size());
+        stats.put("hitRate", String.format("%.1f%%", total == 0 ? 0.0 : h * 100.0 / total));
+        return stats;
+    }
+
+    @FunctionalInterface
+    private interface ResolverFactory {
+        ItemTargetResolver create() throws ReflectiveOperationException;
+    }
+}
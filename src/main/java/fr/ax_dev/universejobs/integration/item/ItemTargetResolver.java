@@ -0,0 +1,28 @@
+package fr.ax_dev.universejobs.integration.item;
+
+import org.bukkit.inventory.ItemStack;
+
+/**
+ * Identifies the custom items of one plugin, so actions can target them as
+ * {@code <prefix>:<id>} (e.g. nexo:ruby_pickaxe).
+ * <p>
+ * Resolvers are registered once in the {@link ItemTargetRegistry}; results are cached
+ * per item, so implementations may call their plugin's API without extra caching.
+ */
+public interface ItemTargetResolver {
+    
+    /**
+     * Get the target prefix of this plugin's items.
+     * 
+     * @return The lower-case prefix, without the colon (e.g. "nexo")
+     */
+    String getPrefix();
+    
+    /**
+     * Get the plugin ID of an item.
+     * 
+     * @param item The item (never null, never air)
+     * @return The item ID, or null if the item does not belong to this plugin
+     */
+    String resolveId(ItemStack item);
+}
@@ -0,0 +1,30 @@
+package fr.ax_dev.universejobs.integration.item;
+
+import com.nexomc.nexo.api.NexoItems;
+import org.bukkit.NamespacedKey;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.persistence.PersistentDataType;
+
+/**
+ * Identifies Nexo items from the ID Nexo stores in their persistent data container,
+ * falling back to the Nexo API.
+ */
+public class NexoItemTargetResolver implements ItemTargetResolver {
+    
+    private static final NamespacedKey ITEM_ID_KEY = new NamespacedKey("nexo", "id");
+    
+    @Override
+    public String getPrefix() {
+        return "nexo";
+    }
+    
+    @Override
+    public String resolveId(ItemStack item) {
+        // Reading the PDC view does not copy the item meta
+        String id = item.getPersistentDataContainer().get(ITEM_ID_KEY, PersistentDataType.STRING);
+        if (id != null) {
+            return id;
+        }
+        return NexoItems.idFromItem(item);
+    }
+}
@@ -0,0 +1,97 @@
+package fr.ax_dev.universejobs.integration.item;
+
+import org.bukkit.inventory.ItemStack;
+
+import java.lang.reflect.Method;
+
+/**
+ * Identifies the items of a plugin that is not a compile dependency (ItemsAdder,
+ * CustomFishing, CustomCrops) through its API, looked up once by reflection.
+ */
+public class ReflectiveItemTargetResolver implements ItemTargetResolver {
+    
+    private final String prefix;
+    private final Object target;
+    private final Method idLookup;
+    private final Method idGetter;
+    
+    /**
+     * Create a resolver.
+     * 
+     * @param prefix The target prefix
+     * @param target The instance the lookup is invoked on (null for a static method)
+     * @param idLookup The method taking the ItemStack
+     * @param idGetter The method reading the ID from the lookup result (null if the lookup returns the ID)
+     */
+    private ReflectiveItemTargetResolver(String prefix, Object target, Method idLookup, Method idGetter) {
+        this.prefix = prefix;
+        this.target = target;
+        this.idLookup = idLookup;
+        this.idGetter = idGetter;
+    }
+    
+    /**
+     * Create the ItemsAdder resolver ({@code CustomStack.byItemStack(item).getId()}).
+     * 
+     * @return The resolver
+     * @throws ReflectiveOperationException If the API is not available
+     */
+    public static ReflectiveItemTargetResolver itemsAdder() throws ReflectiveOperationException {
+        Class<?> customStack = Class.forName("dev.lone.itemsadder.api.CustomStack");
+        return new ReflectiveItemTargetResolver("itemsadder", null,
+                customStack.getMethod("byItemStack", ItemStack.class), customStack.getMethod("getId"));
+    }
+    
+    /**
+     * Create the CustomFishing resolver ({@code getItemManager().getItemID(item)}).
+     * 
+     * @return The resolver
+     * @throws ReflectiveOperationException If the API is not available
+     */
+    public static ReflectiveItemTargetResolver customFishing() throws ReflectiveOperationException {
+        Object itemManager = itemManager("net.momirealms.customfishing.api.BukkitCustomFishingPlugin");
+        return new ReflectiveItemTargetResolver("customfishing", itemManager,
+                itemManager.getClass().getMethod("getItemID", ItemStack.class), null);
+    }
+    
+    /**
+     * Create the CustomCrops resolver ({@code getItemManager().id(item)}).
+     * 
+     * @return The resolver
+     * @throws ReflectiveOperationException If the API is not available
+     */
+    public static ReflectiveItemTargetResolver customCrops() throws ReflectiveOperationException {
+        Object itemManager = itemManager("net.momirealms.customcrops.api.BukkitCustomCropsPlugin");
+        return new ReflectiveItemTargetResolver("customcrops", itemManager,
+                itemManager.getClass().getMethod("id", ItemStack.class), null);
+    }
+    
+    private static Object itemManager(String pluginClass) throws ReflectiveOperationException {
+        Object instance = Class.forName(pluginClass).getMethod("getInstance").invoke(null);
+        return instance.getClass().getMethod("getItemManager").invoke(instance);
+    }
+    
+    @Override
+    public String getPrefix() {
+        return prefix;
+    }
+    
+    @Override
+    public String resolveId(ItemStack item) {
+        try {
+            Object result = idLookup.invoke(target, item);
+            if (result != null && idGetter != null) {
+                result = idGetter.invoke(result);
+            }
+            if (result == null) {
+                return null;
+            }
+            String id = result.toString();
+            // Item managers answer vanilla items with their material name
+            return id.isEmpty() || id.equalsIgnoreCase(item.getType().name())
+                    || id.equalsIgnoreCase(item.getType().getKey().toString()) ? null : id;
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+}
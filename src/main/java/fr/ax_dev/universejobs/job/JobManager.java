@@ -2,7 +2,10 @@ package fr.ax_dev.universejobs.job;
 
 import fr.ax_dev.universejobs.UniverseJobs;
 import fr.ax_dev.universejobs.action.ActionLimitManager;
+import fr.ax_dev.universejobs.action.ActionTargetFilter;
+import fr.ax_dev.universejobs.api.JobChangeDispatcher;
 import fr.ax_dev.universejobs.config.ConfigManager;
+import fr.ax_dev.universejobs.storage.LeaderboardRepository;
 import fr.ax_dev.universejobs.xp.XpCurve;
 import fr.ax_dev.universejobs.xp.XpCurveManager;
 import org.bukkit.configuration.file.FileConfiguration;
@@ -17,6 +20,8 @@ import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 import java.util.logging.Level;
 import java.lang.ref.WeakReference;
 
@@ -28,6 +33,7 @@ public class JobManager {
     
     private final UniverseJobs plugin;
     private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+    private volatile ActionTargetFilter targetFilter = ActionTargetFilter.empty();
     private final Map<UUID, PlayerJobData> playerData = new ConcurrentHashMap<>();
     private final File jobsFolder;
     private final File dataFolder;
@@ -38,6 +44,10 @@ public class JobManager {
     private final AtomicBoolean isShutdown = new AtomicBoolean(false);
     private final Set<WeakReference<PlayerJobData>> trackedPlayerData = ConcurrentHashMap.newKeySet();
     
+    // Serialize file access per player between joins and offline updates from the API
+    private static final int FILE_LOCK_STRIPES = 64;
+    private final Object[] fileLocks = new Object[FILE_LOCK_STRIPES];
+    
     // Memory management
     private volatile long lastCleanupTime = System.currentTimeMillis();
     private static final long CLEANUP_INTERVAL = 300000L; // 5 minutes
@@ -61,6 +71,10 @@ public class JobManager {
             dataFolder.mkdirs();
         }
         
+        for (int i = 0; i < FILE_LOCK_STRIPES; i++) {
+            fileLocks[i] = new Object();
+        }
+        
         // Initialize XP curve manager
         this.xpCurveManager = new XpCurveManager(plugin);
         
@@ -96,6 +110,7 @@ public class JobManager {
             
             if (jobFiles == null || jobFiles.length == 0) {
                 plugin.getLogger().info("UniverseJobs started with no jobs. Add .yml files to " + jobsFolder.getPath() + " to create jobs.");
+                targetFilter = ActionTargetFilter.empty();
                 return;
             }
         }
@@ -131,6 +146,7 @@ public class JobManager {
         }
         
         plugin.getLogger().info("Loaded " + jobs.size() + " jobs successfully");
+        targetFilter = ActionTargetFilter.build(jobs.values());
         
         // Clean up invalid jobs after initial load to ensure data consistency
         if (!jobs.isEmpty()) {
@@ -150,6 +166,15 @@ public class JobManager {
         return jobs.get(jobId);
     }
     
+    /**
+     * Get the filter telling listeners which materials and entities any job rewards.
+     * 
+     * @return The target filter of the loaded jobs
+     */
+    public ActionTargetFilter getTargetFilter() {
+        return targetFilter;
+    }
+    
     /**
      * Get all loaded jobs.
      * 
@@ -236,6 +261,87 @@ public class JobManager {
         }
     }
     
+    /**
+     * Get the data of a loaded player without locking or creating it.
+     * 
+     * @param playerUuid The player UUID
+     * @return The player job data, or null if not loaded
+     */
+    public PlayerJobData getLoadedPlayerData(UUID playerUuid) {
+        return playerData.get(playerUuid);
+    }
+    
+    /**
+     * Read the saved data of a player who is not loaded, without loading it.
+     * 
+     * @param playerUuid The player UUID
+     * @return The loaded data if the player is loaded, the saved data otherwise, or null if none is saved
+     */
+    public PlayerJobData readPlayerData(UUID playerUuid) {
+        PlayerJobData loaded = playerData.get(playerUuid);
+        if (loaded != null) {
+            return loaded;
+        }
+        synchronized (fileLock(playerUuid)) {
+            return readSavedPlayerData(playerUuid);
+        }
+    }
+    
+    /**
+     * Modify and save the data of a player who is not loaded.
+     * Blocks on file I/O: call from an async task.
+     * 
+     * @param playerUuid The player UUID
+     * @param update Modifies the data, returns true if it must be saved
+     * @return false if the player is loaded, in which case nothing is done and the live data must be used
+     */
+    public boolean updateOfflinePlayerData(UUID playerUuid, Predicate<PlayerJobData> update) {
+        synchronized (fileLock(playerUuid)) {
+            if (playerData.containsKey(playerUuid)) {
+                return false;
+            }
+            PlayerJobData data = readSavedPlayerData(playerUuid);
+            if (data != null && update.test(data)) {
+                savePlayerDataInternal(playerUuid, data);
+            }
+            return true;
+        }
+    }
+    
+    /**
+     * Modify the data of a loaded player under the player's file lock,
+     * so the data cannot be saved and evicted from the cache halfway through.
+     * 
+     * @param playerUuid The player UUID
+     * @param update Modifies the data
+     * @return false if the player is not loaded, in which case nothing is done and the saved data must be used
+     */
+    public boolean updateLoadedPlayerData(UUID playerUuid, Consumer<PlayerJobData> update) {
+        synchronized (fileLock(playerUuid)) {
+            PlayerJobData data = playerData.get(playerUuid);
+            if (data == null) {
+                return false;
+            }
+            update.accept(data);
+            return true;
+        }
+    }
+    
+    private PlayerJobData readSavedPlayerData(UUID playerUuid) {
+        File dataFile = new File(dataFolder, playerUuid.toString() + ".yml");
+        if (!dataFile.exists()) {
+            return null;
+        }
+        PlayerJobData data = new PlayerJobData(playerUuid);
+        data.setJobManager(this);
+        data.load(YamlConfiguration.loadConfiguration(dataFile));
+        return data;
+    }
+    
+    private Object fileLock(UUID playerUuid) {
+        return fileLocks[Math.floorMod(playerUuid.hashCode(), FILE_LOCK_STRIPES)];
+    }
+    
     /**
      * Make a player join a job.
      * 
@@ -286,9 +392,14 @@ public class JobManager {
         }
         
         PlayerJobData data = getPlayerData(playerUuid);
+        boolean joined;
         synchronized (data) {
-            return data.joinJob(jobId);
+            joined = data.joinJob(jobId);
         }
+        if (joined) {
+            recordJobChange(playerUuid, jobId, data);
+        }
+        return joined;
     }
     
     /**
@@ -309,9 +420,14 @@ public class JobManager {
         }
         
         PlayerJobData data = getPlayerData(playerUuid);
+        boolean left;
         synchronized (data) {
-            return data.leaveJob(jobId);
+            left = data.leaveJob(jobId);
+        }
+        if (left) {
+            recordJobChange(playerUuid, jobId, data);
         }
+        return left;
     }
     
     /**
@@ -382,6 +498,28 @@ public class JobManager {
         synchronized (data) {
             data.addXp(jobId, xp);
         }
+        
+        recordJobChange(player.getUniqueId(), jobId, data);
+    }
+    
+    /**
+     * Report the current state of a player's job to the API change listeners, if any.
+     * A player who no longer has the job is reported with level 0.
+     * 
+     * @param playerUuid The player UUID
+     * @param jobId The job ID
+     * @param data The player data after the change
+     */
+    public void recordJobChange(UUID playerUuid, String jobId, PlayerJobData data) {
+        JobChangeDispatcher changes = plugin.getJobChangeDispatcher();
+        if (changes == null || !changes.hasListeners() || data == null) {
+            return;
+        }
+        if (data.hasJob(jobId)) {
+            changes.record(playerUuid, jobId, data.getXp(jobId), getLevel(data, jobId));
+        } else {
+            changes.record(playerUuid, jobId, data.getXp(jobId), 0);
+        }
     }
     
     /**
@@ -404,7 +542,17 @@ public class JobManager {
      * @return The level
      */
     public int getLevel(Player player, String jobId) {
-        PlayerJobData data = getPlayerData(player);
+        return getLevel(getPlayerData(player), jobId);
+    }
+    
+    /**
+     * Get a level in a job from player data, using the job's XP curve.
+     * 
+     * @param data The player job data
+     * @param jobId The job ID
+     * @return The level
+     */
+    public int getLevel(PlayerJobData data, String jobId) {
         Job job = getJob(jobId);
         if (job != null && job.getXpCurve() != null) {
             double xp = data.getXp(jobId);
@@ -513,6 +661,19 @@ public class JobManager {
             dataLock.readLock().unlock();
         }
         
+        synchronized (fileLock(playerUuid)) {
+            // An offline update from the API may have been writing the file
+            if (!playerData.containsKey(playerUuid)) {
+                readAndStorePlayerData(playerUuid);
+            }
+        }
+    }
+    
+    /**
+     * Read a player's data file (or create new data) and store it as loaded.
+     * Must hold the player's file lock.
+     */
+    private void readAndStorePlayerData(UUID playerUuid) {
         try {
             File dataFile = new File(dataFolder, playerUuid.toString() + ".yml");
             PlayerJobData data;
@@ -894,33 +1055,39 @@ public class JobManager {
             return;
         }
         
-        dataLock.writeLock().lock();
-        try {
-            // Remove offline players from cache if we exceed the limit
-            Iterator<Map.Entry<UUID, PlayerJobData>> iterator = playerData.entrySet().iterator();
-            int removedCount = 0;
-            
-            while (iterator.hasNext() && playerData.size() > MAX_CACHED_PLAYERS) {
-                Map.Entry<UUID, PlayerJobData> entry = iterator.next();
-                Player player = plugin.getServer().getPlayer(entry.getKey());
-                
-                if (player == null || !player.isOnline()) {
-                    // Save data before removing from cache
-                    try {
-                        savePlayerDataInternal(entry.getKey(), entry.getValue());
-                        iterator.remove();
-                        removedCount++;
-                    } catch (Exception e) {
-                        plugin.getLogger().log(Level.WARNING, "Failed to save player data during cleanup for " + entry.getKey(), e);
+        // Remove offline players from cache if we exceed the limit
+        int removedCount = 0;
+        for (UUID playerUuid : new ArrayList<>(playerData.keySet())) {
+            if (playerData.size() <= MAX_CACHED_PLAYERS) {
+                break;
+            }
+            Player player = plugin.getServer().getPlayer(playerUuid);
+            if (player != null && player.isOnline()) {
+                continue;
+            }
+            // Save and remove under the file lock, so an update made through
+            // updateLoadedPlayerData cannot land between the two
+            synchronized (fileLock(playerUuid)) {
+                dataLock.writeLock().lock();
+                try {
+                    PlayerJobData data = playerData.get(playerUuid);
+                    if (data == null) {
+                        continue;
                     }
+                    // Save data before removing from cache
+                    savePlayerDataInternal(playerUuid, data);
+                    playerData.remove(playerUuid);
+                    removedCount++;
+                } catch (Exception e) {
+                    plugin.getLogger().log(Level.WARNING, "Failed to save player data during cleanup for " + playerUuid, e);
+                } finally {
+                    dataLock.writeLock().unlock();
                 }
             }
-            
-            if (removedCount > 0 && plugin.getConfigManager().isDebugEnabled()) {
-                plugin.getLogger().info("Cleaned up " + removedCount + " offline player data entries from cache");
-            }
-        } finally {
-            dataLock.writeLock().unlock();
+        }
+        
+        if (removedCount > 0 && plugin.getConfigManager().isDebugEnabled()) {
+            plugin.getLogger().info("Cleaned up " + removedCount + " offline player data entries from cache");
         }
     }
     
@@ -1000,6 +1167,12 @@ public class JobManager {
         } catch (Exception e) {
             plugin.getLogger().log(Level.SEVERE, "Failed to save player data for " + playerUuid, e);
         }
+        
+        // Queue for the SQL leaderboard table; written by the leaderboard publisher's async timer
+        LeaderboardRepository leaderboardRepository = plugin.getLeaderboardRepository();
+        if (leaderboardRepository != null) {
+            leaderboardRepository.queueLevels(playerUuid, data);
+        }
     }
     
     /**
@@ -180,14 +180,27 @@ public class PlayerJobData {
     }
     
     /**
-     * Set XP for a job.
+     * Set XP for a job. The level follows the new XP: it is lowered to match the XP curve
+     * when the XP decreases, and raised (with level-up actions) when it increases.
      * 
      * @param jobId The job ID
      * @param xp The XP amount
      */
     public void setXp(String jobId, double xp) {
-        xpData.put(jobId, xp);
-        checkLevelUp(jobId, 0); // No XP gained since this is a direct set
+        dataLock.writeLock().lock();
+        try {
+            xpData.put(jobId, xp);
+            lastModified = System.currentTimeMillis();
+            
+            int calculatedLevel = getLevelFromXp(jobId, xp);
+            if (calculatedLevel < getLevel(jobId)) {
+                setLevel(jobId, calculatedLevel);
+            } else {
+                checkLevelUp(jobId, 0); // No XP gained since this is a direct set
+            }
+        } finally {
+            dataLock.writeLock().unlock();
+        }
     }
     
     /**
@@ -0,0 +1,73 @@
+package fr.ax_dev.universejobs.leaderboard;
+
+import java.util.UUID;
+
+/**
+ * Immutable leaderboard row. Display strings are formatted once when the
+ * snapshot is built so readers never format on the request path.
+ */
+public final class LeaderboardEntry {
+
+    private final UUID playerUuid;
+    private final String playerName;
+    private final int level;
+    private final double xp;
+    private final double value;
+    private final String valueText;
+    private final String formatted;
+
+    public LeaderboardEntry(UUID playerUuid, String playerName, int level, double xp,
+                            double value, String valueText, String formatted) {
+        this.playerUuid = playerUuid;
+        this.playerName = playerName;
+        this.level = level;
+        this.xp = xp;
+        this.value = value;
+        this.valueText = valueText;
+        this.formatted = formatted;
+    }
+
+    public UUID getPlayerUuid() {
+        return playerUuid;
+    }
+
+    public String getPlayerName() {
+        return playerName;
+    }
+
+    public int getLevel() {
+        return level;
+    }
+
+    public double getXp() {
+        return xp;
+    }
+
+    /**
+     * Get the value the board is sorted by (total levels, total XP, ...).
+     * For job boards this is the XP.
+     *
+     * @return The sort value
+     */
+    public double getValue() {
+        return value;
+    }
+
+    /**
+     * Get the pre-formatted value ("%.1f" for XP, integer otherwise).
+     *
+     * @return The formatted value
+     */
+    public String getValueText() {
+        return valueText;
+    }
+
+    /**
+     * Get the pre-formatted one-line description of this entry.
+     *
+     * @return The formatted line
+     */
+    public String getFormatted() {
+        return formatted;
+    }
+}
@@ -0,0 +1,117 @@
+package fr.ax_dev.universejobs.leaderboard;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Immutable view of every leaderboard at a point in time.
+ * Instances are never modified after publication, so they can be read from any thread.
+ */
+public final class LeaderboardSnapshot {
+
+    public static final LeaderboardSnapshot EMPTY =
+            new LeaderboardSnapshot(Collections.emptyMap(), Collections.emptyMap(), 0L);
+
+    private final Map<String, Board> jobBoards;
+    private final Map<String, Board> globalBoards;
+    private final long builtAt;
+
+    LeaderboardSnapshot(Map<String, Board> jobBoards, Map<String, Board> globalBoards, long builtAt) {
+        this.jobBoards = jobBoards;
+        this.globalBoards = globalBoards;
+        this.builtAt = builtAt;
+    }
+
+    /**
+     * Get the ranking for a job.
+     *
+     * @param jobId The job ID
+     * @return The board, or {@link Board#EMPTY} if the job is unknown
+     */
+    public Board getJobBoard(String jobId) {
+        Board board = jobBoards.get(jobId);
+        return board != null ? board : Board.EMPTY;
+    }
+
+    /**
+     * Get a global ranking (totallevels, totaljobs, totalxp).
+     *
+     * @param type The ranking type
+     * @return The board, or {@link Board#EMPTY} if the type is unknown
+     */
+    public Board getGlobalBoard(String type) {
+        Board board = globalBoards.get(type);
+        return board != null ? board : Board.EMPTY;
+    }
+
+    /**
+     * Get the time this snapshot was built.
+     *
+     * @return Build time in milliseconds, 0 for the empty snapshot
+     */
+    public long getBuiltAt() {
+        return builtAt;
+    }
+
+    /**
+     * A single sorted ranking with a rank index for O(1) player lookups.
+     */
+    public static final class Board {
+
+        public static final Board EMPTY = new Board(new LeaderboardEntry[0], Collections.emptyMap(), 0);
+
+        private final LeaderboardEntry[] entries;
+        private final Map<UUID, Integer> ranks;
+        private final int total;
+
+        Board(LeaderboardEntry[] entries, Map<UUID, Integer> ranks, int total) {
+            this.entries = entries;
+            this.ranks = ranks;
+            this.total = total;
+        }
+
+        /**
+         * Get the number of entries held by this board.
+         *
+         * @return The entry count
+         */
+        public int size() {
+            return entries.length;
+        }
+
+        /**
+         * Get the number of ranked players. Can exceed {@link #size()} when the board
+         * only holds the top of a database ranking.
+         *
+         * @return The total player count
+         */
+        public int getTotal() {
+            return total;
+        }
+
+        /**
+         * Get the entry at a 1-based position.
+         *
+         * @param position The position (1 = first)
+         * @return The entry, or null if out of range
+         */
+        public LeaderboardEntry getEntry(int position) {
+            if (position < 1 || position > entries.length) {
+                return null;
+            }
+            return entries[position - 1];
+        }
+
+        /**
+         * Get the 1-based rank of a player among the held entries.
+         *
+         * @param playerUuid The player UUID
+         * @return The rank, or 0 if the player is not in this board
+         */
+        public int getRank(UUID playerUuid) {
+            Integer rank = ranks.get(playerUuid);
+            return rank != null ? rank : 0;
+        }
+    }
+}
@@ -0,0 +1,453 @@
+package fr.ax_dev.universejobs.leaderboard;
+
+import fr.ax_dev.universejobs.UniverseJobs;
+import fr.ax_dev.universejobs.job.Job;
+import fr.ax_dev.universejobs.job.JobManager;
+import fr.ax_dev.universejobs.job.PlayerJobData;
+import fr.ax_dev.universejobs.storage.LeaderboardRepository;
+import org.bukkit.Bukkit;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.entity.Player;
+
+import java.io.File;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.ToIntFunction;
+import java.util.logging.Level;
+
+/**
+ * Builds leaderboard snapshots on an async timer and publishes them through a volatile reference.
+ * Readers (placeholders, menus) only ever dereference the current snapshot and never trigger a rebuild.
+ * When database storage is enabled the boards are queried from SQL instead of scanning player data.
+ */
+public class LeaderboardSnapshotPublisher {
+
+    public static final String TOTAL_LEVELS = "totallevels";
+    public static final String TOTAL_JOBS = "totaljobs";
+    public static final String TOTAL_XP = "totalxp";
+
+    private static final String UNKNOWN_PLAYER = "Unknown Player";
+
+    private final UniverseJobs plugin;
+    private final JobManager jobManager;
+    private final File dataFolder;
+
+    private volatile LeaderboardSnapshot snapshot = LeaderboardSnapshot.EMPTY;
+    private volatile boolean running = false;
+    private final AtomicBoolean refreshing = new AtomicBoolean(false);
+
+    // Offline players are re-read only when their file changes
+    private final Map<UUID, OfflineRecord> offlineCache = new ConcurrentHashMap<>();
+    private final Map<UUID, String> nameCache = new ConcurrentHashMap<>();
+    // Names to look up on the main thread; getOfflinePlayer may block and is not async-safe
+    private final Set<UUID> unresolvedNames = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean resolvingNames = new AtomicBoolean(false);
+
+    // Database ranks of players outside the snapshot, keyed by board and player
+    private final Map<String, CachedRank> rankCache = new ConcurrentHashMap<>();
+
+    public LeaderboardSnapshotPublisher(UniverseJobs plugin) {
+        this.plugin = plugin;
+        this.jobManager = plugin.getJobManager();
+        this.dataFolder = new File(plugin.getDataFolder(), "data");
+    }
+
+    /**
+     * Start the periodic async refresh. The first snapshot is built immediately.
+     */
+    public void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+
+        long intervalTicks = Math.max(1, plugin.getConfigManager().getLeaderboardRefreshInterval()) * 20L;
+        plugin.getFoliaManager().runTimerAsync(() -> {
+            if (running) {
+                refresh();
+            }
+        }, 1L, intervalTicks);
+    }
+
+    /**
+     * Stop publishing. The last snapshot stays readable.
+     */
+    public void stop() {
+        running = false;
+        offlineCache.clear();
+        rankCache.clear();
+    }
+
+    /**
+     * Request an out-of-band rebuild (e.g. after a cache clear). Runs asynchronously.
+     */
+    public void requestRefresh() {
+        if (running) {
+            plugin.getFoliaManager().runAsync(this::refresh);
+        }
+    }
+
+    /**
+     * Get the latest published snapshot. Never null and never blocks.
+     *
+     * @return The current snapshot
+     */
+    public LeaderboardSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Get the rank of a player in a job. Players outside the snapshot are looked up
+     * in the database when it is enabled; the lookup runs asynchronously and the result
+     * is cached briefly, so the first request for an uncached rank returns 0.
+     *
+     * @param jobId The job ID
+     * @param playerUuid The player UUID
+     * @return The 1-based rank, or 0 if unknown
+     */
+    public int getJobRank(String jobId, UUID playerUuid) {
+        int rank = snapshot.getJobBoard(jobId).getRank(playerUuid);
+        if (rank > 0) {
+            return rank;
+        }
+        return getDatabaseRank("job:" + jobId, playerUuid,
+                repository -> repository.fetchRank(jobId, playerUuid));
+    }
+
+    /**
+     * Get the rank of a player in a global ranking. Same lookup rules as {@link #getJobRank(String, UUID)}.
+     *
+     * @param type The ranking type
+     * @param playerUuid The player UUID
+     * @return The 1-based rank, or 0 if unknown
+     */
+    public int getGlobalRank(String type, UUID playerUuid) {
+        int rank = snapshot.getGlobalBoard(type).getRank(playerUuid);
+        if (rank > 0) {
+            return rank;
+        }
+        return getDatabaseRank("global:" + type, playerUuid,
+                repository -> repository.fetchGlobalRank(type, playerUuid));
+    }
+
+    private int getDatabaseRank(String board, UUID playerUuid, ToIntFunction<LeaderboardRepository> query) {
+        LeaderboardRepository repository = plugin.getLeaderboardRepository();
+        if (repository == null || !repository.isAvailable()) {
+            return 0;
+        }
+
+        String key = board + ":" + playerUuid;
+        long now = System.currentTimeMillis();
+        CachedRank cached = rankCache.get(key);
+        if (cached == null || cached.expiresAt <= now) {
+            // Keep serving the stale value while the new one is fetched
+            long ttl = plugin.getConfigManager().getLeaderboardRankCacheSeconds() * 1000L;
+            rankCache.put(key, new CachedRank(cached != null ? cached.rank : 0, now + ttl));
+            plugin.getFoliaManager().runAsync(() ->
+                    rankCache.put(key, new CachedRank(query.applyAsInt(repository), System.currentTimeMillis() + ttl)));
+        }
+        return cached != null ? cached.rank : 0;
+    }
+
+    /**
+     * Rebuild every leaderboard and swap the result in. Skipped if a rebuild is already running.
+     */
+    public void refresh() {
+        if (!refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            long start = System.currentTimeMillis();
+            snapshot = buildSnapshot();
+
+            if (plugin.getConfigManager().isDebugEnabled()) {
+                plugin.getLogger().info("Leaderboard snapshot rebuilt in " + (System.currentTimeMillis() - start) + "ms");
+            }
+        } catch (Exception e) {
+            plugin.getLogger().log(Level.WARNING, "Failed to rebuild leaderboard snapshot", e);
+        } finally {
+            refreshing.set(false);
+        }
+    }
+
+    private LeaderboardSnapshot buildSnapshot() {
+        LeaderboardRepository repository = plugin.getLeaderboardRepository();
+        if (repository != null && repository.isAvailable()) {
+            return buildDatabaseSnapshot(repository);
+        }
+        return buildFileSnapshot();
+    }
+
+    /**
+     * Build the snapshot from the database. Sorting and ranking are done by SQL;
+     * only the top of each board is transferred.
+     */
+    private LeaderboardSnapshot buildDatabaseSnapshot(LeaderboardRepository repository) {
+        // Write the levels saved since the last refresh so the boards include them
+        repository.flushPendingLevels();
+        int topSize = Math.max(1, plugin.getConfigManager().getLeaderboardDatabaseTopSize());
+
+        Map<String, LeaderboardSnapshot.Board> jobBoards = new HashMap<>();
+        for (Job job : jobManager.getAllJobs()) {
+            List<RankedRow> rows = toRankedRows(repository.fetchTop(job.getId(), topSize));
+            jobBoards.put(job.getId(), buildJobBoard(rows, repository.countPlayers(job.getId())));
+        }
+
+        int globalTotal = repository.countGlobalPlayers();
+        Map<String, LeaderboardSnapshot.Board> globalBoards = new HashMap<>();
+        globalBoards.put(TOTAL_LEVELS, buildGlobalBoard(toRankedRows(repository.fetchGlobalTop(TOTAL_LEVELS, topSize)), globalTotal, "levels"));
+        globalBoards.put(TOTAL_JOBS, buildGlobalBoard(toRankedRows(repository.fetchGlobalTop(TOTAL_JOBS, topSize)), globalTotal, "jobs"));
+        globalBoards.put(TOTAL_XP, buildGlobalBoard(toRankedRows(repository.fetchGlobalTop(TOTAL_XP, topSize)), globalTotal, "XP"));
+
+        // Ranks outside the transferred top are re-queried against the new data
+        rankCache.clear();
+
+        return new LeaderboardSnapshot(
+                Collections.unmodifiableMap(jobBoards),
+                Collections.unmodifiableMap(globalBoards),
+                System.currentTimeMillis());
+    }
+
+    private List<RankedRow> toRankedRows(List<LeaderboardRepository.Row> rows) {
+        List<RankedRow> ranked = new ArrayList<>(rows.size());
+        for (LeaderboardRepository.Row row : rows) {
+            String name = row.getPlayerName() != null ? row.getPlayerName() : resolveName(row.getPlayerUuid());
+            ranked.add(new RankedRow(row.getPlayerUuid(), name, row.getLevel(), row.getXp(), row.getValue()));
+        }
+        return ranked;
+    }
+
+    /**
+     * Build the snapshot from loaded players and data files.
+     */
+    private LeaderboardSnapshot buildFileSnapshot() {
+        Map<UUID, PlayerJobData> players = collectPlayerData();
+
+        Map<String, List<RankedRow>> jobRows = new HashMap<>();
+        for (Job job : jobManager.getAllJobs()) {
+            jobRows.put(job.getId(), new ArrayList<>());
+        }
+        List<RankedRow> levelRows = new ArrayList<>(players.size());
+        List<RankedRow> jobCountRows = new ArrayList<>(players.size());
+        List<RankedRow> xpRows = new ArrayList<>(players.size());
+
+        for (Map.Entry<UUID, PlayerJobData> playerEntry : players.entrySet()) {
+            UUID playerUuid = playerEntry.getKey();
+            PlayerJobData data = playerEntry.getValue();
+            Set<String> jobs = data.getJobs();
+            if (jobs.isEmpty()) {
+                continue;
+            }
+
+            String playerName = resolveName(playerUuid);
+            int totalLevels = 0;
+            double totalXp = 0.0;
+
+            for (String jobId : jobs) {
+                int level = data.getLevel(jobId);
+                double xp = data.getXp(jobId);
+                totalLevels += level;
+                totalXp += xp;
+
+                List<RankedRow> rows = jobRows.get(jobId);
+                if (rows != null) {
+                    rows.add(new RankedRow(playerUuid, playerName, level, xp, xp));
+                }
+            }
+
+            levelRows.add(new RankedRow(playerUuid, playerName, totalLevels, totalXp, totalLevels));
+            jobCountRows.add(new RankedRow(playerUuid, playerName, totalLevels, totalXp, jobs.size()));
+            xpRows.add(new RankedRow(playerUuid, playerName, totalLevels, totalXp, totalXp));
+        }
+
+        Map<String, LeaderboardSnapshot.Board> jobBoards = new HashMap<>();
+        for (Map.Entry<String, List<RankedRow>> rows : jobRows.entrySet()) {
+            List<RankedRow> sorted = rows.getValue();
+            // Sort by descending level, then by descending XP
+            sorted.sort((a, b) -> {
+                int levelCompare = Integer.compare(b.level(), a.level());
+                if (levelCompare != 0) {
+                    return levelCompare;
+                }
+                return Double.compare(b.xp(), a.xp());
+            });
+            jobBoards.put(rows.getKey(), buildJobBoard(sorted, sorted.size()));
+        }
+
+        Comparator<RankedRow> byValue = (a, b) -> Double.compare(b.value(), a.value());
+        levelRows.sort(byValue);
+        jobCountRows.sort(byValue);
+        xpRows.sort(byValue);
+
+        Map<String, LeaderboardSnapshot.Board> globalBoards = new HashMap<>();
+        globalBoards.put(TOTAL_LEVELS, buildGlobalBoard(levelRows, levelRows.size(), "levels"));
+        globalBoards.put(TOTAL_JOBS, buildGlobalBoard(jobCountRows, jobCountRows.size(), "jobs"));
+        globalBoards.put(TOTAL_XP, buildGlobalBoard(xpRows, xpRows.size(), "XP"));
+
+        return new LeaderboardSnapshot(
+                Collections.unmodifiableMap(jobBoards),
+                Collections.unmodifiableMap(globalBoards),
+                System.currentTimeMillis());
+    }
+
+    /**
+     * Format already sorted job rows into a board.
+     */
+    private LeaderboardSnapshot.Board buildJobBoard(List<RankedRow> rows, int total) {
+        LeaderboardEntry[] entries = new LeaderboardEntry[rows.size()];
+        Map<UUID, Integer> ranks = new HashMap<>(rows.size() * 2);
+        for (int i = 0; i < entries.length; i++) {
+            RankedRow row = rows.get(i);
+            int position = i + 1;
+            entries[i] = new LeaderboardEntry(row.playerUuid(), row.playerName(), row.level(), row.xp(),
+                    row.xp(), String.format("%.1f", row.xp()),
+                    String.format("#%d %s - Level %d (%.1f XP)", position, row.playerName(), row.level(), row.xp()));
+            ranks.put(row.playerUuid(), position);
+        }
+        return new LeaderboardSnapshot.Board(entries, ranks, Math.max(total, entries.length));
+    }
+
+    /**
+     * Format already sorted global rows into a board.
+     */
+    private LeaderboardSnapshot.Board buildGlobalBoard(List<RankedRow> rows, int total, String unit) {
+        boolean xpUnit = "XP".equals(unit);
+        LeaderboardEntry[] entries = new LeaderboardEntry[rows.size()];
+        Map<UUID, Integer> ranks = new HashMap<>(rows.size() * 2);
+        for (int i = 0; i < entries.length; i++) {
+            RankedRow row = rows.get(i);
+            double value = row.value();
+            int position = i + 1;
+
+            String valueText;
+            String formatted;
+            if (xpUnit) {
+                valueText = String.format("%.1f", value);
+                formatted = String.format("#%d %s - %.1f %s", position, row.playerName(), value, unit);
+            } else {
+                valueText = String.valueOf((int) value);
+                formatted = String.format("#%d %s - %d %s", position, row.playerName(), (int) value, unit);
+            }
+
+            entries[i] = new LeaderboardEntry(row.playerUuid(), row.playerName(), row.level(), row.xp(),
+                    value, valueText, formatted);
+            ranks.put(row.playerUuid(), position);
+        }
+        return new LeaderboardSnapshot.Board(entries, ranks, Math.max(total, entries.length));
+    }
+
+    /**
+     * Collect data for every known player: loaded players from memory, the rest from their data file.
+     * Offline files are read directly so the JobManager cache is not filled with placeholder data.
+     */
+    private Map<UUID, PlayerJobData> collectPlayerData() {
+        Map<UUID, PlayerJobData> loaded = jobManager.getAllPlayerData();
+        Map<UUID, PlayerJobData> result = new HashMap<>(loaded);
+
+        File[] dataFiles = dataFolder.exists() ? dataFolder.listFiles((dir, name) -> name.endsWith(".yml")) : null;
+        if (dataFiles == null) {
+            return result;
+        }
+
+        Set<UUID> seen = new HashSet<>(dataFiles.length * 2);
+        for (File dataFile : dataFiles) {
+            UUID playerUuid;
+            try {
+                playerUuid = UUID.fromString(dataFile.getName().substring(0, dataFile.getName().length() - 4));
+            } catch (IllegalArgumentException e) {
+                continue;
+            }
+            seen.add(playerUuid);
+            if (result.containsKey(playerUuid)) {
+                continue;
+            }
+
+            try {
+                long modified = dataFile.lastModified();
+                OfflineRecord cached = offlineCache.get(playerUuid);
+                if (cached == null || cached.lastModified != modified) {
+                    PlayerJobData data = new PlayerJobData(playerUuid);
+                    data.setJobManager(jobManager);
+                    data.load(YamlConfiguration.loadConfiguration(dataFile));
+                    cached = new OfflineRecord(data, modified);
+                    offlineCache.put(playerUuid, cached);
+                }
+                result.put(playerUuid, cached.data);
+            } catch (Exception e) {
+                plugin.getLogger().warning("Error processing data file: " + dataFile.getName());
+            }
+        }
+
+        // Forget players whose data file was removed
+        offlineCache.keySet().retainAll(seen);
+        return result;
+    }
+
+    private String resolveName(UUID playerUuid) {
+        String name = getCachedName(playerUuid);
+        return name != null ? name : UNKNOWN_PLAYER;
+    }
+
+    /**
+     * Remember the name of a player (called on join, from the main thread).
+     *
+     * @param playerUuid The player UUID
+     * @param name The player name
+     */
+    public void cacheName(UUID playerUuid, String name) {
+        if (name != null) {
+            nameCache.put(playerUuid, name);
+        }
+    }
+
+    /**
+     * Get a player name without blocking. Safe to call from any thread.
+     * Unknown names are looked up on the main thread for later calls.
+     *
+     * @param playerUuid The player UUID
+     * @return The name, or null if not known yet
+     */
+    public String getCachedName(UUID playerUuid) {
+        String name = nameCache.get(playerUuid);
+        if (name != null) {
+            return name;
+        }
+        Player online = Bukkit.getPlayer(playerUuid);
+        if (online != null) {
+            name = online.getName();
+            nameCache.put(playerUuid, name);
+            return name;
+        }
+        unresolvedNames.add(playerUuid);
+        if (resolvingNames.compareAndSet(false, true)) {
+            plugin.getFoliaManager().runNextTick(this::resolvePendingNames);
+        }
+        return null;
+    }
+
+    private void resolvePendingNames() {
+        resolvingNames.set(false);
+        for (UUID playerUuid : unresolvedNames) {
+            unresolvedNames.remove(playerUuid);
+            String name = Bukkit.getOfflinePlayer(playerUuid).getName();
+            if (name != null) {
+                nameCache.put(playerUuid, name);
+            }
+        }
+    }
+
+    private record RankedRow(UUID playerUuid, String playerName, int level, double xp, double value) {}
+
+    private record CachedRank(int rank, long expiresAt) {}
+
+    private static final class OfflineRecord {
+        final PlayerJobData data;
+        final long lastModified;
+
+        OfflineRecord(PlayerJobData data, long lastModified) {
+            this.data = data;
+            this.lastModified = lastModified;
+        }
+    }
+}
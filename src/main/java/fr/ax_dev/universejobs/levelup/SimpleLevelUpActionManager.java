@@ -132,6 +132,13 @@ public class SimpleLevelUpActionManager {
             return;
         }
         
+        // Level-ups reached from the reward pipeline happen on a worker thread
+        if (!plugin.getFoliaManager().isEntityThread(player)) {
+            plugin.getFoliaManager().runAtEntity(player, () -> 
+                executeLevelUpActions(player, jobId, oldLevel, newLevel, totalXp, xpGained));
+            return;
+        }
+        
         Job job = plugin.getJobManager().getJob(jobId);
         if (job == null) {
             return;
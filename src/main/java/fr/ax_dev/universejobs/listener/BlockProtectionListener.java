@@ -0,0 +1,91 @@
+package fr.ax_dev.universejobs.listener;
+
+import fr.ax_dev.universejobs.protection.BlockProtectionManager;
+import org.bukkit.entity.FallingBlock;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.block.BlockExplodeEvent;
+import org.bukkit.event.block.BlockPistonExtendEvent;
+import org.bukkit.event.block.BlockPistonRetractEvent;
+import org.bukkit.event.entity.EntityChangeBlockEvent;
+import org.bukkit.event.entity.EntityExplodeEvent;
+import org.bukkit.event.world.ChunkLoadEvent;
+import org.bukkit.event.world.ChunkUnloadEvent;
+import org.bukkit.event.world.WorldSaveEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
+
+/**
+ * Keeps the in-memory placed-block marks in step with chunk and world lifecycle, and with
+ * blocks that move or disappear without a player breaking them (pistons, explosions, falling blocks).
+ * Chunk events fire on the thread owning the chunk, so PDC access stays region-safe on Folia.
+ */
+public class BlockProtectionListener implements Listener {
+
+    private final BlockProtectionManager protectionManager;
+
+    /**
+     * Create a new BlockProtectionListener.
+     *
+     * @param protectionManager The block protection manager
+     */
+    public BlockProtectionListener(BlockProtectionManager protectionManager) {
+        this.protectionManager = protectionManager;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onChunkLoad(ChunkLoadEvent event) {
+        protectionManager.onChunkLoad(event.getChunk());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onChunkUnload(ChunkUnloadEvent event) {
+        protectionManager.onChunkUnload(event.getChunk());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onWorldSave(WorldSaveEvent event) {
+        protectionManager.flushWorld(event.getWorld());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onWorldUnload(WorldUnloadEvent event) {
+        protectionManager.onWorldUnload(event.getWorld());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPistonExtend(BlockPistonExtendEvent event) {
+        protectionManager.moveMarks(event.getBlocks(), event.getDirection());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPistonRetract(BlockPistonRetractEvent event) {
+        // getDirection() is the direction the pulled blocks move in
+        protectionManager.moveMarks(event.getBlocks(), event.getDirection());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onEntityExplode(EntityExplodeEvent event) {
+        protectionManager.clearMarks(event.blockList());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockExplode(BlockExplodeEvent event) {
+        protectionManager.clearMarks(event.blockList());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onEntityChangeBlock(EntityChangeBlockEvent event) {
+        if (event.getEntity() instanceof FallingBlock) {
+            // Sand, gravel, anvils...: carry the mark through the falling entity
+            if (event.getTo().isAir()) {
+                protectionManager.onBlockStartFalling(event.getBlock(), event.getEntity());
+            } else {
+                protectionManager.onFallingBlockLand(event.getBlock(), event.getEntity());
+            }
+        } else if (event.getTo() != event.getBlock().getType()) {
+            // Endermen, ravagers, withers... replaced the placed block
+            protectionManager.removeTrackedBlock(event.getBlock());
+        }
+    }
+}
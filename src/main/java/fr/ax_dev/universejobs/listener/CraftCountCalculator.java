@@ -0,0 +1,119 @@
+package fr.ax_dev.universejobs.listener;
+
+import org.bukkit.Material;
+import org.bukkit.inventory.CraftingInventory;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.PlayerInventory;
+
+/**
+ * Counts shift-click crafts without copying inventories.
+ * <p>
+ * A shift-click executes the recipe until an ingredient runs out or the result no longer
+ * fits, so the number of crafts is bounded up front by the smallest matrix stack and by the
+ * free space for the result in the player's storage slots. The actual amount is verified
+ * on the next tick by diffing only the slots that could receive the result, remembered as
+ * plain amounts.
+ */
+final class CraftCountCalculator {
+
+    // Main inventory and hotbar, where shift-crafted results land
+    private static final int STORAGE_SLOTS = 36;
+    private static final int UNRELATED_SLOT = -1;
+
+    private CraftCountCalculator() {
+    }
+
+    /**
+     * Get the maximum number of crafts a shift-click can execute.
+     *
+     * @param matrix The crafting inventory
+     * @param inventory The crafting player's inventory
+     * @param result The item in the result slot (one recipe execution)
+     * @return The maximum number of crafts, 0 if nothing can be crafted
+     */
+    static int maxCrafts(CraftingInventory matrix, PlayerInventory inventory, ItemStack result) {
+        int yield = result.getAmount();
+        if (yield <= 0) {
+            return 0;
+        }
+        return Math.min(maxIngredientCrafts(matrix), freeSpace(inventory, result) / yield);
+    }
+
+    /**
+     * Get the number of crafts the ingredients allow; every recipe uses one item per slot.
+     */
+    private static int maxIngredientCrafts(CraftingInventory matrix) {
+        int max = Integer.MAX_VALUE;
+        for (ItemStack ingredient : matrix.getMatrix()) {
+            if (ingredient != null && !ingredient.getType().isAir()) {
+                max = Math.min(max, ingredient.getAmount());
+            }
+        }
+        return max == Integer.MAX_VALUE ? 0 : max;
+    }
+
+    /**
+     * Get how many result items the storage slots can still hold.
+     */
+    private static int freeSpace(PlayerInventory inventory, ItemStack result) {
+        int maxStackSize = result.getMaxStackSize();
+        int space = 0;
+        for (int i = 0; i < STORAGE_SLOTS; i++) {
+            ItemStack slot = inventory.getItem(i);
+            if (slot == null || slot.getType().isAir()) {
+                space += maxStackSize;
+            } else if (isSameItem(slot, result)) {
+                space += Math.max(0, maxStackSize - slot.getAmount());
+            }
+        }
+        return space;
+    }
+
+    /**
+     * Remember the amounts of the slots that can receive the result.
+     *
+     * @param inventory The crafting player's inventory
+     * @param result The item in the result slot
+     * @return Per-slot amounts, {@code -1} for slots holding another item
+     */
+    static int[] snapshot(PlayerInventory inventory, ItemStack result) {
+        int[] amounts = new int[STORAGE_SLOTS];
+        for (int i = 0; i < STORAGE_SLOTS; i++) {
+            ItemStack slot = inventory.getItem(i);
+            if (slot == null || slot.getType().isAir()) {
+                amounts[i] = 0;
+            } else {
+                amounts[i] = isSameItem(slot, result) ? slot.getAmount() : UNRELATED_SLOT;
+            }
+        }
+        return amounts;
+    }
+
+    /**
+     * Count the result items added since a snapshot.
+     *
+     * @param inventory The crafting player's inventory
+     * @param result The item in the result slot
+     * @param snapshot The amounts taken before the craft
+     * @return The number of items added
+     */
+    static int countAdded(PlayerInventory inventory, ItemStack result, int[] snapshot) {
+        int added = 0;
+        for (int i = 0; i < STORAGE_SLOTS; i++) {
+            if (snapshot[i] == UNRELATED_SLOT) {
+                continue;
+            }
+            ItemStack slot = inventory.getItem(i);
+            if (slot != null && isSameItem(slot, result)) {
+                added += slot.getAmount() - snapshot[i];
+            }
+        }
+        return Math.max(0, added);
+    }
+
+    private static boolean isSameItem(ItemStack slot, ItemStack result) {
+        // Material first: most slots differ by type and isSimilar compares meta
+        Material type = result.getType();
+        return slot.getType() == type && slot.isSimilar(result);
+    }
+}
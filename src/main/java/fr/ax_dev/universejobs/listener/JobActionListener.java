@@ -1,14 +1,19 @@
 package fr.ax_dev.universejobs.listener;
 
 import fr.ax_dev.universejobs.UniverseJobs;
+import fr.ax_dev.universejobs.action.ActionMetrics;
+import fr.ax_dev.universejobs.action.ActionMetrics.Stage;
 import fr.ax_dev.universejobs.action.ActionProcessor;
 import fr.ax_dev.universejobs.action.ActionType;
 import fr.ax_dev.universejobs.condition.ConditionContext;
 import fr.ax_dev.universejobs.integration.MythicMobsHandler;
 import fr.ax_dev.universejobs.protection.BlockProtectionManager;
+import fr.ax_dev.universejobs.protection.FurnaceOwnerTracker;
 import fr.ax_dev.universejobs.cache.ConfigurationCache;
 import fr.ax_dev.universejobs.cache.PlayerJobCache;
+import org.bukkit.Material;
 import org.bukkit.entity.Entity;
+import org.bukkit.entity.EntityType;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Player;
 import org.bukkit.entity.Villager;
@@ -29,6 +34,7 @@ import org.bukkit.event.player.PlayerInteractEntityEvent;
 import org.bukkit.event.player.PlayerInteractEvent;
 import org.bukkit.event.player.PlayerItemConsumeEvent;
 import org.bukkit.event.player.PlayerShearEntityEvent;
+import org.bukkit.event.inventory.BrewEvent;
 import org.bukkit.event.inventory.CraftItemEvent;
 import org.bukkit.event.inventory.FurnaceSmeltEvent;
 import org.bukkit.event.inventory.InventoryClickEvent;
@@ -40,7 +46,7 @@ import org.bukkit.event.block.Action;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Listens for job-related actions and processes them.
@@ -50,6 +56,8 @@ public class JobActionListener implements Listener {
     private static final String TARGET_SUFFIX = " - target: ";
     private static final String COLOR_CODE_PATTERN = "§[0-9a-fk-or]";
     private static final String TARGET_KEY = "target";
+    // Custom item ID keys in "nbt" precedence order (highest first)
+    private static final String[] CUSTOM_ITEM_NBT_KEYS = {"itemsadder_id", "nexo_id", "customfishing_id", "customcrops_id", "mmoitems_type"};
     
     private final UniverseJobs plugin;
     private final ActionProcessor actionProcessor;
@@ -57,14 +65,13 @@ public class JobActionListener implements Listener {
     private final MythicMobsHandler mythicMobsHandler;
     private final ConfigurationCache configCache;
     private final PlayerJobCache playerCache;
+    private final ActionMetrics metrics;
     
     // Statistiques ultra-légères
-    private final AtomicLong totalEvents = new AtomicLong(0);
-    private final AtomicLong processedEvents = new AtomicLong(0);
+    // Striped counters: on Folia every region thread increments them
+    private final LongAdder totalEvents = new LongAdder();
+    private final LongAdder processedEvents = new LongAdder();
     
-    // Furnace tracking for SMELT action - tracks who put items in each furnace
-    private final Map<String, UUID> furnaceOwners = new ConcurrentHashMap<>();
-    private final Map<String, Long> furnaceLastUse = new ConcurrentHashMap<>();
     /**
      * Create a new ultra-fast JobActionListener with caching.
      * 
@@ -83,6 +90,7 @@ public class JobActionListener implements Listener {
         this.mythicMobsHandler = mythicMobsHandler;
         this.configCache = configCache;
         this.playerCache = playerCache;
+        this.metrics = plugin.getActionMetrics();
     }
     
     
@@ -93,15 +101,15 @@ public class JobActionListener implements Listener {
      */
     public Map<String, Object> getPerformanceStats() {
         Map<String, Object> stats = new ConcurrentHashMap<>();
-        stats.put("total_events", totalEvents.get());
-        stats.put("processed_events", processedEvents.get());
+        stats.put("total_events", totalEvents.sum());
+        stats.put("processed_events", processedEvents.sum());
         stats.put("mythicmobs_available", mythicMobsHandler.isAvailable());
         
         // Intègre les stats du cache
         stats.putAll(playerCache.getStats());
         
-        long processed = processedEvents.get();
-        long total = totalEvents.get();
+        long processed = processedEvents.sum();
+        long total = totalEvents.sum();
         double processingRate = total > 0 ? (double) processed / total * 100 : 0;
         stats.put("processing_rate_percent", processingRate);
         
@@ -124,23 +132,30 @@ public class JobActionListener implements Listener {
         if (killer == null) return;
         
         // Rate limiting check
-        totalEvents.incrementAndGet();
+        totalEvents.increment();
         
+        if (!mayBeRewarded(ActionType.KILL, killed.getType())) {
+            return;
+        }
+        
+        // Create context
+        long contextStart = metrics.start();
+        ConditionContext context = ConditionContext.acquire()
+                .setEntity(killed)
+                .set(TARGET_KEY, killed.getType().name());
         try {
-            // Create context
-            ConditionContext context = new ConditionContext()
-                    .setEntity(killed)
-                    .set(TARGET_KEY, killed.getType().name());
-            
             // Check for MythicMobs using official API
             mythicMobsHandler.populateMythicMobContext(killed, context);
             
             // Process the action
+            metrics.record(Stage.CONTEXT, ActionType.KILL, contextStart);
             actionProcessor.processAction(killer, ActionType.KILL, event, context);
-            processedEvents.incrementAndGet();
+            processedEvents.increment();
             
         } catch (Exception e) {
             plugin.getLogger().warning("Error processing KILL action for player " + killer.getName() + ": " + e.getMessage());
+        } finally {
+            context.release();
         }
     }
     
@@ -158,11 +173,20 @@ public class JobActionListener implements Listener {
             plugin.getLogger().info("Block break event: " + event.getBlock().getType() + " by " + player.getName());
         }
         
-        totalEvents.incrementAndGet();
+        totalEvents.increment();
         
         try {
+            if (!mayBeRewarded(ActionType.BREAK, event.getBlock().getType())) {
+                // No job rewards this block: only forget its placed mark
+                protectionManager.removeTrackedBlock(event.getBlock());
+                return;
+            }
+            
             // Check if this block was placed by a player (anti-exploit for both vanilla and Nexo blocks)
-            if (protectionManager.isPlayerPlacedBlock(event.getBlock())) {
+            long protectionStart = metrics.start();
+            boolean playerPlaced = protectionManager.isPlayerPlacedBlock(event.getBlock());
+            metrics.record(Stage.PROTECTION, ActionType.BREAK, protectionStart);
+            if (playerPlaced) {
                 // Remove from tracking but don't give XP
                 protectionManager.removeTrackedBlock(event.getBlock());
                 
@@ -173,7 +197,8 @@ public class JobActionListener implements Listener {
             }
             
             // Create context
-            ConditionContext context = new ConditionContext()
+            long contextStart = metrics.start();
+            ConditionContext context = ConditionContext.acquire()
                     .setBlock(event.getBlock())
                     .set(TARGET_KEY, event.getBlock().getType().name());
             
@@ -182,12 +207,18 @@ public class JobActionListener implements Listener {
             }
             
             // Process the action and check if we should cancel
-            boolean shouldCancel = actionProcessor.processAction(player, ActionType.BREAK, event, context);
+            boolean shouldCancel;
+            try {
+                metrics.record(Stage.CONTEXT, ActionType.BREAK, contextStart);
+                shouldCancel = actionProcessor.processAction(player, ActionType.BREAK, event, context);
+            } finally {
+                context.release();
+            }
             if (shouldCancel) {
                 event.setCancelled(true);
             }
             
-            processedEvents.incrementAndGet();
+            processedEvents.increment();
             
         } catch (Exception e) {
             plugin.getLogger().warning("Error processing BREAK action for player " + player.getName() + ": " + e.getMessage());
@@ -205,13 +236,24 @@ public class JobActionListener implements Listener {
         // Track the placed block for anti-exploit protection (handles both vanilla and Nexo blocks)
         protectionManager.recordBlockPlacement(player, event.getBlock());
         
+        if (!mayBeRewarded(ActionType.PLACE, event.getBlock().getType())) {
+            return;
+        }
+        
         // Create context
-        ConditionContext context = new ConditionContext()
+        long contextStart = metrics.start();
+        ConditionContext context = ConditionContext.acquire()
                 .setBlock(event.getBlock())
                 .set(TARGET_KEY, event.getBlock().getType().name());
         
         // Process the action and check if we should cancel
-        boolean shouldCancel = actionProcessor.processAction(player, ActionType.PLACE, event, context);
+        boolean shouldCancel;
+        try {
+            metrics.record(Stage.CONTEXT, ActionType.PLACE, contextStart);
+            shouldCancel = actionProcessor.processAction(player, ActionType.PLACE, event, context);
+        } finally {
+            context.release();
+        }
         if (shouldCancel) {
             event.setCancelled(true);
             // If cancelled, remove the block from tracking
@@ -225,14 +267,22 @@ public class JobActionListener implements Listener {
     @EventHandler(priority = EventPriority.HIGH, ignoreCancelled = true)
     public void onEntityBreed(EntityBreedEvent event) {
         if (!(event.getBreeder() instanceof Player player)) return;
+        if (!mayBeRewarded(ActionType.BREED, event.getEntityType())) return;
         
         // Create context
-        ConditionContext context = new ConditionContext()
+        long contextStart = metrics.start();
+        ConditionContext context = ConditionContext.acquire()
                 .setEntity(event.getEntity())
                 .set(TARGET_KEY, event.getEntityType().name());
         
         // Process the action and check if we should cancel
-        boolean shouldCancel = actionProcessor.processAction(player, ActionType.BREED, event, context);
+        boolean shouldCancel;
+        try {
+            metrics.record(Stage.CONTEXT, ActionType.BREED, contextStart);
+            shouldCancel = actionProcessor.processAction(player, ActionType.BREED, event, context);
+        } finally {
+            context.release();
+        }
         if (shouldCancel) {
             event.setCancelled(true);
         }
@@ -247,6 +297,7 @@ public class JobActionListener implements Listener {
         if (event.getState() != PlayerFishEvent.State.CAUGHT_FISH) return;
         
         Player player = event.getPlayer();
+        long contextStart = metrics.start();
         String target = "FISH"; // Default fallback
         
         // Try to determine the specific fish type caught
@@ -255,8 +306,8 @@ public class JobActionListener implements Listener {
             org.bukkit.inventory.ItemStack itemStack = caughtItem.getItemStack();
             
             if (itemStack != null) {
-                // Use the material name as target for vanilla fish
-                target = itemStack.getType().name();
+                // Material name for vanilla fish, plugin ID for custom items
+                target = detectItemTarget(itemStack);
                 
                 if (plugin.getConfigManager().isDebugEnabled()) {
                     plugin.getLogger().info("Vanilla fishing caught: " + target + " by " + player.getName());
@@ -283,6 +334,7 @@ public class JobActionListener implements Listener {
         }
         
         // Process the action and check if we should cancel
+        metrics.record(Stage.CONTEXT, ActionType.FISH, contextStart);
         boolean shouldCancel = actionProcessor.processAction(player, ActionType.FISH, event, context);
         if (shouldCancel) {
             event.setCancelled(true);
@@ -295,14 +347,22 @@ public class JobActionListener implements Listener {
     @EventHandler(priority = EventPriority.HIGH, ignoreCancelled = true)
     public void onEntityTame(EntityTameEvent event) {
         if (!(event.getOwner() instanceof Player player)) return;
+        if (!mayBeRewarded(ActionType.TAME, event.getEntityType())) return;
         
         // Create context
-        ConditionContext context = new ConditionContext()
+        long contextStart = metrics.start();
+        ConditionContext context = ConditionContext.acquire()
                 .setEntity(event.getEntity())
                 .set(TARGET_KEY, event.getEntityType().name());
         
         // Process the action and check if we should cancel
-        boolean shouldCancel = actionProcessor.processAction(player, ActionType.TAME, event, context);
+        boolean shouldCancel;
+        try {
+            metrics.record(Stage.CONTEXT, ActionType.TAME, contextStart);
+            shouldCancel = actionProcessor.processAction(player, ActionType.TAME, event, context);
+        } finally {
+            context.release();
+        }
         if (shouldCancel) {
             event.setCancelled(true);
         }
@@ -315,9 +375,11 @@ public class JobActionListener implements Listener {
     @EventHandler(priority = EventPriority.HIGH, ignoreCancelled = true)
     public void onPlayerShearEntity(PlayerShearEntityEvent event) {
         Player player = event.getPlayer();
+        if (!mayBeRewarded(ActionType.SHEAR, event.getEntity().getType())) return;
         
         // Create context
-        ConditionContext context = new ConditionContext()
+        long contextStart = metrics.start();
+        ConditionContext context = ConditionContext.acquire()
                 .setEntity(event.getEntity())
                 .set(TARGET_KEY, event.getEntity().getType().name());
         
@@ -333,7 +395,13 @@ public class JobActionListener implements Listener {
         }
         
         // Process the action and check if we should cancel
-        boolean shouldCancel = actionProcessor.processAction(player, ActionType.SHEAR, event, context);
+        boolean shouldCancel;
+        try {
+            metrics.record(Stage.CONTEXT, ActionType.SHEAR, contextStart);
+            shouldCancel = actionProcessor.processAction(player, ActionType.SHEAR, event, context);
+        } finally {
+            context.release();
+        }
         if (shouldCancel) {
             event.setCancelled(true);
         }
@@ -350,6 +418,13 @@ public class JobActionListener implements Listener {
         
         if (item == null) return;
         
+        // Determine if it's a potion or food
+        ActionType actionType = item.getType().name().contains("POTION") ? ActionType.POTION : ActionType.EAT;
+        if (!mayBeRewarded(actionType, item.getType())) {
+            return;
+        }
+        
+        long contextStart = metrics.start();
         // Detect the target format for the item, supporting all plugin formats
         String target = detectItemTarget(item);
         
@@ -368,18 +443,13 @@ public class JobActionListener implements Listener {
             }
         }
         
-        // Determine if it's a potion or food
-        ActionType actionType;
-        if (item.getType().name().contains("POTION")) {
-            actionType = ActionType.POTION;
-            
+        if (actionType == ActionType.POTION) {
             // Add potion-specific information
             addPotionContext(item, context);
-        } else {
-            actionType = ActionType.EAT;
         }
         
         // Process the action and check if we should cancel
+        metrics.record(Stage.CONTEXT, actionType, contextStart);
         boolean shouldCancel = actionProcessor.processAction(player, actionType, event, context);
         if (shouldCancel) {
             event.setCancelled(true);
@@ -410,13 +480,18 @@ public class JobActionListener implements Listener {
         }
         
         // Rate limiting check
-        totalEvents.incrementAndGet();
+        totalEvents.increment();
+        
+        if (!mayBeRewarded(ActionType.BLOCK_INTERACT, event.getClickedBlock().getType())) {
+            return;
+        }
         
         // Determine interact type (only right clicks)
         String interactType = player.isSneaking() ? "RIGHT_SHIFT_CLICK" : "RIGHT_CLICK";
         
         // Create context
-        ConditionContext context = new ConditionContext()
+        long contextStart = metrics.start();
+        ConditionContext context = ConditionContext.acquire()
                 .setBlock(event.getClickedBlock())
                 .set(TARGET_KEY, event.getClickedBlock().getType().name())
                 .set("interact-type", interactType);
@@ -426,12 +501,18 @@ public class JobActionListener implements Listener {
         }
         
         // Process the action and check if we should cancel
-        boolean shouldCancel = actionProcessor.processAction(player, ActionType.BLOCK_INTERACT, event, context);
+        boolean shouldCancel;
+        try {
+            metrics.record(Stage.CONTEXT, ActionType.BLOCK_INTERACT, contextStart);
+            shouldCancel = actionProcessor.processAction(player, ActionType.BLOCK_INTERACT, event, context);
+        } finally {
+            context.release();
+        }
         if (shouldCancel) {
             event.setCancelled(true);
         }
         
-        processedEvents.incrementAndGet();
+        processedEvents.increment();
     }
     
     
@@ -450,27 +531,38 @@ public class JobActionListener implements Listener {
         }
         
         // Rate limiting check
-        totalEvents.incrementAndGet();
+        totalEvents.increment();
+        
+        if (!mayBeRewarded(ActionType.ENTITY_INTERACT, entity.getType())) {
+            return;
+        }
         
         // Determine interact type (right-click interaction)
         String interactType = player.isSneaking() ? "RIGHT_SHIFT_CLICK" : "RIGHT_CLICK";
         
         // Create context
-        ConditionContext context = new ConditionContext()
+        long contextStart = metrics.start();
+        ConditionContext context = ConditionContext.acquire()
                 .setEntity(entity)
                 .set(TARGET_KEY, entity.getType().name())
                 .set("interact-type", interactType);
         
-        // Check for MythicMobs using official API
-        mythicMobsHandler.populateMythicMobContext(entity, context);
-        
-        // Process the action and check if we should cancel
-        boolean shouldCancel = actionProcessor.processAction(player, ActionType.ENTITY_INTERACT, event, context);
+        boolean shouldCancel;
+        try {
+            // Check for MythicMobs using official API
+            mythicMobsHandler.populateMythicMobContext(entity, context);
+            
+            // Process the action and check if we should cancel
+            metrics.record(Stage.CONTEXT, ActionType.ENTITY_INTERACT, contextStart);
+            shouldCancel = actionProcessor.processAction(player, ActionType.ENTITY_INTERACT, event, context);
+        } finally {
+            context.release();
+        }
         if (shouldCancel) {
             event.setCancelled(true);
         }
         
-        processedEvents.incrementAndGet();
+        processedEvents.increment();
     }
     
     /**
@@ -485,7 +577,7 @@ public class JobActionListener implements Listener {
         
         if (!(event.getWhoClicked() instanceof Player player)) return;
         
-        totalEvents.incrementAndGet();
+        totalEvents.increment();
         
         ItemStack resultStack = event.getRecipe().getResult();
         ItemStack toCraft = event.getCurrentItem();
@@ -497,7 +589,7 @@ public class JobActionListener implements Listener {
         debugLogCraftEvent(player, event, toCraft);
         processCraftAction(player, event, resultStack, toCraft);
         
-        processedEvents.incrementAndGet();
+        processedEvents.increment();
     }
     
     /**
@@ -528,12 +620,6 @@ public class JobActionListener implements Listener {
      * Check if the craft event can be processed.
      */
     private boolean canProcessCraftEvent(Player player, CraftItemEvent event, ItemStack resultStack, ItemStack toCraft) {
-        // Check if inventory can accept the crafted items (prevent duplication)
-        if (event.isShiftClick() && !canInventoryAcceptItems(player.getInventory(), resultStack)) {
-            debugLog("Craft blocked - inventory cannot accept items with shift-click by " + player.getName());
-            return false;
-        }
-        
         // Make sure we are actually crafting anything
         return hasItems(toCraft);
     }
@@ -554,8 +640,13 @@ public class JobActionListener implements Listener {
      */
     private void processCraftAction(Player player, CraftItemEvent event, ItemStack resultStack, ItemStack toCraft) {
         if (event.isShiftClick()) {
-            // Use post-detection for shift-clicks
-            schedulePostDetection(player, toCraft.clone(), resultStack.clone());
+            // Bound the crafts up front, then verify on the next tick
+            int maxCrafts = CraftCountCalculator.maxCrafts(event.getInventory(), player.getInventory(), toCraft);
+            if (maxCrafts <= 0) {
+                debugLog("Craft blocked - inventory cannot accept items with shift-click by " + player.getName());
+                return;
+            }
+            schedulePostDetection(player, toCraft.clone(), resultStack.clone(), maxCrafts);
         } else {
             // Direct processing for normal clicks
             // The items are stored in the cursor. Make sure there's enough space.
@@ -566,6 +657,20 @@ public class JobActionListener implements Listener {
         }
     }
     
+    /**
+     * Check if any job may reward an action on a material, before building its context.
+     */
+    private boolean mayBeRewarded(ActionType actionType, Material material) {
+        return plugin.getJobManager().getTargetFilter().mayMatch(actionType, material);
+    }
+    
+    /**
+     * Check if any job may reward an action on an entity type, before building its context.
+     */
+    private boolean mayBeRewarded(ActionType actionType, EntityType entityType) {
+        return plugin.getJobManager().getTargetFilter().mayMatch(actionType, entityType);
+    }
+    
     /**
      * Helper method for debug logging.
      */
@@ -576,70 +681,41 @@ public class JobActionListener implements Listener {
     }
     
     /**
-     * Schedule post-detection for shift-click crafting
-     * Compare inventory before and after to determine actual crafted amount.
+     * Schedule post-detection for shift-click crafting.
+     * Compare the result slots of the inventory before and after to determine the actual crafted amount.
      * 
      * @param player The player crafting
-     * @param compareItem The item to compare
+     * @param compareItem The item in the result slot
      * @param resultStack The recipe result
+     * @param maxCrafts The maximum number of crafts the shift-click can execute
      */
-    private void schedulePostDetection(Player player, org.bukkit.inventory.ItemStack compareItem, org.bukkit.inventory.ItemStack resultStack) {
-        final org.bukkit.inventory.ItemStack[] preInv = cloneInventoryContents(player.getInventory().getContents());
+    private void schedulePostDetection(Player player, ItemStack compareItem, ItemStack resultStack, int maxCrafts) {
+        final int[] preAmounts = CraftCountCalculator.snapshot(player.getInventory(), compareItem);
         
-        // Schedule comparison for next tick
-        plugin.getServer().getScheduler().runTaskLater(plugin, () -> 
-            processPostDetectionComparison(player, compareItem, resultStack, preInv), 1L);
+        // Schedule comparison for next tick, on the thread owning the player
+        plugin.getFoliaManager().runAtEntityLater(player, () -> 
+            processPostDetectionComparison(player, compareItem, resultStack, preAmounts, maxCrafts), 1L);
     }
     
     /**
-     * Clone inventory contents to avoid mutation issues.
+     * Process the comparison between pre and post crafting result slots.
      */
-    private org.bukkit.inventory.ItemStack[] cloneInventoryContents(org.bukkit.inventory.ItemStack[] contents) {
-        org.bukkit.inventory.ItemStack[] cloned = new org.bukkit.inventory.ItemStack[contents.length];
-        for (int i = 0; i < contents.length; i++) {
-            if (contents[i] != null) {
-                cloned[i] = contents[i].clone();
-            }
+    private void processPostDetectionComparison(Player player, ItemStack compareItem, ItemStack resultStack,
+                                              int[] preAmounts, int maxCrafts) {
+        if (!player.isOnline()) {
+            return;
         }
-        return cloned;
-    }
-    
-    /**
-     * Process the comparison between pre and post crafting inventories.
-     */
-    private void processPostDetectionComparison(Player player, org.bukkit.inventory.ItemStack compareItem, 
-                                              org.bukkit.inventory.ItemStack resultStack, org.bukkit.inventory.ItemStack[] preInv) {
-        final org.bukkit.inventory.ItemStack[] postInv = player.getInventory().getContents();
-        int newItemsCount = calculateNewItemsCount(preInv, postInv, compareItem);
+        
+        int newItemsCount = CraftCountCalculator.countAdded(player.getInventory(), compareItem, preAmounts);
         
         if (resultStack != null && newItemsCount > 0) {
-            int craftCount = newItemsCount / resultStack.getAmount();
+            // Items added by something else during the tick are not crafts
+            int craftCount = Math.min(newItemsCount / compareItem.getAmount(), maxCrafts);
             debugLog("Post-detection: " + player.getName() + " crafted " + newItemsCount + " " + compareItem.getType() + " (" + craftCount + " crafts)");
             processCraftRewards(player, resultStack, craftCount);
         }
     }
     
-    /**
-     * Calculate the number of new items by comparing inventories.
-     */
-    private int calculateNewItemsCount(org.bukkit.inventory.ItemStack[] preInv, org.bukkit.inventory.ItemStack[] postInv, 
-                                     org.bukkit.inventory.ItemStack compareItem) {
-        int newItemsCount = 0;
-        
-        // Count new items by comparing before/after inventory
-        for (int i = 0; i < preInv.length; i++) {
-            org.bukkit.inventory.ItemStack pre = preInv[i];
-            org.bukkit.inventory.ItemStack post = postInv[i];
-            
-            // We're only interested in filled slots that are different
-            if (hasSameItem(compareItem, post) && (hasSameItem(compareItem, pre) || pre == null)) {
-                newItemsCount += post.getAmount() - (pre != null ? pre.getAmount() : 0);
-            }
-        }
-        
-        return newItemsCount;
-    }
-    
     /**
      * Process craft rewards for the player.
      * 
@@ -651,16 +727,20 @@ public class JobActionListener implements Listener {
         if (craftCount <= 0) return;
         
         // Create context with craft multiplier
-        ConditionContext context = new ConditionContext()
-                .setItem(resultStack)
-                .set(TARGET_KEY, resultStack.getType().name())
-                .set("amount", resultStack.getAmount() * craftCount)
-                .set("recipe_yield", resultStack.getAmount())
-                .set("recipe_executions", craftCount)
-                .set("craft_multiplier", craftCount);
-        
-        // Process the action with multiplier
-        actionProcessor.processAction(player, ActionType.CRAFT, null, context);
+        ConditionContext context = ConditionContext.acquire();
+        try {
+            context.setItem(resultStack)
+                   .set(TARGET_KEY, detectItemTarget(resultStack))
+                   .set("amount", resultStack.getAmount() * craftCount)
+                   .set("recipe_yield", resultStack.getAmount())
+                   .set("recipe_executions", craftCount)
+                   .set("craft_multiplier", craftCount);
+            
+            // Process the action with multiplier
+            actionProcessor.processAction(player, ActionType.CRAFT, null, context);
+        } finally {
+            context.release();
+        }
     }
     
     /**
@@ -673,23 +753,6 @@ public class JobActionListener implements Listener {
         return stack != null && stack.getAmount() > 0;
     }
     
-    /**
-     * Check if two ItemStacks are the same item (ignoring amount).
-     * 
-     * @param a First ItemStack
-     * @param b Second ItemStack
-     * @return true if they're the same item
-     */
-    private boolean hasSameItem(org.bukkit.inventory.ItemStack a, org.bukkit.inventory.ItemStack b) {
-        if (a == null) return b == null;
-        else if (b == null) return false;
-        
-        return a.getType() == b.getType() && 
-               a.getDurability() == b.getDurability() &&
-               java.util.Objects.equals(a.getEnchantments(), b.getEnchantments()) &&
-               java.util.Objects.equals(a.getItemMeta(), b.getItemMeta());
-    }
-    
     /**
      * Check if the sum of two stacks is legal (doesn't exceed max stack size).
      * 
@@ -705,49 +768,14 @@ public class JobActionListener implements Listener {
     }
     
     /**
-     * Check if an inventory can accept items by considering both empty slots and stackable items.
-     * 
-     * @param inventory The inventory to check
-     * @param itemToAdd The item that would be added
-     * @return true if the inventory can accept at least some of the items
-     */
-    private boolean canInventoryAcceptItems(org.bukkit.inventory.PlayerInventory inventory, org.bukkit.inventory.ItemStack itemToAdd) {
-        if (itemToAdd == null || itemToAdd.getAmount() <= 0) {
-            return true;
-        }
-        
-        // Check for empty slots first (fastest check)
-        if (inventory.firstEmpty() != -1) {
-            return true; // Has empty slots, can definitely accept items
-        }
-        
-        // No empty slots - check if we can stack with existing items
-        int maxStackSize = itemToAdd.getMaxStackSize();
-        
-        // Go through inventory slots (exclude armor, offhand, etc.)
-        for (int i = 0; i < 36; i++) { // Main inventory slots (0-35)
-            org.bukkit.inventory.ItemStack slot = inventory.getItem(i);
-            
-            if (slot != null && hasSameItem(itemToAdd, slot)) {
-                // Found same item - check if we can add to this stack
-                if (slot.getAmount() < maxStackSize) {
-                    return true; // Can stack with this item
-                }
-            }
-        }
-        
-        // No empty slots and no stackable items found
-        return false;
-    }
-    
-    /**
-     * Track furnace interactions to know who should get XP for smelting.
-     * Monitors when players put items into furnace input slots.
+     * Track furnace, smoker and brewing stand interactions to know who should get XP
+     * for smelting and brewing. Monitors when players put items into the station,
+     * either with the cursor or by shift-clicking from their own inventory.
      */
     @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
     public void onInventoryClick(InventoryClickEvent event) {
-        // Only track furnace inventories
-        if (event.getInventory().getType() != InventoryType.FURNACE) {
+        // Only track furnace-like and brewing stand inventories
+        if (!FurnaceOwnerTracker.isTracked(event.getInventory().getType())) {
             return;
         }
         
@@ -756,43 +784,41 @@ public class JobActionListener implements Listener {
             return;
         }
         
-        // Skip if not putting items into the furnace (slot 0 = input, slot 1 = fuel, slot 2 = result)
-        if (event.getSlot() != 0 && event.getSlot() != 1) {
-            return; // Only track input and fuel slots
-        }
-        
-        // Skip if removing items (empty cursor means putting items in)
-        if (event.getCursor() == null || event.getCursor().getType().isAir()) {
-            return; // Not adding items to furnace
+        if (!isLoadingStation(event)) {
+            return; // Not adding items to the station
         }
         
-        // Get furnace location as key
-        org.bukkit.Location furnaceLocation = event.getInventory().getLocation();
-        if (furnaceLocation == null) {
+        org.bukkit.Location stationLocation = event.getInventory().getLocation();
+        if (stationLocation == null) {
             return;
         }
         
-        String furnaceKey = locationToKey(furnaceLocation);
-        long currentTime = System.currentTimeMillis();
-        
-        // Track this player as the owner of this furnace
-        furnaceOwners.put(furnaceKey, player.getUniqueId());
-        furnaceLastUse.put(furnaceKey, currentTime);
+        plugin.getFurnaceOwnerTracker().recordUse(stationLocation, player.getUniqueId());
         
         if (plugin.getConfigManager().isDebugEnabled()) {
-            plugin.getLogger().info("Furnace owner tracked: " + player.getName() + 
-                " at " + furnaceLocation.toString() + " (slot " + event.getSlot() + ")");
+            plugin.getLogger().info("Station owner tracked: " + player.getName() + 
+                " at " + stationLocation + " (raw slot " + event.getRawSlot() + ")");
         }
     }
     
     /**
-     * Convert location to string key for furnace tracking.
+     * Check if a click puts items into the station itself.
+     * Raw slots below the top inventory size belong to the station; the result slot
+     * of furnaces (2) only allows taking items out.
      */
-    private String locationToKey(org.bukkit.Location location) {
-        return location.getWorld().getName() + ":" + 
-               location.getBlockX() + ":" + 
-               location.getBlockY() + ":" + 
-               location.getBlockZ();
+    private boolean isLoadingStation(InventoryClickEvent event) {
+        int topSize = event.getView().getTopInventory().getSize();
+        int rawSlot = event.getRawSlot();
+        
+        if (rawSlot >= topSize) {
+            // Shift-click from the player inventory moves the item into the station
+            return event.isShiftClick() && event.getCurrentItem() != null && !event.getCurrentItem().getType().isAir();
+        }
+        
+        if (event.getInventory().getType() != InventoryType.BREWING && rawSlot == 2) {
+            return false;
+        }
+        return event.getCursor() != null && !event.getCursor().getType().isAir();
     }
     
     /**
@@ -802,7 +828,7 @@ public class JobActionListener implements Listener {
     @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
     public void onFurnaceSmelt(FurnaceSmeltEvent event) {
         // Find the player who owns this furnace by checking our tracking system
-        Player player = getFurnaceOwner(event.getBlock().getLocation());
+        Player player = getStationOwner(event.getBlock().getLocation());
         
         if (player == null) {
             if (plugin.getConfigManager().isDebugEnabled()) {
@@ -812,7 +838,7 @@ public class JobActionListener implements Listener {
         }
         
         // Rate limiting check
-        totalEvents.incrementAndGet();
+        totalEvents.increment();
         
         ItemStack result = event.getResult();
         if (result == null) {
@@ -841,7 +867,7 @@ public class JobActionListener implements Listener {
             
             // Process the action
             actionProcessor.processAction(player, ActionType.SMELT, event, context);
-            processedEvents.incrementAndGet();
+            processedEvents.increment();
             
         } catch (Exception e) {
             plugin.getLogger().warning("Error processing SMELT action for player " + player.getName() + ": " + e.getMessage());
@@ -849,152 +875,71 @@ public class JobActionListener implements Listener {
     }
     
     /**
-     * Get the owner of a furnace based on our tracking system.
-     * Returns the player who last put items into this furnace.
+     * Handle potion brewing (BREW action).
+     * Rewards the player who last loaded the brewing stand once per brewed potion.
      */
-    private Player getFurnaceOwner(org.bukkit.Location furnaceLocation) {
-        String furnaceKey = locationToKey(furnaceLocation);
-        UUID ownerUUID = furnaceOwners.get(furnaceKey);
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBrew(BrewEvent event) {
+        Player player = getStationOwner(event.getBlock().getLocation());
         
-        if (ownerUUID == null) {
-            return null; // No tracked owner
+        if (player == null) {
+            if (plugin.getConfigManager().isDebugEnabled()) {
+                plugin.getLogger().info("No tracked owner for brewing stand at " + event.getBlock().getLocation() + " - no XP awarded");
+            }
+            return; // No tracked owner for this brewing stand
         }
         
-        Player owner = plugin.getServer().getPlayer(ownerUUID);
-        if (owner == null || !owner.isOnline()) {
-            // Player is offline, clean up tracking
-            furnaceOwners.remove(furnaceKey);
-            furnaceLastUse.remove(furnaceKey);
-            return null;
-        }
+        totalEvents.increment();
         
-        // Check if the tracking is too old (30 minutes max)
-        Long lastUse = furnaceLastUse.get(furnaceKey);
-        if (lastUse != null && (System.currentTimeMillis() - lastUse) > 30 * 60 * 1000L) {
-            // Tracking expired, clean up
-            furnaceOwners.remove(furnaceKey);
-            furnaceLastUse.remove(furnaceKey);
-            return null;
+        for (ItemStack result : event.getResults()) {
+            if (result == null || result.getType().isAir()) {
+                continue;
+            }
+            
+            ConditionContext context = ConditionContext.acquire();
+            try {
+                context.setItem(result)
+                       .set(TARGET_KEY, detectItemTarget(result))
+                       .set("amount", result.getAmount());
+                addPotionContext(result, context);
+                
+                actionProcessor.processAction(player, ActionType.BREW, event, context);
+                processedEvents.increment();
+            } catch (Exception e) {
+                plugin.getLogger().warning("Error processing BREW action for player " + player.getName() + ": " + e.getMessage());
+            } finally {
+                context.release();
+            }
         }
-        
-        return owner;
     }
     
     /**
-     * Detect the target format for an item, supporting all plugin formats.
-     * Returns the appropriate target string for nexo:, itemsadder:, customfishing:, customcrops:, or vanilla items.
+     * Get the owner of a furnace, smoker or brewing stand based on our tracking system.
+     * Returns the player who last put items into this station, if still online.
      */
-    private String detectItemTarget(ItemStack item) {
-        if (item == null) {
-            return "AIR";
-        }
-        
-        // Try to detect Nexo items
-        String nexoTarget = detectNexoItem(item);
-        if (nexoTarget != null) {
-            return nexoTarget;
-        }
+    private Player getStationOwner(org.bukkit.Location stationLocation) {
+        UUID ownerUUID = plugin.getFurnaceOwnerTracker().getOwner(stationLocation);
         
-        // Try to detect ItemsAdder items
-        String itemsAdderTarget = detectItemsAdderItem(item);
-        if (itemsAdderTarget != null) {
-            return itemsAdderTarget;
-        }
-        
-        // Try to detect CustomFishing items
-        String customFishingTarget = detectCustomFishingItem(item);
-        if (customFishingTarget != null) {
-            return customFishingTarget;
+        if (ownerUUID == null) {
+            return null; // No tracked owner or tracking expired
         }
         
-        // Try to detect CustomCrops items
-        String customCropsTarget = detectCustomCropsItem(item);
-        if (customCropsTarget != null) {
-            return customCropsTarget;
+        Player owner = plugin.getServer().getPlayer(ownerUUID);
+        if (owner == null || !owner.isOnline()) {
+            // Player is offline, clean up tracking
+            plugin.getFurnaceOwnerTracker().remove(stationLocation);
+            return null;
         }
         
-        // Fallback to vanilla item name
-        return item.getType().name();
-    }
-    
-    /**
-     * Detect Nexo items by checking for Nexo-specific metadata.
-     */
-    private String detectNexoItem(ItemStack item) {
-        try {
-            // Try to use Nexo API if available
-            if (plugin.getServer().getPluginManager().isPluginEnabled("Nexo") && item.hasItemMeta() && item.getItemMeta().hasCustomModelData()) {
-                // Nexo items typically have specific NBT tags or custom model data
-                // This is a basic detection - in a real implementation,
-                // you'd use the Nexo API to properly identify items
-                return "nexo:item_" + item.getItemMeta().getCustomModelData();
-            }
-        } catch (Exception e) {
-            // Nexo not available or error occurred
-        }
-        return null;
-    }
-    
-    /**
-     * Detect ItemsAdder items by checking for ItemsAdder-specific metadata.
-     */
-    private String detectItemsAdderItem(ItemStack item) {
-        try {
-            // Try to use ItemsAdder API if available
-            if (plugin.getServer().getPluginManager().isPluginEnabled("ItemsAdder") && item.hasItemMeta() && item.getItemMeta().hasCustomModelData()) {
-                // ItemsAdder items typically have specific NBT tags
-                // This is a basic detection - in a real implementation,
-                // you'd use the ItemsAdder API to properly identify items
-                return "itemsadder:item_" + item.getItemMeta().getCustomModelData();
-            }
-        } catch (Exception e) {
-            // ItemsAdder not available or error occurred
-        }
-        return null;
-    }
-    
-    /**
-     * Detect CustomFishing items by checking for CustomFishing-specific metadata.
-     */
-    private String detectCustomFishingItem(ItemStack item) {
-        try {
-            // Try to use CustomFishing API if available
-            if (plugin.getServer().getPluginManager().isPluginEnabled("CustomFishing") && item.hasItemMeta()) {
-                // Check for fish-like items or CustomFishing NBT
-                String displayName = item.getItemMeta().getDisplayName();
-                if (displayName != null && !displayName.isEmpty()) {
-                    String cleanName = displayName.replaceAll(COLOR_CODE_PATTERN, "").toLowerCase();
-                    if (cleanName.contains("fish") || cleanName.contains("catch")) {
-                        return "customfishing:" + cleanName.replaceAll("[^a-z0-9]", "_");
-                    }
-                }
-            }
-        } catch (Exception e) {
-            // CustomFishing not available or error occurred
-        }
-        return null;
+        return owner;
     }
     
     /**
-     * Detect CustomCrops items by checking for CustomCrops-specific metadata.
+     * Detect the target format for an item, supporting all plugin formats.
+     * Returns the appropriate target string for nexo:, itemsadder:, customfishing:, customcrops:, or vanilla items.
      */
-    private String detectCustomCropsItem(ItemStack item) {
-        try {
-            // Try to use CustomCrops API if available
-            if (plugin.getServer().getPluginManager().isPluginEnabled("CustomCrops") && item.hasItemMeta()) {
-                // Check for crop-like items or CustomCrops NBT
-                String displayName = item.getItemMeta().getDisplayName();
-                if (displayName != null && !displayName.isEmpty()) {
-                    String cleanName = displayName.replaceAll(COLOR_CODE_PATTERN, "").toLowerCase();
-                    if (cleanName.contains("crop") || cleanName.contains("seed") || cleanName.contains("harvest")) {
-                        return "customcrops:" + cleanName.replaceAll("[^a-z0-9]", "_");
-                    }
-                }
-            }
-        } catch (Exception e) {
-            // CustomCrops not available or error occurred
-        }
-        return null;
+    private String detectItemTarget(ItemStack item) {
+        return plugin.getItemTargetRegistry().resolveTarget(item);
     }
     
     /**
@@ -1026,7 +971,7 @@ public class JobActionListener implements Listener {
         }
         
         // Rate limiting check
-        totalEvents.incrementAndGet();
+        totalEvents.increment();
         
         try {
             // Get merchant inventory to find the villager
@@ -1063,7 +1008,7 @@ public class JobActionListener implements Listener {
                 event.setCancelled(true);
             }
             
-            processedEvents.incrementAndGet();
+            processedEvents.increment();
             
         } catch (Exception e) {
             plugin.getLogger().warning("Error processing TRADE action for player " + player.getName() + ": " + e.getMessage());
@@ -1073,32 +1018,26 @@ public class JobActionListener implements Listener {
     /**
      * Add custom item context information including NBT data.
      * Supports MMOItems, CustomCrops, CustomFishing, Nexo, and ItemsAdder.
+     * Detection is lazy: each plugin is only queried if an action or condition reads its key.
      */
     private void addCustomItemContext(ItemStack item, ConditionContext context) {
         if (!item.hasItemMeta()) {
             return;
         }
         
-        try {
-            // Check for MMOItems NBT
-            String mmoItemsNBT = detectMMOItemsNBT(item);
-            if (mmoItemsNBT != null) {
-                context.set("nbt", mmoItemsNBT);
-                context.set("mmoitems_type", mmoItemsNBT);
-                
-                if (plugin.getConfigManager().isDebugEnabled()) {
-                    plugin.getLogger().info("Detected MMOItems NBT: " + mmoItemsNBT);
+        context.setLazy("mmoitems_type", () -> detectMMOItemsNBT(item));
+        addPluginSpecificContext(item, context);
+        
+        // Last detected plugin wins, as when the keys were filled eagerly
+        context.setLazy("nbt", () -> {
+            for (String key : CUSTOM_ITEM_NBT_KEYS) {
+                String id = context.get(key);
+                if (id != null) {
+                    return id;
                 }
             }
-            
-            // Check for other plugin NBTs/metadata
-            addPluginSpecificContext(item, context);
-            
-        } catch (Exception e) {
-            if (plugin.getConfigManager().isDebugEnabled()) {
-                plugin.getLogger().warning("Error detecting custom item context: " + e.getMessage());
-            }
-        }
+            return null;
+        });
     }
     
     /**
@@ -1114,7 +1053,11 @@ public class JobActionListener implements Listener {
                     if (displayName.contains("§") && item.getItemMeta().hasLore()) {
                         // This is a simplified detection - MMOItems usually have specific NBT
                         // You would need MMOItems API for proper detection
-                        return "MMOITEMS:CONSUMABLE:" + displayName.replaceAll(COLOR_CODE_PATTERN, "").replaceAll("[^A-Z0-9]", "_").toUpperCase();
+                        String nbt = "MMOITEMS:CONSUMABLE:" + displayName.replaceAll(COLOR_CODE_PATTERN, "").replaceAll("[^A-Z0-9]", "_").toUpperCase();
+                        if (plugin.getConfigManager().isDebugEnabled()) {
+                            plugin.getLogger().info("Detected MMOItems NBT: " + nbt);
+                        }
+                        return nbt;
                     }
                 }
             }
@@ -1125,43 +1068,14 @@ public class JobActionListener implements Listener {
     }
     
     /**
-     * Add plugin-specific context for CustomCrops, CustomFishing, Nexo, and ItemsAdder.
+     * Add plugin-specific context for CustomCrops, CustomFishing, Nexo, and ItemsAdder
+     * (e.g. "nexo_id" for a Nexo item).
      */
     private void addPluginSpecificContext(ItemStack item, ConditionContext context) {
-        // Check for CustomCrops items
-        if (plugin.getServer().getPluginManager().isPluginEnabled("CustomCrops")) {
-            String customCropsId = detectCustomCropsItem(item);
-            if (customCropsId != null) {
-                context.set("customcrops_id", customCropsId);
-                context.set("nbt", customCropsId);
-            }
-        }
-        
-        // Check for CustomFishing items
-        if (plugin.getServer().getPluginManager().isPluginEnabled("CustomFishing")) {
-            String customFishingId = detectCustomFishingItem(item);
-            if (customFishingId != null) {
-                context.set("customfishing_id", customFishingId);
-                context.set("nbt", customFishingId);
-            }
-        }
-        
-        // Check for Nexo items
-        if (plugin.getServer().getPluginManager().isPluginEnabled("Nexo")) {
-            String nexoId = detectNexoItem(item);
-            if (nexoId != null) {
-                context.set("nexo_id", nexoId);
-                context.set("nbt", nexoId);
-            }
-        }
-        
-        // Check for ItemsAdder items
-        if (plugin.getServer().getPluginManager().isPluginEnabled("ItemsAdder")) {
-            String itemsAdderId = detectItemsAdderItem(item);
-            if (itemsAdderId != null) {
-                context.set("itemsadder_id", itemsAdderId);
-                context.set("nbt", itemsAdderId);
-            }
+        String target = detectItemTarget(item);
+        int separator = target.indexOf(':');
+        if (separator > 0) {
+            context.set(target.substring(0, separator) + "_id", target);
         }
     }
     
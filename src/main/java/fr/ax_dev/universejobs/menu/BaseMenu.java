@@ -31,7 +31,7 @@ public abstract class BaseMenu implements InventoryHolder {
     protected final Player player;
     protected final SingleMenuConfig config;
     protected Inventory inventory;
-    protected int currentPage = 0;
+    protected volatile int currentPage = 0;
     
     public BaseMenu(UniverseJobs plugin, Player player, SingleMenuConfig config) {
         this.plugin = plugin;
@@ -109,6 +109,14 @@ public abstract class BaseMenu implements InventoryHolder {
      * Create an ItemStack from a MenuItemConfig with custom placeholders using existing ItemBuilder.
      */
     protected ItemStack createMenuItem(MenuItemConfig itemConfig, Map<String, String> customPlaceholders) {
+        return createMenuItem(itemConfig, customPlaceholders, true);
+    }
+    
+    /**
+     * Create an ItemStack from a MenuItemConfig, optionally skipping PlaceholderAPI.
+     * Items built off the main thread should pass false, as PlaceholderAPI expansions are not thread-safe.
+     */
+    protected ItemStack createMenuItem(MenuItemConfig itemConfig, Map<String, String> customPlaceholders, boolean processPapi) {
         // Use existing ItemBuilder instead of duplicating functionality
         ItemBuilder builder = ItemBuilder.fromMaterialName(plugin, itemConfig.getMaterial())
                 .amount(itemConfig.getAmount());
@@ -118,7 +126,7 @@ public abstract class BaseMenu implements InventoryHolder {
         if (customPlaceholders != null) {
             displayName = replacePlaceholders(displayName, customPlaceholders);
         }
-        displayName = processPlaceholders(displayName);
+        displayName = processPapi ? processPlaceholders(displayName) : (displayName != null ? displayName : "");
         builder.name(displayName);
         
         // Process lore
@@ -128,7 +136,7 @@ public abstract class BaseMenu implements InventoryHolder {
             if (customPlaceholders != null) {
                 processedLore = replacePlaceholders(processedLore, customPlaceholders);
             }
-            processedLore = processPlaceholders(processedLore);
+            processedLore = processPapi ? processPlaceholders(processedLore) : (processedLore != null ? processedLore : "");
             lore.add(processedLore);
         }
         builder.lore(lore);
@@ -2,33 +2,45 @@ package fr.ax_dev.universejobs.menu.impl;
 
 import fr.ax_dev.universejobs.UniverseJobs;
 import fr.ax_dev.universejobs.job.Job;
-import fr.ax_dev.universejobs.job.PlayerJobData;
+import fr.ax_dev.universejobs.leaderboard.LeaderboardEntry;
+import fr.ax_dev.universejobs.leaderboard.LeaderboardSnapshot;
 import fr.ax_dev.universejobs.menu.BaseMenu;
 import fr.ax_dev.universejobs.menu.config.MenuItemConfig;
 import fr.ax_dev.universejobs.menu.config.SingleMenuConfig;
 import fr.ax_dev.universejobs.menu.config.SimpleConfigurationSection;
 import fr.ax_dev.universejobs.menu.utils.MenuItemUtils;
-import org.bukkit.Bukkit;
-import org.bukkit.OfflinePlayer;
 import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.inventory.ItemStack;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 /**
  * Menu showing global job rankings for all jobs.
+ * Rankings come from the published leaderboard snapshot; ranking items are built
+ * asynchronously one page at a time and only slot assignment happens on the main thread.
  */
 public class GlobalRankingsMenu extends BaseMenu {
     
-    private final Map<String, List<RankingEntry>> jobRankings;
     private final List<String> availableJobs;
-    private String selectedJob;
+    private final List<Integer> contentSlots;
+    private final int pageSize;
+    private volatile String selectedJob;
+    
+    // Snapshot the menu is paging through; replaced when the selected job changes
+    private volatile LeaderboardSnapshot snapshot;
+    private final Map<Integer, ItemStack[]> renderedPages = new ConcurrentHashMap<>();
+    // Renders in flight, keyed by generation and page
+    private final Set<Long> pendingPages = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger renderGeneration = new AtomicInteger();
     
     public GlobalRankingsMenu(UniverseJobs plugin, org.bukkit.entity.Player player, SingleMenuConfig config) {
         super(plugin, player, config);
         
-        this.jobRankings = new HashMap<>();
+        this.contentSlots = config.getContentSlots();
+        this.pageSize = Math.max(1, Math.min(config.getItemsPerPage(), contentSlots.size()));
         this.availableJobs = plugin.getJobManager().getJobs().values().stream()
             .filter(Job::isEnabled)
             .map(Job::getId)
@@ -37,61 +49,17 @@ public class GlobalRankingsMenu extends BaseMenu {
         
         this.selectedJob = availableJobs.isEmpty() ? null : availableJobs.get(0);
         
-        loadRankings();
+        this.snapshot = plugin.getLeaderboardPublisher().getSnapshot();
         
         // Populate inventory after all fields are initialized
         populateInventory();
     }
     
     /**
-     * Load rankings for all jobs.
-     */
-    private void loadRankings() {
-        for (String jobId : availableJobs) {
-            List<RankingEntry> rankings = calculateJobRankings(jobId);
-            jobRankings.put(jobId, rankings);
-        }
-    }
-    
-    /**
-     * Calculate rankings for a specific job.
+     * Get the ranking of the selected job from the menu's snapshot.
      */
-    private List<RankingEntry> calculateJobRankings(String jobId) {
-        List<RankingEntry> rankings = new ArrayList<>();
-        
-        // Get all player data and calculate rankings
-        Map<UUID, PlayerJobData> allPlayerData = plugin.getJobManager().getAllPlayerData();
-        
-        for (Map.Entry<UUID, PlayerJobData> entry : allPlayerData.entrySet()) {
-            UUID playerId = entry.getKey();
-            PlayerJobData playerData = entry.getValue();
-            
-            if (playerData.hasJob(jobId)) {
-                int level = playerData.getLevel(jobId);
-                long xp = (long) playerData.getXp(jobId);
-                
-                OfflinePlayer offlinePlayer = Bukkit.getOfflinePlayer(playerId);
-                String playerName = offlinePlayer.getName();
-                
-                if (playerName != null) {
-                    rankings.add(new RankingEntry(playerId, playerName, level, xp));
-                }
-            }
-        }
-        
-        // Sort by level (descending), then by XP (descending)
-        rankings.sort((a, b) -> {
-            int levelCompare = Integer.compare(b.level, a.level);
-            if (levelCompare != 0) return levelCompare;
-            return Long.compare(b.xp, a.xp);
-        });
-        
-        // Assign ranks
-        for (int i = 0; i < rankings.size(); i++) {
-            rankings.get(i).rank = i + 1;
-        }
-        
-        return rankings;
+    private LeaderboardSnapshot.Board getSelectedBoard() {
+        return selectedJob != null ? snapshot.getJobBoard(selectedJob) : LeaderboardSnapshot.Board.EMPTY;
     }
     
     @Override
@@ -139,32 +107,29 @@ public class GlobalRankingsMenu extends BaseMenu {
      * Create header item for selected job.
      */
     private ItemStack createHeaderItem(Job job) {
-        List<RankingEntry> rankings = jobRankings.getOrDefault(selectedJob, new ArrayList<>());
+        LeaderboardSnapshot.Board rankings = getSelectedBoard();
         
         List<String> lore = new ArrayList<>();
         lore.add("&7Global rankings for this job");
         lore.add("");
-        lore.add("&7Total Players: &e" + rankings.size());
+        lore.add("&7Total Players: &e" + rankings.getTotal());
         
-        if (!rankings.isEmpty()) {
-            RankingEntry topPlayer = rankings.get(0);
-            lore.add("&7Top Player: &a" + topPlayer.playerName);
-            lore.add("&7Top Level: &e" + topPlayer.level);
+        LeaderboardEntry topPlayer = rankings.getEntry(1);
+        if (topPlayer != null) {
+            lore.add("&7Top Player: &a" + topPlayer.getPlayerName());
+            lore.add("&7Top Level: &e" + topPlayer.getLevel());
         }
         
-        // Find player's rank
-        UUID playerUUID = player.getUniqueId();
-        Optional<RankingEntry> playerRanking = rankings.stream()
-            .filter(entry -> entry.playerId.equals(playerUUID))
-            .findFirst();
+        // Find player's rank (ranks outside the loaded top come from the database when enabled)
+        int playerRank = plugin.getLeaderboardPublisher().getJobRank(selectedJob, player.getUniqueId());
         
-        if (playerRanking.isPresent()) {
-            RankingEntry entry = playerRanking.get();
+        if (playerRank > 0) {
+            var playerData = plugin.getJobManager().getPlayerData(player);
             lore.add("");
             lore.add("&6Your Ranking:");
-            lore.add("&7Rank: &e#" + entry.rank);
-            lore.add("&7Level: &a" + entry.level);
-            lore.add("&7XP: &b" + entry.xp);
+            lore.add("&7Rank: &e#" + playerRank);
+            lore.add("&7Level: &a" + playerData.getLevel(selectedJob));
+            lore.add("&7XP: &b" + (long) playerData.getXp(selectedJob));
         } else {
             lore.add("");
             lore.add("&6Your Ranking:");
@@ -224,12 +189,10 @@ public class GlobalRankingsMenu extends BaseMenu {
      * Create job selection button.
      */
     private ItemStack createJobSelectionButton(Job job, boolean selected) {
-        List<RankingEntry> rankings = jobRankings.getOrDefault(job.getId(), new ArrayList<>());
-        
         List<String> lore = new ArrayList<>();
         lore.add("&7Click to view rankings for this job");
         lore.add("");
-        lore.add("&7Players: &e" + rankings.size());
+        lore.add("&7Players: &e" + snapshot.getJobBoard(job.getId()).getTotal());
         
         if (selected) {
             lore.add("");
@@ -252,62 +215,130 @@ public class GlobalRankingsMenu extends BaseMenu {
     }
     
     /**
-     * Add ranking entries to the menu.
+     * Add ranking entries to the menu. A page that was already rendered is placed immediately;
+     * otherwise it is built asynchronously and placed when ready.
      */
     private void addRankingEntries() {
         if (selectedJob == null) return;
         
-        List<RankingEntry> rankings = jobRankings.getOrDefault(selectedJob, new ArrayList<>());
-        if (rankings.isEmpty()) return;
+        ItemStack[] page = renderedPages.get(currentPage);
+        if (page != null) {
+            placeRankingItems(page);
+            prefetchAround(currentPage);
+            return;
+        }
+        
+        renderPageAsync(currentPage, true);
+    }
+    
+    /**
+     * Build the items of a page off the main thread. Once done, the items are placed if the
+     * page is being viewed, even when the render was a prefetch.
+     *
+     * @param prefetch true to render the neighbouring pages afterwards
+     */
+    private void renderPageAsync(int page, boolean prefetch) {
+        int generation = renderGeneration.get();
+        long pendingKey = ((long) generation << 32) | (page & 0xFFFFFFFFL);
+        if (!pendingPages.add(pendingKey)) return;
         
-        List<Integer> contentSlots = config.getContentSlots();
-        int startIndex = currentPage * config.getItemsPerPage();
-        int endIndex = Math.min(startIndex + config.getItemsPerPage(), rankings.size());
+        LeaderboardSnapshot.Board board = getSelectedBoard();
         
-        for (int i = startIndex; i < endIndex; i++) {
-            RankingEntry entry = rankings.get(i);
-            int slotIndex = i - startIndex;
-            
-            if (slotIndex >= contentSlots.size()) break;
-            
-            int slot = contentSlots.get(slotIndex);
-            ItemStack rankingItem = createRankingItem(entry);
-            inventory.setItem(slot, rankingItem);
+        plugin.getFoliaManager().runAsync(() -> {
+            try {
+                ItemStack[] items = renderPage(board, page);
+                if (generation != renderGeneration.get()) return;
+                
+                renderedPages.put(page, items);
+                if (currentPage == page) {
+                    plugin.getFoliaManager().runAtEntity(player, () -> {
+                        if (generation == renderGeneration.get() && currentPage == page) {
+                            placeRankingItems(items);
+                        }
+                    });
+                }
+                if (prefetch) {
+                    prefetchAround(page);
+                }
+            } catch (Exception e) {
+                plugin.getLogger().warning("Failed to render rankings page " + page + ": " + e.getMessage());
+            } finally {
+                pendingPages.remove(pendingKey);
+            }
+        });
+    }
+    
+    /**
+     * Render the neighbouring pages so page flips are instantaneous.
+     */
+    private void prefetchAround(int page) {
+        int pageCount = (getSelectedBoard().size() + pageSize - 1) / pageSize;
+        for (int neighbour : new int[]{page + 1, page - 1}) {
+            if (neighbour >= 0 && neighbour < pageCount && !renderedPages.containsKey(neighbour)) {
+                renderPageAsync(neighbour, false);
+            }
+        }
+    }
+    
+    /**
+     * Build the ranking items of a page. Safe to call off the main thread.
+     */
+    private ItemStack[] renderPage(LeaderboardSnapshot.Board board, int page) {
+        int startPosition = page * pageSize + 1;
+        int endPosition = Math.min(startPosition + pageSize - 1, board.size());
+        if (endPosition < startPosition) {
+            return new ItemStack[0];
+        }
+        
+        ItemStack[] items = new ItemStack[endPosition - startPosition + 1];
+        for (int position = startPosition; position <= endPosition; position++) {
+            items[position - startPosition] = createRankingItem(board.getEntry(position), position);
+        }
+        return items;
+    }
+    
+    /**
+     * Assign rendered items to the content slots. Must run on the player's thread.
+     */
+    private void placeRankingItems(ItemStack[] items) {
+        for (int i = 0; i < items.length && i < contentSlots.size(); i++) {
+            inventory.setItem(contentSlots.get(i), items[i]);
         }
     }
     
     /**
      * Create ranking entry item.
      */
-    private ItemStack createRankingItem(RankingEntry entry) {
+    private ItemStack createRankingItem(LeaderboardEntry entry, int rank) {
         // Choose material based on rank
-        String material = getRankMaterial(entry.rank);
-        String rankColor = getRankColor(entry.rank);
+        String material = getRankMaterial(rank);
+        String rankColor = getRankColor(rank);
+        boolean self = entry.getPlayerUuid().equals(player.getUniqueId());
+        long xp = (long) entry.getXp();
         
         List<String> lore = new ArrayList<>();
-        lore.add("&7Player: &f" + entry.playerName);
-        lore.add("&7Level: &a" + entry.level);
-        lore.add("&7Total XP: &b" + entry.xp);
+        lore.add("&7Player: &f" + entry.getPlayerName());
+        lore.add("&7Level: &a" + entry.getLevel());
+        lore.add("&7Total XP: &b" + xp);
         
         // Show if it's the current player
-        if (entry.playerId.equals(player.getUniqueId())) {
+        if (self) {
             lore.add("");
             lore.add("&e⭐ This is you!");
         }
         
         Map<String, String> placeholders = new HashMap<>();
-        placeholders.put("rank", String.valueOf(entry.rank));
-        placeholders.put("player", entry.playerName);
-        placeholders.put("level", String.valueOf(entry.level));
-        placeholders.put("xp", String.valueOf(entry.xp));
+        placeholders.put("rank", String.valueOf(rank));
+        placeholders.put("player", entry.getPlayerName());
+        placeholders.put("level", String.valueOf(entry.getLevel()));
+        placeholders.put("xp", String.valueOf(xp));
         
         Map<String, Object> configMap = MenuItemUtils.createItemConfigMap(
-            material, rankColor + "#" + entry.rank + " - " + entry.playerName, lore, 
-            entry.playerId.equals(player.getUniqueId())
+            material, rankColor + "#" + rank + " - " + entry.getPlayerName(), lore, self
         );
         
         MenuItemConfig itemConfig = new MenuItemConfig(new SimpleConfigurationSection(configMap));
-        return createMenuItem(itemConfig, placeholders);
+        return createMenuItem(itemConfig, placeholders, false);
     }
     
     /**
@@ -349,6 +380,7 @@ public class GlobalRankingsMenu extends BaseMenu {
                 if (!newSelectedJob.equals(selectedJob)) {
                     selectedJob = newSelectedJob;
                     currentPage = 0; // Reset to first page
+                    resetRenderedPages();
                     refresh();
                 }
             }
@@ -356,7 +388,6 @@ public class GlobalRankingsMenu extends BaseMenu {
         }
         
         // Handle ranking item clicks (for future expansion - maybe show player details)
-        List<Integer> contentSlots = config.getContentSlots();
         if (contentSlots.contains(slot)) {
             // Could implement player profile viewing here
         }
@@ -366,8 +397,22 @@ public class GlobalRankingsMenu extends BaseMenu {
     protected boolean hasNextPage() {
         if (selectedJob == null) return false;
         
-        List<RankingEntry> rankings = jobRankings.getOrDefault(selectedJob, new ArrayList<>());
-        return (currentPage + 1) * config.getItemsPerPage() < rankings.size();
+        return (currentPage + 1) * pageSize < getSelectedBoard().size();
+    }
+    
+    @Override
+    public void onClose() {
+        resetRenderedPages();
+    }
+    
+    /**
+     * Drop rendered pages and pick up the latest snapshot. Pending renders are discarded.
+     */
+    private void resetRenderedPages() {
+        renderGeneration.incrementAndGet();
+        renderedPages.clear();
+        pendingPages.clear();
+        snapshot = plugin.getLeaderboardPublisher().getSnapshot();
     }
     
     @Override
@@ -379,12 +424,11 @@ public class GlobalRankingsMenu extends BaseMenu {
      * Get navigation placeholders.
      */
     private Map<String, String> getNavigationPlaceholders() {
-        List<RankingEntry> rankings = selectedJob != null ? 
-            jobRankings.getOrDefault(selectedJob, new ArrayList<>()) : new ArrayList<>();
+        int totalPlayers = getSelectedBoard().size();
         
         Map<String, String> placeholders = MenuItemUtils.createNavigationPlaceholders(
-            currentPage, rankings.size(), config.getItemsPerPage());
-        placeholders.put("total_players", String.valueOf(rankings.size()));
+            currentPage, totalPlayers, pageSize);
+        placeholders.put("total_players", String.valueOf(totalPlayers));
         placeholders.put("selected_job", selectedJob != null ? selectedJob : "None");
         return placeholders;
     }
@@ -414,23 +458,4 @@ public class GlobalRankingsMenu extends BaseMenu {
         };
     }
     
-    
-    /**
-     * Container for ranking entry.
-     */
-    private static class RankingEntry {
-        final UUID playerId;
-        final String playerName;
-        final int level;
-        final long xp;
-        int rank;
-        
-        RankingEntry(UUID playerId, String playerName, int level, long xp) {
-            this.playerId = playerId;
-            this.playerName = playerName;
-            this.level = level;
-            this.xp = xp;
-        }
-    }
-    
 }
\ No newline at end of file
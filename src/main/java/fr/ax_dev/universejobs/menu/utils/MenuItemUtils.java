@@ -120,6 +120,7 @@ public class MenuItemUtils {
             case FISH -> "FISHING_ROD";
             case CRAFT -> "CRAFTING_TABLE";
             case SMELT -> "FURNACE";
+            case BREW -> "BREWING_STAND";
             case ENCHANT -> "ENCHANTING_TABLE";
             case TRADE -> "EMERALD";
             case TAME -> "BONE";
@@ -3,32 +3,32 @@ package fr.ax_dev.universejobs.placeholder;
 import fr.ax_dev.universejobs.UniverseJobs;
 import fr.ax_dev.universejobs.job.JobManager;
 import fr.ax_dev.universejobs.job.PlayerJobData;
+import fr.ax_dev.universejobs.leaderboard.LeaderboardEntry;
+import fr.ax_dev.universejobs.leaderboard.LeaderboardSnapshot;
+import fr.ax_dev.universejobs.leaderboard.LeaderboardSnapshotPublisher;
 import me.clip.placeholderapi.expansion.PlaceholderExpansion;
-import org.bukkit.Bukkit;
 import org.bukkit.OfflinePlayer;
 
-import java.io.File;
-import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Set;
+import java.util.UUID;
 
 public class GlobalLeaderboardPlaceholder extends PlaceholderExpansion {
 
-    private static final String TOTAL_LEVELS_KEY = "totallevels";
-    private static final String TOTAL_JOBS_KEY = "totaljobs";
-    private static final String TOTAL_XP_KEY = "totalxp";
+    private static final String TOTAL_LEVELS_KEY = LeaderboardSnapshotPublisher.TOTAL_LEVELS;
+    private static final String TOTAL_JOBS_KEY = LeaderboardSnapshotPublisher.TOTAL_JOBS;
+    private static final String TOTAL_XP_KEY = LeaderboardSnapshotPublisher.TOTAL_XP;
     private static final String PLAYER_KEY = "player";
     private static final String FORMATTED_KEY = "formatted";
     private static final String INVALID_POSITION_MSG = "Invalid Position";
 
     private final UniverseJobs plugin;
     private final JobManager jobManager;
-    private final Map<String, List<GlobalLeaderboardEntry>> cachedGlobalLeaderboards = new ConcurrentHashMap<>();
-    private final Map<String, Long> lastCacheUpdate = new ConcurrentHashMap<>();
-    private static final long CACHE_DURATION = 60000; // 1 minute pour les classements globaux
+    private final LeaderboardSnapshotPublisher publisher;
 
     public GlobalLeaderboardPlaceholder(UniverseJobs plugin) {
         this.plugin = plugin;
         this.jobManager = plugin.getJobManager();
+        this.publisher = plugin.getLeaderboardPublisher();
     }
 
     @Override
@@ -82,13 +82,12 @@ public class GlobalLeaderboardPlaceholder extends PlaceholderExpansion {
             int position = Integer.parseInt(args[1]);
             String info = args.length > 2 ? args[2] : FORMATTED_KEY;
 
-            List<GlobalLeaderboardEntry> leaderboard = getGlobalLeaderboard(TOTAL_LEVELS_KEY);
-            if (position < 1 || position > leaderboard.size()) {
+            LeaderboardEntry entry = getGlobalLeaderboard(TOTAL_LEVELS_KEY).getEntry(position);
+            if (entry == null) {
                 return getEmptyGlobalValue(info);
             }
 
-            GlobalLeaderboardEntry entry = leaderboard.get(position - 1);
-            return formatGlobalLeaderboardInfo(entry, info, position, "levels");
+            return formatGlobalLeaderboardInfo(entry, info, position);
 
         } catch (NumberFormatException e) {
             return INVALID_POSITION_MSG;
@@ -103,13 +102,12 @@ public class GlobalLeaderboardPlaceholder extends PlaceholderExpansion {
             int position = Integer.parseInt(args[1]);
             String info = args.length > 2 ? args[2] : FORMATTED_KEY;
 
-            List<GlobalLeaderboardEntry> leaderboard = getGlobalLeaderboard(TOTAL_JOBS_KEY);
-            if (position < 1 || position > leaderboard.size()) {
+            LeaderboardEntry entry = getGlobalLeaderboard(TOTAL_JOBS_KEY).getEntry(position);
+            if (entry == null) {
                 return getEmptyGlobalValue(info);
             }
 
-            GlobalLeaderboardEntry entry = leaderboard.get(position - 1);
-            return formatGlobalLeaderboardInfo(entry, info, position, "jobs");
+            return formatGlobalLeaderboardInfo(entry, info, position);
 
         } catch (NumberFormatException e) {
             return INVALID_POSITION_MSG;
@@ -124,13 +122,12 @@ public class GlobalLeaderboardPlaceholder extends PlaceholderExpansion {
             int position = Integer.parseInt(args[1]);
             String info = args.length > 2 ? args[2] : FORMATTED_KEY;
 
-            List<GlobalLeaderboardEntry> leaderboard = getGlobalLeaderboard(TOTAL_XP_KEY);
-            if (position < 1 || position > leaderboard.size()) {
+            LeaderboardEntry entry = getGlobalLeaderboard(TOTAL_XP_KEY).getEntry(position);
+            if (entry == null) {
                 return getEmptyGlobalValue(info);
             }
 
-            GlobalLeaderboardEntry entry = leaderboard.get(position - 1);
-            return formatGlobalLeaderboardInfo(entry, info, position, "XP");
+            return formatGlobalLeaderboardInfo(entry, info, position);
 
         } catch (NumberFormatException e) {
             return INVALID_POSITION_MSG;
@@ -161,80 +158,11 @@ public class GlobalLeaderboardPlaceholder extends PlaceholderExpansion {
         }
     }
 
-    private List<GlobalLeaderboardEntry> getGlobalLeaderboard(String type) {
-        String cacheKey = type;
-        Long lastUpdate = lastCacheUpdate.get(cacheKey);
-        long currentTime = System.currentTimeMillis();
-
-        if (lastUpdate != null && (currentTime - lastUpdate) < CACHE_DURATION) {
-            return cachedGlobalLeaderboards.getOrDefault(cacheKey, new ArrayList<>());
-        }
-
-        List<GlobalLeaderboardEntry> leaderboard = calculateGlobalLeaderboard(type);
-        cachedGlobalLeaderboards.put(cacheKey, leaderboard);
-        lastCacheUpdate.put(cacheKey, currentTime);
-
-        return leaderboard;
-    }
-
-    private List<GlobalLeaderboardEntry> calculateGlobalLeaderboard(String type) {
-        List<GlobalLeaderboardEntry> entries = new ArrayList<>();
-        File dataFolder = new File(plugin.getDataFolder(), "data");
-
-        if (!dataFolder.exists()) {
-            return entries;
-        }
-
-        File[] dataFiles = dataFolder.listFiles((dir, name) -> name.endsWith(".yml"));
-        if (dataFiles == null) {
-            return entries;
-        }
-
-        for (File dataFile : dataFiles) {
-            try {
-                String uuidString = dataFile.getName().replace(".yml", "");
-                UUID playerUuid = UUID.fromString(uuidString);
-                
-                PlayerJobData playerData = jobManager.getPlayerData(playerUuid);
-                
-                if (playerData.getJobs().isEmpty()) {
-                    continue; // Skip players without jobs
-                }
-
-                OfflinePlayer offlinePlayer = Bukkit.getOfflinePlayer(playerUuid);
-                String playerName = offlinePlayer.getName();
-                
-                if (playerName == null) {
-                    playerName = "Unknown Player";
-                }
-
-                double value = 0;
-                switch (type) {
-                    case TOTAL_LEVELS_KEY:
-                        value = calculateTotalLevels(playerData);
-                        break;
-                    case TOTAL_JOBS_KEY:
-                        value = playerData.getJobs().size();
-                        break;
-                    case TOTAL_XP_KEY:
-                        value = calculateTotalXp(playerData);
-                        break;
-                    default:
-                        value = 0; // Unknown type
-                        break;
-                }
-
-                entries.add(new GlobalLeaderboardEntry(playerUuid, playerName, value));
-
-            } catch (Exception e) {
-                plugin.getLogger().warning("Error processing global data file: " + dataFile.getName());
-            }
-        }
-
-        // Trier par valeur décroissante
-        entries.sort((a, b) -> Double.compare(b.value, a.value));
-
-        return entries;
+    /**
+     * Get the published global ranking. Never rebuilds on the request thread.
+     */
+    private LeaderboardSnapshot.Board getGlobalLeaderboard(String type) {
+        return publisher.getSnapshot().getGlobalBoard(type);
     }
 
     private int calculateTotalLevels(PlayerJobData playerData) {
@@ -263,28 +191,18 @@ public class GlobalLeaderboardPlaceholder extends PlaceholderExpansion {
         return (double) totalLevels / jobs.size();
     }
 
-    private String formatGlobalLeaderboardInfo(GlobalLeaderboardEntry entry, String info, int position, String unit) {
+    private String formatGlobalLeaderboardInfo(LeaderboardEntry entry, String info, int position) {
         switch (info.toLowerCase()) {
             case PLAYER_KEY:
             case "name":
-                return entry.playerName;
+                return entry.getPlayerName();
             case "value":
-                if ("XP".equals(unit)) {
-                    return String.format("%.1f", entry.value);
-                } else {
-                    return String.valueOf((int) entry.value);
-                }
+                return entry.getValueText();
             case "position":
             case "rank":
                 return String.valueOf(position);
             case FORMATTED_KEY:
-                if ("XP".equals(unit)) {
-                    return String.format("#%d %s - %.1f %s", 
-                        position, entry.playerName, entry.value, unit);
-                } else {
-                    return String.format("#%d %s - %d %s", 
-                        position, entry.playerName, (int) entry.value, unit);
-                }
+                return entry.getFormatted();
             default:
                 return "Invalid Info";
         }
@@ -308,31 +226,13 @@ public class GlobalLeaderboardPlaceholder extends PlaceholderExpansion {
     }
 
     private int getGlobalPlayerRank(UUID playerUuid, String rankType) {
-        List<GlobalLeaderboardEntry> leaderboard = getGlobalLeaderboard(rankType);
-        
-        for (int i = 0; i < leaderboard.size(); i++) {
-            if (leaderboard.get(i).playerUuid.equals(playerUuid)) {
-                return i + 1;
-            }
-        }
-        
-        return 0; // Player not found in ranking
+        return publisher.getGlobalRank(rankType, playerUuid);
     }
 
+    /**
+     * Ask the publisher for a fresh snapshot. Readers keep the previous one until it is ready.
+     */
     public void clearCache() {
-        cachedGlobalLeaderboards.clear();
-        lastCacheUpdate.clear();
-    }
-
-    private static class GlobalLeaderboardEntry {
-        final UUID playerUuid;
-        final String playerName;
-        final double value;
-
-        GlobalLeaderboardEntry(UUID playerUuid, String playerName, double value) {
-            this.playerUuid = playerUuid;
-            this.playerName = playerName;
-            this.value = value;
-        }
+        publisher.requestRefresh();
     }
-}
\ No newline at end of file
+}
@@ -4,24 +4,24 @@ import fr.ax_dev.universejobs.UniverseJobs;
 import fr.ax_dev.universejobs.job.Job;
 import fr.ax_dev.universejobs.job.JobManager;
 import fr.ax_dev.universejobs.job.PlayerJobData;
+import fr.ax_dev.universejobs.leaderboard.LeaderboardEntry;
+import fr.ax_dev.universejobs.leaderboard.LeaderboardSnapshot;
+import fr.ax_dev.universejobs.leaderboard.LeaderboardSnapshotPublisher;
 import me.clip.placeholderapi.expansion.PlaceholderExpansion;
-import org.bukkit.Bukkit;
 import org.bukkit.OfflinePlayer;
-import java.io.File;
-import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
+
+import java.util.UUID;
 
 public class JobsLeaderboardPlaceholder extends PlaceholderExpansion {
 
     private final UniverseJobs plugin;
     private final JobManager jobManager;
-    private final Map<String, List<LeaderboardEntry>> cachedLeaderboards = new ConcurrentHashMap<>();
-    private final Map<String, Long> lastCacheUpdate = new ConcurrentHashMap<>();
-    private static final long CACHE_DURATION = 30000; // 30 seconds
+    private final LeaderboardSnapshotPublisher publisher;
 
     public JobsLeaderboardPlaceholder(UniverseJobs plugin) {
         this.plugin = plugin;
         this.jobManager = plugin.getJobManager();
+        this.publisher = plugin.getLeaderboardPublisher();
     }
 
     @Override
@@ -78,12 +78,11 @@ public class JobsLeaderboardPlaceholder extends PlaceholderExpansion {
             int position = Integer.parseInt(args[2]);
             String info = args[3];
 
-            List<LeaderboardEntry> leaderboard = getJobLeaderboard(jobId);
-            if (position < 1 || position > leaderboard.size()) {
+            LeaderboardEntry entry = getJobLeaderboard(jobId).getEntry(position);
+            if (entry == null) {
                 return getEmptyLeaderboardValue(info);
             }
 
-            LeaderboardEntry entry = leaderboard.get(position - 1);
             return formatLeaderboardInfo(entry, info, position);
 
         } catch (NumberFormatException e) {
@@ -138,87 +137,27 @@ public class JobsLeaderboardPlaceholder extends PlaceholderExpansion {
         }
     }
 
-    private List<LeaderboardEntry> getJobLeaderboard(String jobId) {
-        String cacheKey = jobId;
-        Long lastUpdate = lastCacheUpdate.get(cacheKey);
-        long currentTime = System.currentTimeMillis();
-
-        if (lastUpdate != null && (currentTime - lastUpdate) < CACHE_DURATION) {
-            return cachedLeaderboards.getOrDefault(cacheKey, new ArrayList<>());
-        }
-
-        List<LeaderboardEntry> leaderboard = calculateJobLeaderboard(jobId);
-        cachedLeaderboards.put(cacheKey, leaderboard);
-        lastCacheUpdate.put(cacheKey, currentTime);
-
-        return leaderboard;
-    }
-
-    private List<LeaderboardEntry> calculateJobLeaderboard(String jobId) {
-        List<LeaderboardEntry> entries = new ArrayList<>();
-        File dataFolder = new File(plugin.getDataFolder(), "data");
-
-        if (!dataFolder.exists()) {
-            return entries;
-        }
-
-        File[] dataFiles = dataFolder.listFiles((dir, name) -> name.endsWith(".yml"));
-        if (dataFiles == null) {
-            return entries;
-        }
-
-        for (File dataFile : dataFiles) {
-            try {
-                String uuidString = dataFile.getName().replace(".yml", "");
-                UUID playerUuid = UUID.fromString(uuidString);
-                
-                PlayerJobData playerData = jobManager.getPlayerData(playerUuid);
-                
-                if (playerData.hasJob(jobId)) {
-                    OfflinePlayer offlinePlayer = Bukkit.getOfflinePlayer(playerUuid);
-                    String playerName = offlinePlayer.getName();
-                    
-                    if (playerName == null) {
-                        playerName = "Unknown Player";
-                    }
-
-                    double xp = playerData.getXp(jobId);
-                    int level = playerData.getLevel(jobId);
-
-                    entries.add(new LeaderboardEntry(playerUuid, playerName, xp, level));
-                }
-            } catch (Exception e) {
-                plugin.getLogger().warning("Error processing data file: " + dataFile.getName());
-            }
-        }
-
-        // Sort by descending level, then by descending XP
-        entries.sort((a, b) -> {
-            int levelCompare = Integer.compare(b.level, a.level);
-            if (levelCompare != 0) {
-                return levelCompare;
-            }
-            return Double.compare(b.xp, a.xp);
-        });
-
-        return entries;
+    /**
+     * Get the published ranking for a job. Never rebuilds on the request thread.
+     */
+    private LeaderboardSnapshot.Board getJobLeaderboard(String jobId) {
+        return publisher.getSnapshot().getJobBoard(jobId);
     }
 
     private String formatLeaderboardInfo(LeaderboardEntry entry, String info, int position) {
         switch (info.toLowerCase()) {
             case "player":
             case "name":
-                return entry.playerName;
+                return entry.getPlayerName();
             case "level":
-                return String.valueOf(entry.level);
+                return String.valueOf(entry.getLevel());
             case "xp":
-                return String.format("%.1f", entry.xp);
+                return entry.getValueText();
             case "position":
             case "rank":
                 return String.valueOf(position);
             case "formatted":
-                return String.format("#%d %s - Level %d (%.1f XP)", 
-                    position, entry.playerName, entry.level, entry.xp);
+                return entry.getFormatted();
             default:
                 return "Invalid Info";
         }
@@ -244,67 +183,21 @@ public class JobsLeaderboardPlaceholder extends PlaceholderExpansion {
     }
 
     private int getPlayerRank(UUID playerUuid, String jobId) {
-        List<LeaderboardEntry> leaderboard = getJobLeaderboard(jobId);
-        
-        for (int i = 0; i < leaderboard.size(); i++) {
-            if (leaderboard.get(i).playerUuid.equals(playerUuid)) {
-                return i + 1;
-            }
-        }
-        
-        return 0; // Player not found in ranking
+        return publisher.getJobRank(jobId, playerUuid);
     }
 
     private int getJobPlayerCount(String jobId) {
-        File dataFolder = new File(plugin.getDataFolder(), "data");
-        if (!dataFolder.exists()) {
-            return 0;
-        }
-
-        File[] dataFiles = dataFolder.listFiles((dir, name) -> name.endsWith(".yml"));
-        if (dataFiles == null) {
-            return 0;
-        }
-
-        int count = 0;
-        for (File dataFile : dataFiles) {
-            try {
-                String uuidString = dataFile.getName().replace(".yml", "");
-                UUID playerUuid = UUID.fromString(uuidString);
-                
-                PlayerJobData playerData = jobManager.getPlayerData(playerUuid);
-                if (playerData.hasJob(jobId)) {
-                    count++;
-                }
-            } catch (Exception e) {
-                // Ignore errors and continue
-            }
-        }
-
-        return count;
+        return getJobLeaderboard(jobId).getTotal();
     }
 
+    /**
+     * Ask the publisher for a fresh snapshot. Readers keep the previous one until it is ready.
+     */
     public void clearCache() {
-        cachedLeaderboards.clear();
-        lastCacheUpdate.clear();
+        publisher.requestRefresh();
     }
 
     public void clearJobCache(String jobId) {
-        cachedLeaderboards.remove(jobId);
-        lastCacheUpdate.remove(jobId);
-    }
-
-    private static class LeaderboardEntry {
-        final UUID playerUuid;
-        final String playerName;
-        final double xp;
-        final int level;
-
-        LeaderboardEntry(UUID playerUuid, String playerName, double xp, int level) {
-            this.playerUuid = playerUuid;
-            this.playerName = playerName;
-            this.xp = xp;
-            this.level = level;
-        }
+        publisher.requestRefresh();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,108 @@
+package fr.ax_dev.universejobs.placeholder;
+
+import fr.ax_dev.universejobs.UniverseJobs;
+import fr.ax_dev.universejobs.action.ActionMetrics;
+import fr.ax_dev.universejobs.action.ActionType;
+import fr.ax_dev.universejobs.action.LatencyHistogram;
+import me.clip.placeholderapi.expansion.PlaceholderExpansion;
+import org.bukkit.OfflinePlayer;
+
+import java.util.Arrays;
+
+/**
+ * Exposes the action pipeline timings of {@link ActionMetrics}.
+ * <p>
+ * Formats (durations in microseconds):
+ * <ul>
+ *   <li>{@code jobsperf_enabled}</li>
+ *   <li>{@code jobsperf_<action>_<stage>_<count|mean|p50|p95|p99|max>}</li>
+ *   <li>{@code jobsperf_job_<job>_<stage>_<count|mean|p50|p95|p99|max>}</li>
+ * </ul>
+ */
+public class PerformancePlaceholder extends PlaceholderExpansion {
+
+    private static final String ENABLED_KEY = "enabled";
+    private static final String JOB_KEY = "job";
+
+    private final UniverseJobs plugin;
+
+    public PerformancePlaceholder(UniverseJobs plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public String getIdentifier() {
+        return "jobsperf";
+    }
+
+    @Override
+    public String getAuthor() {
+        return plugin.getDescription().getAuthors().toString();
+    }
+
+    @Override
+    public String getVersion() {
+        return plugin.getDescription().getVersion();
+    }
+
+    @Override
+    public boolean persist() {
+        return true;
+    }
+
+    @Override
+    public String onRequest(OfflinePlayer player, String params) {
+        if (params == null) return null;
+
+        ActionMetrics metrics = plugin.getActionMetrics();
+        if (metrics == null) return null;
+
+        if (ENABLED_KEY.equalsIgnoreCase(params)) {
+            return String.valueOf(metrics.isEnabled());
+        }
+
+        // Action types and job IDs may contain underscores: the stage and statistic are the last two parts
+        String[] args = params.split("_");
+        if (args.length < 3) return null;
+
+        String stat = args[args.length - 1];
+        ActionMetrics.Stage stage = ActionMetrics.Stage.fromKey(args[args.length - 2]);
+        if (stage == null) return null;
+
+        String[] owner = Arrays.copyOfRange(args, 0, args.length - 2);
+        LatencyHistogram histogram;
+        if (JOB_KEY.equalsIgnoreCase(owner[0]) && owner.length > 1) {
+            String jobId = String.join("_", Arrays.copyOfRange(owner, 1, owner.length));
+            histogram = metrics.getJobHistogram(jobId, stage);
+        } else {
+            ActionType actionType = ActionType.fromString(String.join("_", owner));
+            if (actionType == null) return null;
+            histogram = metrics.getHistogram(actionType, stage);
+        }
+
+        return formatStat(histogram, stat);
+    }
+
+    private String formatStat(LatencyHistogram histogram, String stat) {
+        if (histogram == null) {
+            return "count".equalsIgnoreCase(stat) ? "0" : ActionMetrics.formatMicros(0);
+        }
+
+        switch (stat.toLowerCase()) {
+            case "count":
+                return String.valueOf(histogram.getCount());
+            case "mean":
+                return ActionMetrics.formatMicros(histogram.getMeanNanos());
+            case "p50":
+                return ActionMetrics.formatMicros(histogram.getPercentileNanos(50));
+            case "p95":
+                return ActionMetrics.formatMicros(histogram.getPercentileNanos(95));
+            case "p99":
+                return ActionMetrics.formatMicros(histogram.getPercentileNanos(99));
+            case "max":
+                return ActionMetrics.formatMicros(histogram.getMaxNanos());
+            default:
+                return null;
+        }
+    }
+}
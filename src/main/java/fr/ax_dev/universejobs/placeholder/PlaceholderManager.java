@@ -8,6 +8,7 @@ public class PlaceholderManager {
     private final UniverseJobs plugin;
     private JobsLeaderboardPlaceholder jobsLeaderboardPlaceholder;
     private GlobalLeaderboardPlaceholder globalLeaderboardPlaceholder;
+    private PerformancePlaceholder performancePlaceholder;
     private boolean placeholderApiEnabled = false;
 
     public PlaceholderManager(UniverseJobs plugin) {
@@ -19,9 +20,11 @@ public class PlaceholderManager {
             try {
                 jobsLeaderboardPlaceholder = new JobsLeaderboardPlaceholder(plugin);
                 globalLeaderboardPlaceholder = new GlobalLeaderboardPlaceholder(plugin);
+                performancePlaceholder = new PerformancePlaceholder(plugin);
 
                 jobsLeaderboardPlaceholder.register();
                 globalLeaderboardPlaceholder.register();
+                performancePlaceholder.register();
 
                 placeholderApiEnabled = true;
                 // PlaceholderAPI integration enabled
@@ -43,6 +46,9 @@ public class PlaceholderManager {
                 if (globalLeaderboardPlaceholder != null) {
                     globalLeaderboardPlaceholder.unregister();
                 }
+                if (performancePlaceholder != null) {
+                    performancePlaceholder.unregister();
+                }
                 // PlaceholderAPI integration disabled
             } catch (Exception e) {
                 plugin.getLogger().warning("Error while disabling PlaceholderAPI integration: " + e.getMessage());
@@ -1,9 +1,15 @@
 package fr.ax_dev.universejobs.protection;
 
 import fr.ax_dev.universejobs.UniverseJobs;
+import org.bukkit.Chunk;
+import org.bukkit.Location;
 import org.bukkit.NamespacedKey;
+import org.bukkit.World;
 import org.bukkit.block.Block;
+import org.bukkit.block.BlockFace;
+import org.bukkit.entity.Entity;
 import org.bukkit.entity.Player;
+import org.bukkit.persistence.PersistentDataContainer;
 import org.bukkit.persistence.PersistentDataType;
 
 import com.nexomc.nexo.api.NexoBlocks;
@@ -11,18 +17,35 @@ import com.nexomc.nexo.mechanics.custom_block.CustomBlockMechanic;
 
 // Nexo imports handled via reflection to avoid compilation errors when Nexo is not available
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 
 /**
  * Manages block protection to prevent XP farming exploits.
- * Uses NBT tags to mark player-placed blocks.
+ * Player-placed blocks are stored as one bitset per chunk section in the chunk PDC
+ * (see {@link ChunkProtectionData}). Marks of loaded chunks are kept in memory and
+ * only written back to the PDC on unload or world save when they changed.
+ * Optionally marks expire after {@code block-protection.mark-ttl-days}; expired
+ * sections are dropped lazily when their chunk loads.
  */
 public class BlockProtectionManager {
     
+    // Prefix of the legacy one-entry-per-block keys, migrated on first access
     private static final String BLOCK_PREFIX = "block_";
     
     private final UniverseJobs plugin;
+    private final NamespacedKey dataKey;
+    private final NamespacedKey fallingKey;
+    
+    // Marks of loaded chunks: world UID -> packed chunk coordinates -> marks
+    private final Map<UUID, Map<Long, ChunkProtectionData>> loadedChunks = new ConcurrentHashMap<>();
     private boolean enabled;
+    private boolean storeOwners;
+    private int markTtlHours;
     private boolean nexoEnabled;
     
     /**
@@ -32,7 +55,8 @@ public class BlockProtectionManager {
      */
     public BlockProtectionManager(UniverseJobs plugin) {
         this.plugin = plugin;
-        new NamespacedKey(plugin, "player_placed");
+        this.dataKey = new NamespacedKey(plugin, "placed_blocks");
+        this.fallingKey = new NamespacedKey(plugin, "placed_falling_block");
         
         loadConfiguration();
         checkNexoCompatibility();
@@ -45,6 +69,8 @@ public class BlockProtectionManager {
      */
     private void loadConfiguration() {
         this.enabled = plugin.getConfig().getBoolean("block-protection.enabled", true);
+        this.storeOwners = plugin.getConfig().getBoolean("block-protection.store-owners", false);
+        this.markTtlHours = Math.max(0, plugin.getConfig().getInt("block-protection.mark-ttl-days", 0)) * 24;
     }
     
     /**
@@ -77,24 +103,14 @@ public class BlockProtectionManager {
         if (!enabled) return;
         
         try {
-            // Add NBT tag to mark this block as player-placed
-            NamespacedKey blockKey = new NamespacedKey(plugin, BLOCK_PREFIX + block.getX() + "_" + block.getY() + "_" + block.getZ());
-            String playerData = player.getUniqueId().toString();
+            getChunkData(block).mark(block.getX(), block.getY(), block.getZ(), storeOwners ? player.getUniqueId() : null);
             
-            // Check if this is a Nexo custom block and add that information
-            if (nexoEnabled) {
-                String nexoBlockId = getNexoBlockId(block);
+            if (plugin.getConfigManager().isDebugEnabled()) {
+                // Nexo custom blocks are tracked like any other block; the ID is only logged
+                String nexoBlockId = nexoEnabled ? getNexoBlockId(block) : null;
                 if (nexoBlockId != null) {
-                    playerData += "|NEXO:" + nexoBlockId;
-                    if (plugin.getConfigManager().isDebugEnabled()) {
-                        plugin.getLogger().info("Detected Nexo custom block: " + nexoBlockId + " at " + block.getLocation());
-                    }
+                    plugin.getLogger().info("Detected Nexo custom block: " + nexoBlockId + " at " + block.getLocation());
                 }
-            }
-            
-            block.getChunk().getPersistentDataContainer().set(blockKey, PersistentDataType.STRING, playerData);
-            
-            if (plugin.getConfigManager().isDebugEnabled()) {
                 plugin.getLogger().info("Marked block at " + block.getLocation() + " as player-placed by " + player.getName());
             }
         } catch (Exception e) {
@@ -112,11 +128,7 @@ public class BlockProtectionManager {
         if (!enabled) return false;
         
         try {
-            // Check if this block has the player-placed NBT tag
-            NamespacedKey blockKey = new NamespacedKey(plugin, BLOCK_PREFIX + block.getX() + "_" + block.getY() + "_" + block.getZ());
-            String placedBy = block.getChunk().getPersistentDataContainer().get(blockKey, PersistentDataType.STRING);
-            
-            return placedBy != null;
+            return getChunkData(block).isMarked(block.getX(), block.getY(), block.getZ());
         } catch (Exception e) {
             plugin.getLogger().log(Level.WARNING, "Failed to check if block is player-placed", e);
             return false;
@@ -132,11 +144,8 @@ public class BlockProtectionManager {
         if (!enabled) return;
         
         try {
-            // Remove the NBT tag for this block
-            NamespacedKey blockKey = new NamespacedKey(plugin, BLOCK_PREFIX + block.getX() + "_" + block.getY() + "_" + block.getZ());
-            block.getChunk().getPersistentDataContainer().remove(blockKey);
-            
-            if (plugin.getConfigManager().isDebugEnabled()) {
+            if (getChunkData(block).unmark(block.getX(), block.getY(), block.getZ())
+                    && plugin.getConfigManager().isDebugEnabled()) {
                 plugin.getLogger().info("Removed player-placed tag from block at " + block.getLocation());
             }
         } catch (Exception e) {
@@ -144,6 +153,372 @@ public class BlockProtectionManager {
         }
     }
     
+    /**
+     * Get the player who placed a block. Only available when owners are stored.
+     * 
+     * @param block The block to check
+     * @return The owner UUID, or null if unknown
+     */
+    public UUID getBlockOwner(Block block) {
+        if (!enabled || !storeOwners) return null;
+        
+        try {
+            return getChunkData(block).getOwner(block.getX(), block.getY(), block.getZ());
+        } catch (Exception e) {
+            plugin.getLogger().log(Level.WARNING, "Failed to read block owner", e);
+            return null;
+        }
+    }
+    
+    /**
+     * Move the marks of blocks pushed or pulled by a piston.
+     * All marks are lifted first and then re-applied at the destination, so overlapping
+     * source and destination positions are handled correctly.
+     * 
+     * @param blocks The moved blocks, at their original positions
+     * @param direction The direction the blocks move in
+     */
+    public void moveMarks(List<Block> blocks, BlockFace direction) {
+        if (!enabled || blocks.isEmpty()) return;
+        
+        try {
+            ChunkCursor cursor = new ChunkCursor(blocks.get(0).getWorld());
+            int[] marked = new int[blocks.size()];
+            UUID[] owners = storeOwners ? new UUID[blocks.size()] : null;
+            int count = 0;
+            
+            for (int i = 0; i < blocks.size(); i++) {
+                Block block = blocks.get(i);
+                ChunkProtectionData data = cursor.get(block.getX() >> 4, block.getZ() >> 4);
+                if (owners != null) {
+                    owners[count] = data.getOwner(block.getX(), block.getY(), block.getZ());
+                }
+                if (data.unmark(block.getX(), block.getY(), block.getZ())) {
+                    marked[count++] = i;
+                }
+            }
+            
+            int dx = direction.getModX();
+            int dy = direction.getModY();
+            int dz = direction.getModZ();
+            for (int j = 0; j < count; j++) {
+                Block block = blocks.get(marked[j]);
+                int x = block.getX() + dx;
+                int y = block.getY() + dy;
+                int z = block.getZ() + dz;
+                cursor.get(x >> 4, z >> 4).mark(x, y, z, owners != null ? owners[j] : null);
+            }
+        } catch (Exception e) {
+            plugin.getLogger().log(Level.WARNING, "Failed to move block protection marks", e);
+        }
+    }
+    
+    /**
+     * Clear the marks of many blocks at once (explosions).
+     * 
+     * @param blocks The destroyed blocks
+     */
+    public void clearMarks(Collection<Block> blocks) {
+        if (!enabled || blocks.isEmpty()) return;
+        
+        try {
+            ChunkCursor cursor = null;
+            for (Block block : blocks) {
+                if (cursor == null) {
+                    cursor = new ChunkCursor(block.getWorld());
+                }
+                cursor.get(block.getX() >> 4, block.getZ() >> 4).unmark(block.getX(), block.getY(), block.getZ());
+            }
+        } catch (Exception e) {
+            plugin.getLogger().log(Level.WARNING, "Failed to clear block protection marks", e);
+        }
+    }
+    
+    /**
+     * Carry the mark of a block that turns into a falling block entity.
+     * 
+     * @param block The block that starts falling
+     * @param entity The falling block entity
+     */
+    public void onBlockStartFalling(Block block, Entity entity) {
+        if (!enabled) return;
+        
+        if (getChunkData(block).unmark(block.getX(), block.getY(), block.getZ())) {
+            entity.getPersistentDataContainer().set(fallingKey, PersistentDataType.BYTE, (byte) 1);
+        }
+    }
+    
+    /**
+     * Re-apply the mark of a falling block entity where it lands.
+     * 
+     * @param block The block the entity turns into
+     * @param entity The falling block entity
+     */
+    public void onFallingBlockLand(Block block, Entity entity) {
+        if (!enabled) return;
+        
+        if (entity.getPersistentDataContainer().has(fallingKey, PersistentDataType.BYTE)) {
+            getChunkData(block).mark(block.getX(), block.getY(), block.getZ(), null);
+        }
+    }
+    
+    /**
+     * Load the marks of a chunk into memory. Called when the chunk loads.
+     * 
+     * @param chunk The loaded chunk
+     */
+    public void onChunkLoad(Chunk chunk) {
+        if (!enabled) return;
+        
+        try {
+            getWorldChunks(chunk.getWorld()).put(packChunk(chunk.getX(), chunk.getZ()), loadChunkData(chunk));
+        } catch (Exception e) {
+            plugin.getLogger().log(Level.WARNING, "Failed to load block protection data", e);
+        }
+    }
+    
+    /**
+     * Write the marks of a chunk back if they changed and drop them from memory.
+     * Called when the chunk unloads, on the thread owning the chunk.
+     * 
+     * @param chunk The unloading chunk
+     */
+    public void onChunkUnload(Chunk chunk) {
+        Map<Long, ChunkProtectionData> worldChunks = loadedChunks.get(chunk.getWorld().getUID());
+        if (worldChunks == null) return;
+        
+        ChunkProtectionData data = worldChunks.remove(packChunk(chunk.getX(), chunk.getZ()));
+        if (data != null && data.isDirty()) {
+            try {
+                saveChunkData(chunk, data);
+            } catch (Exception e) {
+                plugin.getLogger().log(Level.WARNING, "Failed to save block protection data", e);
+            }
+        }
+    }
+    
+    /**
+     * Write back every dirty chunk of a world (autosave). On Folia each chunk is
+     * written from the region thread that owns it.
+     * 
+     * @param world The world being saved
+     */
+    public void flushWorld(World world) {
+        flushWorld(world, false);
+    }
+    
+    /**
+     * Write back every dirty chunk of a world.
+     * 
+     * @param world The world
+     * @param direct true to write every chunk from the calling thread, as scheduled tasks
+     *               no longer run while the plugin is disabling
+     */
+    private void flushWorld(World world, boolean direct) {
+        Map<Long, ChunkProtectionData> worldChunks = loadedChunks.get(world.getUID());
+        if (worldChunks == null) return;
+        
+        for (Map.Entry<Long, ChunkProtectionData> entry : worldChunks.entrySet()) {
+            if (!entry.getValue().isDirty()) continue;
+            
+            int chunkX = (int) (entry.getKey() >> 32);
+            int chunkZ = (int) entry.getKey().longValue();
+            ChunkProtectionData data = entry.getValue();
+            Location location = new Location(world, chunkX << 4, 0, chunkZ << 4);
+            
+            if (direct || plugin.getFoliaManager().isOwnedByCurrentRegion(location)) {
+                flushChunk(world, chunkX, chunkZ, data);
+            } else {
+                plugin.getFoliaManager().runAtLocation(location, () -> flushChunk(world, chunkX, chunkZ, data));
+            }
+        }
+    }
+    
+    /**
+     * Write back all dirty chunks directly from the calling thread (plugin shutdown).
+     */
+    public void flushAll() {
+        for (World world : plugin.getServer().getWorlds()) {
+            flushWorld(world, true);
+        }
+    }
+    
+    /**
+     * Drop the in-memory marks of an unloaded world.
+     * 
+     * @param world The world
+     */
+    public void onWorldUnload(World world) {
+        flushWorld(world);
+        loadedChunks.remove(world.getUID());
+    }
+    
+    private void flushChunk(World world, int chunkX, int chunkZ, ChunkProtectionData data) {
+        if (!data.isDirty() || !world.isChunkLoaded(chunkX, chunkZ)) return;
+        
+        try {
+            saveChunkData(world.getChunkAt(chunkX, chunkZ), data);
+        } catch (Exception e) {
+            plugin.getLogger().log(Level.WARNING, "Failed to save block protection data", e);
+        }
+    }
+    
+    /**
+     * Get the in-memory marks of the chunk containing a block, loading them on a miss
+     * (e.g. chunks loaded before the plugin was enabled).
+     * 
+     * @param block The block
+     * @return The chunk marks
+     */
+    private ChunkProtectionData getChunkData(Block block) {
+        return getChunkData(block.getWorld(), block.getX() >> 4, block.getZ() >> 4);
+    }
+    
+    private ChunkProtectionData getChunkData(World world, int chunkX, int chunkZ) {
+        Map<Long, ChunkProtectionData> worldChunks = getWorldChunks(world);
+        long key = packChunk(chunkX, chunkZ);
+        
+        ChunkProtectionData data = worldChunks.get(key);
+        if (data == null) {
+            data = worldChunks.computeIfAbsent(key, k -> loadChunkData(world.getChunkAt(chunkX, chunkZ)));
+        }
+        return data;
+    }
+    
+    private Map<Long, ChunkProtectionData> getWorldChunks(World world) {
+        return loadedChunks.computeIfAbsent(world.getUID(), k -> new ConcurrentHashMap<>());
+    }
+    
+    /**
+     * Remembers the last chunk used so that runs of blocks in the same chunk
+     * (the common case for pistons and explosions) cost a single map lookup.
+     */
+    private final class ChunkCursor {
+        private final World world;
+        private long lastKey;
+        private ChunkProtectionData lastData;
+        
+        ChunkCursor(World world) {
+            this.world = world;
+        }
+        
+        ChunkProtectionData get(int chunkX, int chunkZ) {
+            long key = packChunk(chunkX, chunkZ);
+            if (lastData == null || key != lastKey) {
+                lastData = getChunkData(world, chunkX, chunkZ);
+                lastKey = key;
+            }
+            return lastData;
+        }
+    }
+    
+    /**
+     * Pack chunk coordinates into a single key.
+     * 
+     * @param chunkX Chunk X
+     * @param chunkZ Chunk Z
+     * @return The packed key
+     */
+    public static long packChunk(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+    
+    /**
+     * Read the marks of a chunk from its PDC, migrating legacy per-block entries if present.
+     * 
+     * @param chunk The chunk
+     * @return The chunk marks, empty if none
+     */
+    private ChunkProtectionData loadChunkData(Chunk chunk) {
+        PersistentDataContainer container = chunk.getPersistentDataContainer();
+        byte[] raw = container.get(dataKey, PersistentDataType.BYTE_ARRAY);
+        
+        ChunkProtectionData data;
+        if (raw != null) {
+            try {
+                data = ChunkProtectionData.fromBytes(raw);
+            } catch (IllegalArgumentException e) {
+                plugin.getLogger().warning("Discarding unreadable block protection data in chunk "
+                    + chunk.getX() + "," + chunk.getZ() + ": " + e.getMessage());
+                data = new ChunkProtectionData();
+            }
+        } else {
+            data = new ChunkProtectionData();
+        }
+        
+        if (data.isReadWithoutEpochs()) {
+            // Persist the first epoch, otherwise it restarts at every load and the marks never expire
+            data.markDirty();
+        }
+        
+        if (migrateLegacyEntries(container, data)) {
+            // Legacy keys are gone from the PDC, the bitset is written back on the next flush
+            data.markDirty();
+        }
+        
+        if (markTtlHours > 0) {
+            // Lazy sweep: expired sections count as natural terrain again
+            int expired = data.sweepExpired(ChunkProtectionData.currentEpoch() - markTtlHours);
+            if (expired > 0 && plugin.getConfigManager().isDebugEnabled()) {
+                plugin.getLogger().info("Expired " + expired + " placed-block marks in chunk "
+                    + chunk.getX() + "," + chunk.getZ());
+            }
+        }
+        return data;
+    }
+    
+    /**
+     * Write the marks of a chunk to its PDC, removing the entry when empty.
+     * 
+     * @param chunk The chunk
+     * @param data The chunk marks
+     */
+    private void saveChunkData(Chunk chunk, ChunkProtectionData data) {
+        PersistentDataContainer container = chunk.getPersistentDataContainer();
+        byte[] raw = data.flush();
+        if (data.isEmpty()) {
+            container.remove(dataKey);
+        } else {
+            container.set(dataKey, PersistentDataType.BYTE_ARRAY, raw);
+        }
+    }
+    
+    /**
+     * Convert the old one-entry-per-block format ({@code block_x_y_z -> uuid[|NEXO:id]}) into bits.
+     * 
+     * @param container The chunk PDC
+     * @param data The chunk marks to fill
+     * @return true if any legacy entry was migrated
+     */
+    private boolean migrateLegacyEntries(PersistentDataContainer container, ChunkProtectionData data) {
+        boolean migrated = false;
+        for (NamespacedKey key : container.getKeys()) {
+            if (!key.getNamespace().equals(dataKey.getNamespace()) || !key.getKey().startsWith(BLOCK_PREFIX)) {
+                continue;
+            }
+            
+            String[] coords = key.getKey().substring(BLOCK_PREFIX.length()).split("_");
+            if (coords.length == 3) {
+                try {
+                    UUID owner = null;
+                    if (storeOwners) {
+                        String value = container.get(key, PersistentDataType.STRING);
+                        if (value != null) {
+                            int separator = value.indexOf('|');
+                            owner = UUID.fromString(separator >= 0 ? value.substring(0, separator) : value);
+                        }
+                    }
+                    data.mark(Integer.parseInt(coords[0]), Integer.parseInt(coords[1]), Integer.parseInt(coords[2]), owner);
+                } catch (IllegalArgumentException e) {
+                    // Malformed legacy entry, dropped below
+                }
+            }
+            container.remove(key);
+            migrated = true;
+        }
+        return migrated;
+    }
+    
     /**
      * Get the Nexo block ID for a custom block, if applicable.
      * Uses direct Nexo API calls.
@@ -0,0 +1,399 @@
+package fr.ax_dev.universejobs.protection;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Compact player-placed block marks for one chunk.
+ * Each 16x16x16 chunk section is a 4096-bit set; owners are optionally kept
+ * as indexes into a per-chunk palette of player UUIDs.
+ * Every section also remembers a coarse epoch (hours since 1970) of its last mark,
+ * which lets old marks expire section by section (see {@link #sweepExpired(int)}).
+ * The whole chunk serializes to a single byte array stored in the chunk PDC.
+ */
+public class ChunkProtectionData {
+
+    private static final byte FORMAT_VERSION = 2;
+    private static final byte FORMAT_VERSION_NO_EPOCH = 1;
+    private static final byte FLAG_OWNERS = 1;
+    private static final int SECTION_LONGS = 64; // 4096 bits
+    private static final short NO_OWNER = -1;
+    private static final long EPOCH_MILLIS = 3_600_000L; // one hour
+
+    private final Map<Integer, Section> sections = new HashMap<>();
+    private List<UUID> palette;
+    private volatile boolean dirty;
+    private boolean readWithoutEpochs;
+
+    /**
+     * Check if a block is marked as player-placed.
+     *
+     * @param x Block X (world coordinate)
+     * @param y Block Y
+     * @param z Block Z (world coordinate)
+     * @return true if marked
+     */
+    public synchronized boolean isMarked(int x, int y, int z) {
+        Section section = sections.get(y >> 4);
+        return section != null && section.get(indexOf(x, y, z));
+    }
+
+    /**
+     * Mark a block as player-placed.
+     *
+     * @param x Block X (world coordinate)
+     * @param y Block Y
+     * @param z Block Z (world coordinate)
+     * @param owner The player who placed it, or null to not record an owner
+     * @return true if the block was not marked before
+     */
+    public synchronized boolean mark(int x, int y, int z, UUID owner) {
+        Section section = sections.computeIfAbsent(y >> 4, k -> new Section());
+        int index = indexOf(x, y, z);
+        boolean added = section.set(index);
+        int epoch = currentEpoch();
+        if (section.epoch != epoch) {
+            section.epoch = epoch;
+            dirty = true;
+        }
+
+        if (owner != null) {
+            if (section.owners == null) {
+                section.owners = newOwnerArray();
+            }
+            section.owners[index] = paletteIndex(owner);
+            dirty = true;
+        }
+        if (added) {
+            dirty = true;
+        }
+        return added;
+    }
+
+    /**
+     * Remove the mark of a block.
+     *
+     * @param x Block X (world coordinate)
+     * @param y Block Y
+     * @param z Block Z (world coordinate)
+     * @return true if the block was marked
+     */
+    public synchronized boolean unmark(int x, int y, int z) {
+        int sectionY = y >> 4;
+        Section section = sections.get(sectionY);
+        if (section == null) {
+            return false;
+        }
+
+        int index = indexOf(x, y, z);
+        boolean removed = section.clear(index);
+        if (removed && section.owners != null) {
+            section.owners[index] = NO_OWNER;
+        }
+        if (section.count == 0) {
+            sections.remove(sectionY);
+        }
+        if (removed) {
+            dirty = true;
+        }
+        return removed;
+    }
+
+    /**
+     * Get the player who placed a block, if owners are recorded.
+     *
+     * @param x Block X (world coordinate)
+     * @param y Block Y
+     * @param z Block Z (world coordinate)
+     * @return The owner UUID, or null if unknown or not marked
+     */
+    public synchronized UUID getOwner(int x, int y, int z) {
+        Section section = sections.get(y >> 4);
+        if (section == null || section.owners == null || palette == null) {
+            return null;
+        }
+        short owner = section.owners[indexOf(x, y, z)];
+        return owner >= 0 && owner < palette.size() ? palette.get(owner) : null;
+    }
+
+    /**
+     * Drop every section whose last mark is older than the given epoch.
+     * Marks are aged per section, so a recent placement keeps its whole section alive.
+     *
+     * @param oldestEpoch The oldest epoch to keep (see {@link #currentEpoch()})
+     * @return The number of marks dropped
+     */
+    public synchronized int sweepExpired(int oldestEpoch) {
+        int removed = 0;
+        var iterator = sections.values().iterator();
+        while (iterator.hasNext()) {
+            Section section = iterator.next();
+            if (section.epoch < oldestEpoch) {
+                removed += section.count;
+                iterator.remove();
+            }
+        }
+        if (removed > 0) {
+            if (sections.isEmpty()) {
+                palette = null;
+            }
+            dirty = true;
+        }
+        return removed;
+    }
+
+    /**
+     * Check if no block of this chunk is marked.
+     *
+     * @return true if empty
+     */
+    public synchronized boolean isEmpty() {
+        return sections.isEmpty();
+    }
+
+    /**
+     * Get the number of marked blocks.
+     *
+     * @return The marked block count
+     */
+    public synchronized int getMarkedCount() {
+        int total = 0;
+        for (Section section : sections.values()) {
+            total += section.count;
+        }
+        return total;
+    }
+
+    /**
+     * Check if the marks changed since they were last persisted.
+     *
+     * @return true if a write-back is needed
+     */
+    public boolean isDirty() {
+        return dirty;
+    }
+
+    /**
+     * Flag the marks as changed, e.g. after a legacy migration.
+     */
+    public void markDirty() {
+        dirty = true;
+    }
+
+    /**
+     * Check if these marks were read from the format without epochs, in which case their
+     * first epoch is the load time and must be written back to keep aging across loads.
+     *
+     * @return true if read from the old format
+     */
+    public boolean isReadWithoutEpochs() {
+        return readWithoutEpochs;
+    }
+
+    /**
+     * Serialize this chunk's marks and clear the dirty flag.
+     *
+     * @return The serialized form
+     */
+    public synchronized byte[] flush() {
+        dirty = false;
+        return toBytes();
+    }
+
+    /**
+     * Serialize this chunk's marks.
+     *
+     * @return The serialized form
+     */
+    public synchronized byte[] toBytes() {
+        boolean withOwners = palette != null && !palette.isEmpty();
+
+        int size = 1 + 1 + 2;
+        if (withOwners) {
+            size += 2 + palette.size() * 16;
+        }
+        for (Section section : sections.values()) {
+            size += 2 + 4 + SECTION_LONGS * 8;
+            if (withOwners) {
+                size += section.count * 2;
+            }
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.put(FORMAT_VERSION);
+        buffer.put(withOwners ? FLAG_OWNERS : 0);
+        if (withOwners) {
+            buffer.putShort((short) palette.size());
+            for (UUID uuid : palette) {
+                buffer.putLong(uuid.getMostSignificantBits());
+                buffer.putLong(uuid.getLeastSignificantBits());
+            }
+        }
+
+        buffer.putShort((short) sections.size());
+        for (Map.Entry<Integer, Section> entry : sections.entrySet()) {
+            Section section = entry.getValue();
+            buffer.putShort(entry.getKey().shortValue());
+            buffer.putInt(section.epoch);
+            for (long word : section.bits) {
+                buffer.putLong(word);
+            }
+            if (withOwners) {
+                // Owners follow in bit order, one palette index per marked block
+                for (int index = section.nextSetBit(0); index >= 0; index = section.nextSetBit(index + 1)) {
+                    buffer.putShort(section.owners != null ? section.owners[index] : NO_OWNER);
+                }
+            }
+        }
+        return buffer.array();
+    }
+
+    /**
+     * Deserialize chunk marks.
+     *
+     * @param data The serialized form
+     * @return The chunk data
+     * @throws IllegalArgumentException if the data is malformed or of an unknown version
+     */
+    public static ChunkProtectionData fromBytes(byte[] data) {
+        ChunkProtectionData result = new ChunkProtectionData();
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(data);
+            byte version = buffer.get();
+            if (version != FORMAT_VERSION && version != FORMAT_VERSION_NO_EPOCH) {
+                throw new IllegalArgumentException("Unknown protection data version " + version);
+            }
+            // Marks written before epochs existed start aging from the time they are first read
+            boolean withEpoch = version == FORMAT_VERSION;
+            result.readWithoutEpochs = !withEpoch;
+            int loadEpoch = currentEpoch();
+
+            boolean withOwners = (buffer.get() & FLAG_OWNERS) != 0;
+            if (withOwners) {
+                int paletteSize = buffer.getShort() & 0xFFFF;
+                result.palette = new ArrayList<>(paletteSize);
+                for (int i = 0; i < paletteSize; i++) {
+                    result.palette.add(new UUID(buffer.getLong(), buffer.getLong()));
+                }
+            }
+
+            int sectionCount = buffer.getShort() & 0xFFFF;
+            for (int i = 0; i < sectionCount; i++) {
+                int sectionY = buffer.getShort();
+                Section section = new Section();
+                section.epoch = withEpoch ? buffer.getInt() : loadEpoch;
+                for (int w = 0; w < SECTION_LONGS; w++) {
+                    section.bits[w] = buffer.getLong();
+                    section.count += Long.bitCount(section.bits[w]);
+                }
+                if (withOwners) {
+                    section.owners = newOwnerArray();
+                    for (int index = section.nextSetBit(0); index >= 0; index = section.nextSetBit(index + 1)) {
+                        section.owners[index] = buffer.getShort();
+                    }
+                }
+                if (section.count > 0) {
+                    result.sections.put(sectionY, section);
+                }
+            }
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Malformed protection data", e);
+        }
+        return result;
+    }
+
+    private short paletteIndex(UUID owner) {
+        if (palette == null) {
+            palette = new ArrayList<>(4);
+        }
+        int index = palette.indexOf(owner);
+        if (index < 0) {
+            if (palette.size() >= Short.MAX_VALUE) {
+                return NO_OWNER;
+            }
+            palette.add(owner);
+            index = palette.size() - 1;
+        }
+        return (short) index;
+    }
+
+    /**
+     * Get the current coarse epoch used to age sections.
+     *
+     * @return Hours since 1970
+     */
+    public static int currentEpoch() {
+        return (int) (System.currentTimeMillis() / EPOCH_MILLIS);
+    }
+
+    private static short[] newOwnerArray() {
+        short[] owners = new short[4096];
+        Arrays.fill(owners, NO_OWNER);
+        return owners;
+    }
+
+    /**
+     * Index of a block inside its 16x16x16 section.
+     */
+    static int indexOf(int x, int y, int z) {
+        return ((y & 15) << 8) | ((z & 15) << 4) | (x & 15);
+    }
+
+    /**
+     * One 16x16x16 chunk section.
+     */
+    private static final class Section {
+        final long[] bits = new long[SECTION_LONGS];
+        short[] owners;
+        int count;
+        int epoch;
+
+        boolean get(int index) {
+            return (bits[index >>> 6] & (1L << index)) != 0;
+        }
+
+        boolean set(int index) {
+            long mask = 1L << index;
+            int word = index >>> 6;
+            if ((bits[word] & mask) != 0) {
+                return false;
+            }
+            bits[word] |= mask;
+            count++;
+            return true;
+        }
+
+        boolean clear(int index) {
+            long mask = 1L << index;
+            int word = index >>> 6;
+            if ((bits[word] & mask) == 0) {
+                return false;
+            }
+            bits[word] &= ~mask;
+            count--;
+            return true;
+        }
+
+        int nextSetBit(int from) {
+            int word = from >>> 6;
+            if (word >= SECTION_LONGS) {
+                return -1;
+            }
+            long current = bits[word] & (-1L << from);
+            while (true) {
+                if (current != 0) {
+                    return (word << 6) + Long.numberOfTrailingZeros(current);
+                }
+                if (++word == SECTION_LONGS) {
+                    return -1;
+                }
+                current = bits[word];
+            }
+        }
+    }
+}
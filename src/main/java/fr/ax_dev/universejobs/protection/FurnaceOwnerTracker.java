@@ -0,0 +1,236 @@
+package fr.ax_dev.universejobs.protection;
+
+import fr.ax_dev.universejobs.UniverseJobs;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.event.inventory.InventoryType;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers which player last loaded a furnace, blast furnace, smoker or brewing stand,
+ * so SMELT and BREW rewards go to that player.
+ * <p>
+ * Stations are keyed per world by their packed block coordinates. Ownership expires
+ * {@link #EXPIRY_SECONDS} after the last use, driven by a two-level timing wheel
+ * (64 one-second slots, 64 slots of 64 seconds) advanced once per second, so stations
+ * that never process again do not stay in memory. A station used again before it expires
+ * keeps its single wheel entry, which is re-scheduled when it comes due.
+ */
+public class FurnaceOwnerTracker {
+
+    private static final int EXPIRY_SECONDS = 30 * 60;
+    private static final int WHEEL_SIZE = 64;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+    private static final int WHEEL_BITS = 6;
+
+    private final UniverseJobs plugin;
+    private final Map<UUID, Map<Long, Owner>> stations = new ConcurrentHashMap<>();
+
+    // Guarded by "this"
+    @SuppressWarnings("unchecked")
+    private final ArrayDeque<Owner>[] seconds = new ArrayDeque[WHEEL_SIZE];
+    @SuppressWarnings("unchecked")
+    private final ArrayDeque<Owner>[] minutes = new ArrayDeque[WHEEL_SIZE];
+    private long currentSecond;
+
+    /**
+     * Create a new tracker.
+     *
+     * @param plugin The plugin instance
+     */
+    public FurnaceOwnerTracker(UniverseJobs plugin) {
+        this.plugin = plugin;
+        for (int i = 0; i < WHEEL_SIZE; i++) {
+            seconds[i] = new ArrayDeque<>();
+            minutes[i] = new ArrayDeque<>();
+        }
+        this.currentSecond = nowSeconds();
+    }
+
+    /**
+     * Start advancing the expiry wheel.
+     */
+    public void start() {
+        plugin.getFoliaManager().runTimerAsync(this::advance, 20L, 20L);
+    }
+
+    /**
+     * Check if an inventory belongs to a tracked station.
+     *
+     * @param type The inventory type
+     * @return true for furnaces, blast furnaces, smokers and brewing stands
+     */
+    public static boolean isTracked(InventoryType type) {
+        return type == InventoryType.FURNACE
+                || type == InventoryType.BLAST_FURNACE
+                || type == InventoryType.SMOKER
+                || type == InventoryType.BREWING;
+    }
+
+    /**
+     * Record a player loading a station.
+     *
+     * @param location The station location
+     * @param playerUuid The player UUID
+     */
+    public void recordUse(Location location, UUID playerUuid) {
+        World world = location.getWorld();
+        if (world == null) {
+            return;
+        }
+
+        long key = pack(location.getBlockX(), location.getBlockY(), location.getBlockZ());
+        long expiresAt = nowSeconds() + EXPIRY_SECONDS;
+        Map<Long, Owner> worldStations = stations.computeIfAbsent(world.getUID(), k -> new ConcurrentHashMap<>());
+
+        Owner previous = worldStations.get(key);
+        if (previous != null && previous.playerUuid.equals(playerUuid)) {
+            // Same owner: extend, the wheel entry is re-scheduled when it comes due
+            previous.expiresAt = expiresAt;
+            return;
+        }
+
+        Owner owner = new Owner(world.getUID(), key, playerUuid, expiresAt);
+        worldStations.put(key, owner);
+        synchronized (this) {
+            schedule(owner);
+        }
+    }
+
+    /**
+     * Get the player who last loaded a station.
+     *
+     * @param location The station location
+     * @return The owner UUID, or null if untracked or expired
+     */
+    public UUID getOwner(Location location) {
+        World world = location.getWorld();
+        Map<Long, Owner> worldStations = world != null ? stations.get(world.getUID()) : null;
+        if (worldStations == null) {
+            return null;
+        }
+        Owner owner = worldStations.get(pack(location.getBlockX(), location.getBlockY(), location.getBlockZ()));
+        if (owner == null || owner.expiresAt <= nowSeconds()) {
+            return null;
+        }
+        return owner.playerUuid;
+    }
+
+    /**
+     * Forget a station (owner offline, station broken).
+     *
+     * @param location The station location
+     */
+    public void remove(Location location) {
+        World world = location.getWorld();
+        Map<Long, Owner> worldStations = world != null ? stations.get(world.getUID()) : null;
+        if (worldStations != null) {
+            // The wheel entry finds its station gone and is dropped when it comes due
+            worldStations.remove(pack(location.getBlockX(), location.getBlockY(), location.getBlockZ()));
+        }
+    }
+
+    /**
+     * Get tracker statistics for the debug command.
+     *
+     * @return The statistics
+     */
+    public Map<String, Object> getStats() {
+        int size = 0;
+        for (Map<Long, Owner> worldStations : stations.values()) {
+            size += worldStations.size();
+        }
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("worlds", stations.size());
+        stats.put("stations", size);
+        return stats;
+    }
+
+    /**
+     * Advance the wheel to the current second, expiring due stations.
+     */
+    private synchronized void advance() {
+        long now = nowSeconds();
+        while (currentSecond < now) {
+            currentSecond++;
+
+            // Every 64 seconds, move the next minute slot down to the second wheel
+            if ((currentSecond & WHEEL_MASK) == 0) {
+                ArrayDeque<Owner> cascade = minutes[(int) ((currentSecond >> WHEEL_BITS) & WHEEL_MASK)];
+                Owner owner;
+                while ((owner = cascade.poll()) != null) {
+                    schedule(owner);
+                }
+            }
+
+            ArrayDeque<Owner> due = seconds[(int) (currentSecond & WHEEL_MASK)];
+            Owner owner;
+            while ((owner = due.poll()) != null) {
+                expireOrReschedule(owner);
+            }
+        }
+    }
+
+    private void expireOrReschedule(Owner owner) {
+        Map<Long, Owner> worldStations = stations.get(owner.worldUuid);
+        if (worldStations == null || worldStations.get(owner.key) != owner) {
+            // Replaced by another owner or removed
+            return;
+        }
+        if (owner.expiresAt > currentSecond) {
+            schedule(owner);
+            return;
+        }
+        worldStations.remove(owner.key, owner);
+        if (worldStations.isEmpty()) {
+            stations.remove(owner.worldUuid, worldStations);
+        }
+    }
+
+    /**
+     * Put an entry in the slot of its expiry second. Must hold the lock.
+     */
+    private void schedule(Owner owner) {
+        long delay = Math.max(1, owner.expiresAt - currentSecond);
+        if (delay < WHEEL_SIZE) {
+            seconds[(int) ((currentSecond + delay) & WHEEL_MASK)].add(owner);
+        } else {
+            // Cascaded at the start of the 64-second block containing the expiry
+            long block = Math.min((currentSecond + delay) >> WHEEL_BITS, (currentSecond >> WHEEL_BITS) + WHEEL_MASK);
+            minutes[(int) (block & WHEEL_MASK)].add(owner);
+        }
+    }
+
+    private static long nowSeconds() {
+        return System.currentTimeMillis() / 1000L;
+    }
+
+    /**
+     * Pack block coordinates into a long (26 bits X, 26 bits Z, 12 bits Y).
+     */
+    private static long pack(int x, int y, int z) {
+        return ((long) (x & 0x3FFFFFF) << 38) | ((long) (z & 0x3FFFFFF) << 12) | (y & 0xFFFL);
+    }
+
+    /**
+     * Ownership of one station.
+     */
+    private static final class Owner {
+        final UUID worldUuid;
+        final long key;
+        final UUID playerUuid;
+        volatile long expiresAt;
+
+        Owner(UUID worldUuid, long key, UUID playerUuid, long expiresAt) {
+            this.worldUuid = worldUuid;
+            this.key = key;
+            this.playerUuid = playerUuid;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
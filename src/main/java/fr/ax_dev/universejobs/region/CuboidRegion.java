@@ -0,0 +1,33 @@
+package fr.ax_dev.universejobs.region;
+
+/**
+ * Axis-aligned box region between two corners (inclusive).
+ */
+public class CuboidRegion extends Region {
+
+    /**
+     * Create a cuboid region.
+     *
+     * @param id The region ID
+     * @param world The world name
+     * @param x1 The first corner X
+     * @param y1 The first corner Y
+     * @param z1 The first corner Z
+     * @param x2 The second corner X
+     * @param y2 The second corner Y
+     * @param z2 The second corner Z
+     */
+    public CuboidRegion(String id, String world, int x1, int y1, int z1, int x2, int y2, int z2) {
+        super(id, world, x1, y1, z1, x2, y2, z2);
+    }
+
+    @Override
+    protected boolean containsInBounds(int x, int z) {
+        return true;
+    }
+
+    @Override
+    public String getShape() {
+        return "Cuboid";
+    }
+}
@@ -0,0 +1,93 @@
+package fr.ax_dev.universejobs.region;
+
+/**
+ * Region whose horizontal shape is a polygon of block corners, extruded between two Y levels.
+ * A block is inside when its center is inside the polygon or on one of its edges.
+ */
+public class PolygonRegion extends Region {
+
+    private final int[] xs;
+    private final int[] zs;
+
+    /**
+     * Create a polygon region.
+     *
+     * @param id The region ID
+     * @param world The world name
+     * @param xs The X coordinates of the corners, in order
+     * @param zs The Z coordinates of the corners, in order
+     * @param minY The minimum Y
+     * @param maxY The maximum Y
+     */
+    public PolygonRegion(String id, String world, int[] xs, int[] zs, int minY, int maxY) {
+        super(id, world, min(xs), minY, min(zs), max(xs), maxY, max(zs));
+        if (xs.length < 3 || xs.length != zs.length) {
+            throw new IllegalArgumentException("A polygon needs at least 3 points");
+        }
+        this.xs = xs.clone();
+        this.zs = zs.clone();
+    }
+
+    @Override
+    protected boolean containsInBounds(int x, int z) {
+        double px = x + 0.5;
+        double pz = z + 0.5;
+        boolean inside = false;
+        int n = xs.length;
+        for (int i = 0, j = n - 1; i < n; j = i++) {
+            int xi = xs[i];
+            int zi = zs[i];
+            int xj = xs[j];
+            int zj = zs[j];
+
+            // Blocks on an edge belong to the region
+            if (onSegment(x, z, xi, zi, xj, zj)) {
+                return true;
+            }
+
+            // Crossing number test
+            if ((zi > pz) != (zj > pz)
+                    && px < (double) (xj - xi) * (pz - zi) / (zj - zi) + xi) {
+                inside = !inside;
+            }
+        }
+        return inside;
+    }
+
+    private static boolean onSegment(int x, int z, int x1, int z1, int x2, int z2) {
+        long cross = (long) (x2 - x1) * (z - z1) - (long) (z2 - z1) * (x - x1);
+        return cross == 0
+                && x >= Math.min(x1, x2) && x <= Math.max(x1, x2)
+                && z >= Math.min(z1, z2) && z <= Math.max(z1, z2);
+    }
+
+    @Override
+    public String getShape() {
+        return "Polygon";
+    }
+
+    /**
+     * Get the number of corners.
+     *
+     * @return The number of corners
+     */
+    public int getPointCount() {
+        return xs.length;
+    }
+
+    private static int min(int[] values) {
+        int min = Integer.MAX_VALUE;
+        for (int value : values) {
+            min = Math.min(min, value);
+        }
+        return min;
+    }
+
+    private static int max(int[] values) {
+        int max = Integer.MIN_VALUE;
+        for (int value : values) {
+            max = Math.max(max, value);
+        }
+        return max;
+    }
+}
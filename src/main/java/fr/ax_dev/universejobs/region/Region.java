@@ -0,0 +1,129 @@
+package fr.ax_dev.universejobs.region;
+
+/**
+ * A plugin-defined area of a world, used by the region requirement.
+ * Regions are immutable; they are rebuilt when the region files are reloaded.
+ */
+public abstract class Region {
+
+    private final String id;
+    private final String world;
+    protected final int minX;
+    protected final int minY;
+    protected final int minZ;
+    protected final int maxX;
+    protected final int maxY;
+    protected final int maxZ;
+
+    /**
+     * Create a region with its bounding box (inclusive block coordinates).
+     *
+     * @param id The region ID
+     * @param world The world name
+     * @param minX The minimum X
+     * @param minY The minimum Y
+     * @param minZ The minimum Z
+     * @param maxX The maximum X
+     * @param maxY The maximum Y
+     * @param maxZ The maximum Z
+     */
+    protected Region(String id, String world, int minX, int minY, int minZ, int maxX, int maxY, int maxZ) {
+        this.id = id;
+        this.world = world;
+        this.minX = Math.min(minX, maxX);
+        this.minY = Math.min(minY, maxY);
+        this.minZ = Math.min(minZ, maxZ);
+        this.maxX = Math.max(minX, maxX);
+        this.maxY = Math.max(minY, maxY);
+        this.maxZ = Math.max(minZ, maxZ);
+    }
+
+    /**
+     * Check if a block position is inside this region.
+     *
+     * @param x The block X
+     * @param y The block Y
+     * @param z The block Z
+     * @return true if inside
+     */
+    public boolean contains(int x, int y, int z) {
+        return x >= minX && x <= maxX && y >= minY && y <= maxY && z >= minZ && z <= maxZ
+                && containsInBounds(x, z);
+    }
+
+    /**
+     * Shape test for a position already known to be inside the bounding box.
+     *
+     * @param x The block X
+     * @param z The block Z
+     * @return true if inside the shape
+     */
+    protected abstract boolean containsInBounds(int x, int z);
+
+    /**
+     * Get the shape name for display.
+     *
+     * @return The shape name
+     */
+    public abstract String getShape();
+
+    /**
+     * Get the region ID (lower case).
+     *
+     * @return The region ID
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Get the world name.
+     *
+     * @return The world name
+     */
+    public String getWorld() {
+        return world;
+    }
+
+    /**
+     * Get the bounding box minimum X.
+     *
+     * @return The minimum X
+     */
+    public int getMinX() {
+        return minX;
+    }
+
+    /**
+     * Get the bounding box minimum Z.
+     *
+     * @return The minimum Z
+     */
+    public int getMinZ() {
+        return minZ;
+    }
+
+    /**
+     * Get the bounding box maximum X.
+     *
+     * @return The maximum X
+     */
+    public int getMaxX() {
+        return maxX;
+    }
+
+    /**
+     * Get the bounding box maximum Z.
+     *
+     * @return The maximum Z
+     */
+    public int getMaxZ() {
+        return maxZ;
+    }
+
+    @Override
+    public String toString() {
+        return getShape() + "Region{id='" + id + "', world='" + world + "', min=" + minX + "," + minY + "," + minZ
+                + ", max=" + maxX + "," + maxY + "," + maxZ + "}";
+    }
+}
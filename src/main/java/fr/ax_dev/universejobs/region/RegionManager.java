@@ -0,0 +1,334 @@
+package fr.ax_dev.universejobs.region;
+
+import fr.ax_dev.universejobs.UniverseJobs;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Level;
+
+/**
+ * Loads the plugin-defined regions from the {@code regions/} folder and answers
+ * point-in-region queries for the region requirement.
+ * <p>
+ * Regions are indexed per world in chunk buckets: a query only tests the few regions
+ * overlapping the chunk of the position, so its cost does not grow with the total number
+ * of regions. Regions spanning more than {@link #MAX_INDEXED_CHUNKS} chunks are kept in a
+ * per-world list that every query checks. The index is immutable and swapped on reload,
+ * so queries are safe from any thread.
+ */
+public class RegionManager {
+
+    private static final String REGIONS_FOLDER = "regions";
+    private static final int MAX_INDEXED_CHUNKS = 4096;
+
+    private final UniverseJobs plugin;
+    private volatile Map<String, Region> regions = Collections.emptyMap();
+    private volatile Map<String, WorldIndex> worlds = Collections.emptyMap();
+
+    /**
+     * Create a new region manager.
+     *
+     * @param plugin The plugin instance
+     */
+    public RegionManager(UniverseJobs plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Load (or reload) all region files and rebuild the index.
+     */
+    public void loadRegions() {
+        File folder = new File(plugin.getDataFolder(), REGIONS_FOLDER);
+        if (!folder.exists()) {
+            if (!folder.mkdirs()) {
+                plugin.getLogger().severe("Failed to create regions folder: " + folder.getPath());
+                return;
+            }
+            plugin.saveResource(REGIONS_FOLDER + "/example.yml", false);
+        }
+
+        Map<String, Region> loaded = new LinkedHashMap<>();
+        File[] files = folder.listFiles((dir, name) -> name.endsWith(".yml"));
+        if (files != null) {
+            Arrays.sort(files);
+            for (File file : files) {
+                loadRegionFile(file, loaded);
+            }
+        }
+
+        Map<String, List<Region>> byWorld = new HashMap<>();
+        for (Region region : loaded.values()) {
+            byWorld.computeIfAbsent(region.getWorld(), k -> new ArrayList<>()).add(region);
+        }
+        Map<String, WorldIndex> index = new HashMap<>();
+        byWorld.forEach((world, worldRegions) -> index.put(world, new WorldIndex(worldRegions)));
+
+        this.regions = Collections.unmodifiableMap(loaded);
+        this.worlds = index;
+
+        if (plugin.getConfigManager().isDebugEnabled()) {
+            plugin.getLogger().info("Loaded " + loaded.size() + " regions in " + index.size() + " worlds");
+        }
+    }
+
+    private void loadRegionFile(File file, Map<String, Region> loaded) {
+        try {
+            YamlConfiguration config = YamlConfiguration.loadConfiguration(file);
+            for (String key : config.getKeys(false)) {
+                ConfigurationSection section = config.getConfigurationSection(key);
+                if (section == null) continue;
+
+                String id = key.toLowerCase();
+                if (loaded.containsKey(id)) {
+                    plugin.getLogger().warning("Duplicate region '" + key + "' in " + file.getName() + ", ignored");
+                    continue;
+                }
+
+                Region region = parseRegion(id, section);
+                if (region != null) {
+                    loaded.put(id, region);
+                } else {
+                    plugin.getLogger().warning("Invalid region '" + key + "' in " + file.getName());
+                }
+            }
+        } catch (Exception e) {
+            plugin.getLogger().log(Level.WARNING, "Failed to load region file " + file.getName(), e);
+        }
+    }
+
+    private Region parseRegion(String id, ConfigurationSection section) {
+        String world = section.getString("world");
+        if (world == null || world.isEmpty()) {
+            return null;
+        }
+
+        String type = section.getString("type", "cuboid").toLowerCase();
+        if (type.equals("cuboid")) {
+            int[] min = parseCoordinates(section.getString("min"), 3);
+            int[] max = parseCoordinates(section.getString("max"), 3);
+            if (min == null || max == null) {
+                return null;
+            }
+            return new CuboidRegion(id, world, min[0], min[1], min[2], max[0], max[1], max[2]);
+        }
+
+        if (type.equals("polygon")) {
+            List<String> points = section.getStringList("points");
+            if (points.size() < 3) {
+                return null;
+            }
+            int[] xs = new int[points.size()];
+            int[] zs = new int[points.size()];
+            for (int i = 0; i < points.size(); i++) {
+                int[] point = parseCoordinates(points.get(i), 2);
+                if (point == null) {
+                    return null;
+                }
+                xs[i] = point[0];
+                zs[i] = point[1];
+            }
+            int minY = section.getInt("min-y", Integer.MIN_VALUE);
+            int maxY = section.getInt("max-y", Integer.MAX_VALUE);
+            return new PolygonRegion(id, world, xs, zs, minY, maxY);
+        }
+
+        return null;
+    }
+
+    /**
+     * Parse "x,y,z" or "x,z" coordinates.
+     */
+    private static int[] parseCoordinates(String value, int count) {
+        if (value == null) {
+            return null;
+        }
+        String[] parts = value.split(",");
+        if (parts.length != count) {
+            return null;
+        }
+        int[] coordinates = new int[count];
+        try {
+            for (int i = 0; i < count; i++) {
+                coordinates[i] = (int) Math.floor(Double.parseDouble(parts[i].trim()));
+            }
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        return coordinates;
+    }
+
+    /**
+     * Check if a location is inside at least one of the given regions.
+     *
+     * @param location The location
+     * @param regionIds The lower-case region IDs
+     * @return true if inside one of them
+     */
+    public boolean isInAny(Location location, Set<String> regionIds) {
+        World world = location.getWorld();
+        if (world == null) {
+            return false;
+        }
+        WorldIndex index = worlds.get(world.getName());
+        return index != null && index.containsAny(location.getBlockX(), location.getBlockY(), location.getBlockZ(), regionIds);
+    }
+
+    /**
+     * Get the regions containing a location.
+     *
+     * @param location The location
+     * @return The regions, empty if none
+     */
+    public List<Region> getRegionsAt(Location location) {
+        World world = location.getWorld();
+        WorldIndex index = world != null ? worlds.get(world.getName()) : null;
+        if (index == null) {
+            return Collections.emptyList();
+        }
+        List<Region> result = new ArrayList<>();
+        index.collect(location.getBlockX(), location.getBlockY(), location.getBlockZ(), result);
+        return result;
+    }
+
+    /**
+     * Get a region by ID.
+     *
+     * @param id The region ID (case-insensitive)
+     * @return The region or null
+     */
+    public Region getRegion(String id) {
+        return regions.get(id.toLowerCase());
+    }
+
+    /**
+     * Check if a region exists.
+     *
+     * @param id The region ID (case-insensitive)
+     * @return true if defined
+     */
+    public boolean hasRegion(String id) {
+        return regions.containsKey(id.toLowerCase());
+    }
+
+    /**
+     * Get all loaded regions.
+     *
+     * @return The regions
+     */
+    public Collection<Region> getRegions() {
+        return regions.values();
+    }
+
+    /**
+     * Get index statistics for the debug command.
+     *
+     * @return The statistics
+     */
+    public Map<String, Object> getStats() {
+        int buckets = 0;
+        int large = 0;
+        for (WorldIndex index : worlds.values()) {
+            buckets += index.keys.length;
+            large += index.large.length;
+        }
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("regions", regions.size());
+        stats.put("worlds", worlds.size());
+        stats.put("chunkBuckets", buckets);
+        stats.put("unindexed", large);
+        return stats;
+    }
+
+    /**
+     * Chunk-bucketed index of the regions of one world: sorted chunk keys with the
+     * regions overlapping each chunk, looked up by binary search.
+     */
+    private static final class WorldIndex {
+        private final long[] keys;
+        private final Region[][] buckets;
+        private final Region[] large;
+
+        WorldIndex(List<Region> regions) {
+            Map<Long, List<Region>> byChunk = new HashMap<>();
+            List<Region> largeRegions = new ArrayList<>();
+
+            for (Region region : regions) {
+                int minChunkX = region.getMinX() >> 4;
+                int maxChunkX = region.getMaxX() >> 4;
+                int minChunkZ = region.getMinZ() >> 4;
+                int maxChunkZ = region.getMaxZ() >> 4;
+                long chunkCount = (long) (maxChunkX - minChunkX + 1) * (maxChunkZ - minChunkZ + 1);
+                if (chunkCount > MAX_INDEXED_CHUNKS) {
+                    largeRegions.add(region);
+                    continue;
+                }
+                for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+                    for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
+                        byChunk.computeIfAbsent(chunkKey(chunkX, chunkZ), k -> new ArrayList<>(2)).add(region);
+                    }
+                }
+            }
+
+            this.keys = new long[byChunk.size()];
+            int i = 0;
+            for (Long key : byChunk.keySet()) {
+                keys[i++] = key;
+            }
+            Arrays.sort(keys);
+            this.buckets = new Region[keys.length][];
+            for (int j = 0; j < keys.length; j++) {
+                buckets[j] = byChunk.get(keys[j]).toArray(new Region[0]);
+            }
+            this.large = largeRegions.toArray(new Region[0]);
+        }
+
+        boolean containsAny(int x, int y, int z, Set<String> regionIds) {
+            int slot = Arrays.binarySearch(keys, chunkKey(x >> 4, z >> 4));
+            if (slot >= 0) {
+                for (Region region : buckets[slot]) {
+                    if (regionIds.contains(region.getId()) && region.contains(x, y, z)) {
+                        return true;
+                    }
+                }
+            }
+            for (Region region : large) {
+                if (regionIds.contains(region.getId()) && region.contains(x, y, z)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        void collect(int x, int y, int z, List<Region> result) {
+            int slot = Arrays.binarySearch(keys, chunkKey(x >> 4, z >> 4));
+            if (slot >= 0) {
+                for (Region region : buckets[slot]) {
+                    if (region.contains(x, y, z)) {
+                        result.add(region);
+                    }
+                }
+            }
+            for (Region region : large) {
+                if (region.contains(x, y, z)) {
+                    result.add(region);
+                }
+            }
+        }
+
+        private static long chunkKey(int chunkX, int chunkZ) {
+            return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+        }
+    }
+}
@@ -308,7 +308,7 @@ public class RewardManager {
                     result.execute(player);
                 }
                 return false;
-            } else if (showFeedback && (result.getAcceptMessage() != null || result.getAcceptSound() != null || result.getAcceptCommands() != null)) {
+            } else if (showFeedback && result.hasActions()) {
                 // Execute accept actions if they exist
                 result.execute(player);
             }
@@ -260,6 +260,8 @@ public class DatabaseInitializer {
     private boolean verifyTables() {
         String[] requiredTables = {
             "player_job_data",
+            "player_job_levels",
+            "player_job_totals",
             "player_reward_claims",
             "performance_stats",
             "server_config",
@@ -322,6 +324,10 @@ public class DatabaseInitializer {
         
         String[] indexStatements = {
             "CREATE INDEX IF NOT EXISTS idx_player_job_data_last_updated ON player_job_data (last_updated)",
+            "CREATE INDEX IF NOT EXISTS idx_player_job_levels_ranking ON player_job_levels (job_id, level DESC, xp DESC, player_uuid)",
+            "CREATE INDEX IF NOT EXISTS idx_player_job_totals_levels ON player_job_totals (total_levels)",
+            "CREATE INDEX IF NOT EXISTS idx_player_job_totals_jobs ON player_job_totals (total_jobs)",
+            "CREATE INDEX IF NOT EXISTS idx_player_job_totals_xp ON player_job_totals (total_xp)",
             "CREATE INDEX IF NOT EXISTS idx_player_reward_claims_player_uuid ON player_reward_claims (player_uuid)",
             "CREATE INDEX IF NOT EXISTS idx_player_reward_claims_job_id ON player_reward_claims (job_id)",
             "CREATE INDEX IF NOT EXISTS idx_player_reward_claims_claim_time ON player_reward_claims (claim_time)",
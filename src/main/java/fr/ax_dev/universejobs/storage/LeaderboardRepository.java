@@ -0,0 +1,462 @@
+package fr.ax_dev.universejobs.storage;
+
+import fr.ax_dev.universejobs.UniverseJobs;
+import fr.ax_dev.universejobs.job.PlayerJobData;
+import fr.ax_dev.universejobs.leaderboard.LeaderboardSnapshotPublisher;
+import fr.ax_dev.universejobs.storage.pool.ConnectionPool;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import java.io.File;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+
+/**
+ * SQL access to the per-job level table used for leaderboards.
+ * Rankings are computed by the database through the (job_id, level DESC, xp DESC) index,
+ * so no player data has to be loaded into the JVM to build a board. Global rankings use
+ * a per-player totals table, written with the levels and indexed on each total.
+ */
+public class LeaderboardRepository {
+
+    private static final String DELETE_PLAYER = "DELETE FROM player_job_levels WHERE player_uuid = ?";
+    private static final String INSERT_LEVEL =
+            "INSERT INTO player_job_levels (player_uuid, job_id, player_name, level, xp) VALUES (?, ?, ?, ?, ?)";
+    private static final String SELECT_TOP =
+            "SELECT player_uuid, player_name, level, xp FROM player_job_levels WHERE job_id = ? " +
+            "ORDER BY level DESC, xp DESC LIMIT ?";
+    private static final String SELECT_PLAYER =
+            "SELECT level, xp FROM player_job_levels WHERE job_id = ? AND player_uuid = ?";
+    private static final String COUNT_AHEAD =
+            "SELECT COUNT(*) FROM player_job_levels WHERE job_id = ? AND (level > ? OR (level = ? AND xp > ?))";
+    private static final String COUNT_JOB = "SELECT COUNT(*) FROM player_job_levels WHERE job_id = ?";
+    private static final String DELETE_TOTALS = "DELETE FROM player_job_totals WHERE player_uuid = ?";
+    private static final String INSERT_TOTALS =
+            "INSERT INTO player_job_totals (player_uuid, player_name, total_levels, total_jobs, total_xp) VALUES (?, ?, ?, ?, ?)";
+    private static final String COUNT_TOTALS = "SELECT COUNT(*) FROM player_job_totals";
+
+    private static final int BACKFILL_BATCH_SIZE = 500;
+
+    private final UniverseJobs plugin;
+    private final ConnectionPool connectionPool;
+
+    // Latest levels per player waiting for the next flush
+    private final Map<UUID, List<LevelRow>> pendingLevels = new ConcurrentHashMap<>();
+
+    /**
+     * Create a new LeaderboardRepository.
+     *
+     * @param plugin The plugin instance
+     * @param connectionPool The connection pool
+     */
+    public LeaderboardRepository(UniverseJobs plugin, ConnectionPool connectionPool) {
+        this.plugin = plugin;
+        this.connectionPool = connectionPool;
+    }
+
+    /**
+     * Check if the database is available.
+     *
+     * @return true if queries can be executed
+     */
+    public boolean isAvailable() {
+        return connectionPool.isEnabled();
+    }
+
+    /**
+     * Queue the current levels of a player for the next {@link #flushPendingLevels()}.
+     * Only copies the levels; no database access happens on the calling thread.
+     *
+     * @param playerUuid The player UUID
+     * @param data The player data
+     */
+    public void queueLevels(UUID playerUuid, PlayerJobData data) {
+        if (!isAvailable() || data == null) {
+            return;
+        }
+
+        List<LevelRow> rows = new ArrayList<>();
+        for (String jobId : data.getJobs()) {
+            rows.add(new LevelRow(jobId, data.getLevel(jobId), data.getXp(jobId)));
+        }
+        pendingLevels.put(playerUuid, rows);
+    }
+
+    /**
+     * Write the queued levels in one transaction, replacing the rows of each queued player.
+     * Blocks on the database: call from an async thread or on shutdown.
+     */
+    public void flushPendingLevels() {
+        if (!isAvailable() || pendingLevels.isEmpty()) {
+            return;
+        }
+
+        // Take the latest levels of each player; newer ones queued meanwhile stay for the next flush
+        Map<UUID, List<LevelRow>> batch = new HashMap<>();
+        for (Map.Entry<UUID, List<LevelRow>> entry : pendingLevels.entrySet()) {
+            if (pendingLevels.remove(entry.getKey(), entry.getValue())) {
+                batch.put(entry.getKey(), entry.getValue());
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            Connection connection = connectionPool.getConnection();
+            try {
+                connection.setAutoCommit(false);
+                try (PreparedStatement delete = connection.prepareStatement(DELETE_PLAYER);
+                     PreparedStatement insert = connection.prepareStatement(INSERT_LEVEL);
+                     PreparedStatement deleteTotals = connection.prepareStatement(DELETE_TOTALS);
+                     PreparedStatement insertTotals = connection.prepareStatement(INSERT_TOTALS)) {
+                    for (Map.Entry<UUID, List<LevelRow>> entry : batch.entrySet()) {
+                        String playerUuid = entry.getKey().toString();
+                        String playerName = getPlayerName(entry.getKey());
+                        delete.setString(1, playerUuid);
+                        delete.addBatch();
+                        deleteTotals.setString(1, playerUuid);
+                        deleteTotals.addBatch();
+
+                        int totalLevels = 0;
+                        double totalXp = 0;
+                        for (LevelRow row : entry.getValue()) {
+                            insert.setString(1, playerUuid);
+                            insert.setString(2, row.jobId());
+                            insert.setString(3, playerName);
+                            insert.setInt(4, row.level());
+                            insert.setDouble(5, row.xp());
+                            insert.addBatch();
+                            totalLevels += row.level();
+                            totalXp += row.xp();
+                        }
+                        if (!entry.getValue().isEmpty()) {
+                            insertTotals.setString(1, playerUuid);
+                            insertTotals.setString(2, playerName);
+                            insertTotals.setInt(3, totalLevels);
+                            insertTotals.setInt(4, entry.getValue().size());
+                            insertTotals.setDouble(5, totalXp);
+                            insertTotals.addBatch();
+                        }
+                    }
+                    delete.executeBatch();
+                    deleteTotals.executeBatch();
+                    insert.executeBatch();
+                    insertTotals.executeBatch();
+                    connection.commit();
+                } catch (SQLException e) {
+                    connection.rollback();
+                    throw e;
+                }
+            } finally {
+                connectionPool.returnConnection(connection);
+            }
+        } catch (SQLException e) {
+            // Requeue unless newer levels were queued meanwhile
+            batch.forEach(pendingLevels::putIfAbsent);
+            plugin.getLogger().log(Level.WARNING, "Failed to save leaderboard levels for " + batch.size() + " players", e);
+        }
+    }
+
+    /**
+     * Get a player name without blocking, from the leaderboard publisher's name cache.
+     */
+    private String getPlayerName(UUID playerUuid) {
+        LeaderboardSnapshotPublisher publisher = plugin.getLeaderboardPublisher();
+        return publisher != null ? publisher.getCachedName(playerUuid) : null;
+    }
+
+    /**
+     * Fill the level and totals tables from the YAML data files if the totals are still empty,
+     * so leaderboards are complete right after the database is enabled.
+     *
+     * @param dataFolder The player data folder
+     */
+    public void backfillIfEmpty(File dataFolder) {
+        if (!isAvailable() || countGlobalPlayers() > 0) {
+            return;
+        }
+
+        File[] dataFiles = dataFolder.listFiles((dir, name) -> name.endsWith(".yml"));
+        if (dataFiles == null || dataFiles.length == 0) {
+            return;
+        }
+
+        int imported = 0;
+        for (File dataFile : dataFiles) {
+            try {
+                UUID playerUuid = UUID.fromString(dataFile.getName().substring(0, dataFile.getName().length() - 4));
+                PlayerJobData data = new PlayerJobData(playerUuid);
+                data.setJobManager(plugin.getJobManager());
+                data.load(YamlConfiguration.loadConfiguration(dataFile));
+                queueLevels(playerUuid, data);
+                imported++;
+                if (imported % BACKFILL_BATCH_SIZE == 0) {
+                    flushPendingLevels();
+                }
+            } catch (Exception e) {
+                plugin.getLogger().warning("Error importing data file into leaderboard table: " + dataFile.getName());
+            }
+        }
+        flushPendingLevels();
+        plugin.getLogger().info("Imported " + imported + " players into the leaderboard table");
+    }
+
+    /**
+     * Get the top players of a job, best first.
+     *
+     * @param jobId The job ID
+     * @param limit Maximum number of rows
+     * @return The rows, empty on error
+     */
+    public List<Row> fetchTop(String jobId, int limit) {
+        List<Row> rows = new ArrayList<>();
+        try {
+            Connection connection = connectionPool.getConnection();
+            try (PreparedStatement stmt = connection.prepareStatement(SELECT_TOP)) {
+                stmt.setString(1, jobId);
+                stmt.setInt(2, limit);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        double xp = rs.getDouble(4);
+                        rows.add(new Row(UUID.fromString(rs.getString(1)), rs.getString(2), rs.getInt(3), xp, xp));
+                    }
+                }
+            } finally {
+                connectionPool.returnConnection(connection);
+            }
+        } catch (SQLException | IllegalArgumentException e) {
+            plugin.getLogger().log(Level.WARNING, "Failed to query leaderboard for job " + jobId, e);
+        }
+        return rows;
+    }
+
+    /**
+     * Get the 1-based rank of a player in a job.
+     *
+     * @param jobId The job ID
+     * @param playerUuid The player UUID
+     * @return The rank, or 0 if the player has no row for this job
+     */
+    public int fetchRank(String jobId, UUID playerUuid) {
+        try {
+            Connection connection = connectionPool.getConnection();
+            try (PreparedStatement select = connection.prepareStatement(SELECT_PLAYER)) {
+                select.setString(1, jobId);
+                select.setString(2, playerUuid.toString());
+                int level;
+                double xp;
+                try (ResultSet rs = select.executeQuery()) {
+                    if (!rs.next()) {
+                        return 0;
+                    }
+                    level = rs.getInt(1);
+                    xp = rs.getDouble(2);
+                }
+
+                try (PreparedStatement count = connection.prepareStatement(COUNT_AHEAD)) {
+                    count.setString(1, jobId);
+                    count.setInt(2, level);
+                    count.setInt(3, level);
+                    count.setDouble(4, xp);
+                    try (ResultSet rs = count.executeQuery()) {
+                        return rs.next() ? rs.getInt(1) + 1 : 0;
+                    }
+                }
+            } finally {
+                connectionPool.returnConnection(connection);
+            }
+        } catch (SQLException e) {
+            plugin.getLogger().log(Level.WARNING, "Failed to query rank for " + playerUuid + " in job " + jobId, e);
+            return 0;
+        }
+    }
+
+    /**
+     * Count the players that have a job.
+     *
+     * @param jobId The job ID
+     * @return The player count, 0 on error
+     */
+    public int countPlayers(String jobId) {
+        try {
+            Connection connection = connectionPool.getConnection();
+            try (PreparedStatement stmt = connection.prepareStatement(COUNT_JOB)) {
+                stmt.setString(1, jobId);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    return rs.next() ? rs.getInt(1) : 0;
+                }
+            } finally {
+                connectionPool.returnConnection(connection);
+            }
+        } catch (SQLException e) {
+            plugin.getLogger().log(Level.WARNING, "Failed to count players for job " + jobId, e);
+            return 0;
+        }
+    }
+
+    /**
+     * Get the top players of a global ranking, best first.
+     * For global rows, level and XP hold the player's totals and {@link Row#getValue()} the ranking value.
+     *
+     * @param type totallevels, totaljobs or totalxp
+     * @param limit Maximum number of rows
+     * @return The rows, empty on error or unknown type
+     */
+    public List<Row> fetchGlobalTop(String type, int limit) {
+        String column = getTotalColumn(type);
+        List<Row> rows = new ArrayList<>();
+        if (column == null) {
+            return rows;
+        }
+
+        // column comes from a fixed whitelist, never from user input
+        String sql = "SELECT player_uuid, player_name, total_levels, total_xp, " + column +
+                " FROM player_job_totals ORDER BY " + column + " DESC LIMIT ?";
+        try {
+            Connection connection = connectionPool.getConnection();
+            try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+                stmt.setInt(1, limit);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        rows.add(new Row(UUID.fromString(rs.getString(1)), rs.getString(2), rs.getInt(3), rs.getDouble(4), rs.getDouble(5)));
+                    }
+                }
+            } finally {
+                connectionPool.returnConnection(connection);
+            }
+        } catch (SQLException | IllegalArgumentException e) {
+            plugin.getLogger().log(Level.WARNING, "Failed to query global leaderboard " + type, e);
+        }
+        return rows;
+    }
+
+    /**
+     * Get the 1-based rank of a player in a global ranking, counted on the indexed totals table.
+     *
+     * @param type totallevels, totaljobs or totalxp
+     * @param playerUuid The player UUID
+     * @return The rank, or 0 if the player has no job
+     */
+    public int fetchGlobalRank(String type, UUID playerUuid) {
+        String column = getTotalColumn(type);
+        if (column == null) {
+            return 0;
+        }
+
+        String selectValue = "SELECT " + column + " FROM player_job_totals WHERE player_uuid = ?";
+        String countAhead = "SELECT COUNT(*) FROM player_job_totals WHERE " + column + " > ?";
+        try {
+            Connection connection = connectionPool.getConnection();
+            try (PreparedStatement select = connection.prepareStatement(selectValue)) {
+                select.setString(1, playerUuid.toString());
+                double value;
+                try (ResultSet rs = select.executeQuery()) {
+                    if (!rs.next()) {
+                        return 0;
+                    }
+                    value = rs.getDouble(1);
+                }
+
+                try (PreparedStatement count = connection.prepareStatement(countAhead)) {
+                    count.setDouble(1, value);
+                    try (ResultSet rs = count.executeQuery()) {
+                        return rs.next() ? rs.getInt(1) + 1 : 0;
+                    }
+                }
+            } finally {
+                connectionPool.returnConnection(connection);
+            }
+        } catch (SQLException e) {
+            plugin.getLogger().log(Level.WARNING, "Failed to query global rank for " + playerUuid, e);
+            return 0;
+        }
+    }
+
+    /**
+     * Count the players that have at least one job.
+     *
+     * @return The player count, 0 on error
+     */
+    public int countGlobalPlayers() {
+        try {
+            Connection connection = connectionPool.getConnection();
+            try (PreparedStatement stmt = connection.prepareStatement(COUNT_TOTALS)) {
+                try (ResultSet rs = stmt.executeQuery()) {
+                    return rs.next() ? rs.getInt(1) : 0;
+                }
+            } finally {
+                connectionPool.returnConnection(connection);
+            }
+        } catch (SQLException e) {
+            plugin.getLogger().log(Level.WARNING, "Failed to count ranked players", e);
+            return 0;
+        }
+    }
+
+    private String getTotalColumn(String type) {
+        switch (type) {
+            case "totallevels":
+                return "total_levels";
+            case "totaljobs":
+                return "total_jobs";
+            case "totalxp":
+                return "total_xp";
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Levels of one job queued for writing.
+     */
+    private record LevelRow(String jobId, int level, double xp) {
+    }
+
+    /**
+     * A ranked row as returned by the database.
+     */
+    public static final class Row {
+        private final UUID playerUuid;
+        private final String playerName;
+        private final int level;
+        private final double xp;
+        private final double value;
+
+        Row(UUID playerUuid, String playerName, int level, double xp, double value) {
+            this.playerUuid = playerUuid;
+            this.playerName = playerName;
+            this.level = level;
+            this.xp = xp;
+            this.value = value;
+        }
+
+        public UUID getPlayerUuid() {
+            return playerUuid;
+        }
+
+        public String getPlayerName() {
+            return playerName;
+        }
+
+        public int getLevel() {
+            return level;
+        }
+
+        public double getXp() {
+            return xp;
+        }
+
+        public double getValue() {
+            return value;
+        }
+    }
+}
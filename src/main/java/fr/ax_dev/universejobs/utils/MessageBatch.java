@@ -2,14 +2,15 @@ package fr.ax_dev.universejobs.utils;
 
 import fr.ax_dev.universejobs.UniverseJobs;
 import fr.ax_dev.universejobs.compatibility.FoliaCompatibilityManager;
+import com.tcoded.folialib.wrapper.task.WrappedTask;
 import org.bukkit.entity.Player;
-import org.bukkit.scheduler.BukkitRunnable;
 
 import java.util.Map;
 import java.util.Queue;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Batches messages to reduce scheduler overhead.
@@ -25,8 +26,8 @@ public class MessageBatch {
     private final Map<UUID, Queue<PendingMessage>> pendingMessages = new ConcurrentHashMap<>();
     
     // Single task that processes all batched messages
-    private BukkitRunnable batchProcessor;
-    private boolean isRunning = false;
+    private volatile WrappedTask batchProcessor;
+    private final AtomicBoolean running = new AtomicBoolean(false);
     
     public MessageBatch(UniverseJobs plugin) {
         this.plugin = plugin;
@@ -41,10 +42,15 @@ public class MessageBatch {
         
         PendingMessage message = new PendingMessage(type, content, duration, System.currentTimeMillis());
         
-        pendingMessages.computeIfAbsent(playerId, k -> new ConcurrentLinkedQueue<>()).offer(message);
+        // Offer inside compute so it cannot race with the removal of a drained queue
+        pendingMessages.compute(playerId, (k, queue) -> {
+            Queue<PendingMessage> target = queue != null ? queue : new ConcurrentLinkedQueue<>();
+            target.offer(message);
+            return target;
+        });
         
         // Start batch processor if not running
-        if (!isRunning) {
+        if (running.compareAndSet(false, true)) {
             startBatchProcessor();
         }
     }
@@ -52,34 +58,33 @@ public class MessageBatch {
     /**
      * Start the batch processor that runs every 2 ticks (100ms).
      * This dramatically reduces scheduler overhead.
+     * The processor only drains queues; sending is done on each player's own thread.
+     * Called by whoever set the running flag.
      */
     private void startBatchProcessor() {
-        if (isRunning) return;
-        
-        isRunning = true;
-        batchProcessor = new BukkitRunnable() {
-            @Override
-            public void run() {
-                if (pendingMessages.isEmpty()) {
-                    // Stop if no messages pending for 10 seconds
-                    if (System.currentTimeMillis() - lastProcessTime > 10000) {
-                        isRunning = false;
-                        cancel();
-                        return;
+        lastProcessTime = System.currentTimeMillis();
+        // Run every 2 ticks (100ms) instead of immediately for each message
+        foliaManager.runTimerAsync(task -> {
+            batchProcessor = task;
+            if (pendingMessages.isEmpty()) {
+                // Stop if no messages pending for 10 seconds
+                if (System.currentTimeMillis() - lastProcessTime > 10000) {
+                    task.cancel();
+                    running.set(false);
+                    // A message queued while stopping would otherwise wait for the next one
+                    if (!pendingMessages.isEmpty() && running.compareAndSet(false, true)) {
+                        startBatchProcessor();
                     }
-                    return;
                 }
-                
-                processBatch();
-                lastProcessTime = System.currentTimeMillis();
+                return;
             }
-        };
-        
-        // Run every 2 ticks (100ms) instead of immediately for each message
-        batchProcessor.runTaskTimer(plugin, 0, 2);
+            
+            processBatch();
+            lastProcessTime = System.currentTimeMillis();
+        }, 1, 2);
     }
     
-    private long lastProcessTime = System.currentTimeMillis();
+    private volatile long lastProcessTime = System.currentTimeMillis();
     
     /**
      * Process all pending messages in one go.
@@ -129,8 +134,10 @@ public class MessageBatch {
             }
         }
         
-        // Clean up empty queues
-        pendingMessages.entrySet().removeIf(entry -> entry.getValue().isEmpty());
+        // Remove drained queues; computeIfPresent is atomic with the offer in queueMessage
+        for (UUID playerId : pendingMessages.keySet()) {
+            pendingMessages.computeIfPresent(playerId, (k, queue) -> queue.isEmpty() ? null : queue);
+        }
     }
     
     /**
@@ -143,12 +150,10 @@ public class MessageBatch {
                 
                 // Schedule cleanup only once per player, reusing cleanup task
                 if (message.duration > 0) {
-                    foliaManager.runLater(() -> {
-                        foliaManager.runAtEntity(player, () -> {
-                            if (player.isOnline()) {
-                                player.sendActionBar(MessageUtils.parseMessage(""));
-                            }
-                        });
+                    foliaManager.runAtEntityLater(player, () -> {
+                        if (player.isOnline()) {
+                            player.sendActionBar(MessageUtils.parseMessage(""));
+                        }
                     }, message.duration);
                 }
             }
@@ -179,11 +184,12 @@ public class MessageBatch {
      * Shutdown the batch processor.
      */
     public void shutdown() {
-        if (batchProcessor != null) {
-            batchProcessor.cancel();
+        WrappedTask task = batchProcessor;
+        if (task != null) {
+            task.cancel();
         }
         pendingMessages.clear();
-        isRunning = false;
+        running.set(false);
     }
     
     public enum MessageType {
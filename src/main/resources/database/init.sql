@@ -21,6 +21,27 @@ CREATE TABLE IF NOT EXISTS player_job_data (
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
 );
 
+-- Per-job levels, kept in sync on save so leaderboards can be ranked by SQL
+CREATE TABLE IF NOT EXISTS player_job_levels (
+    player_uuid VARCHAR(36) NOT NULL,
+    job_id VARCHAR(64) NOT NULL,
+    player_name VARCHAR(16),
+    level INT NOT NULL DEFAULT 1,
+    xp DOUBLE PRECISION NOT NULL DEFAULT 0,
+    last_updated TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (player_uuid, job_id)
+);
+
+-- Per-player totals over all jobs, written with the levels so global ranks are index lookups
+CREATE TABLE IF NOT EXISTS player_job_totals (
+    player_uuid VARCHAR(36) NOT NULL PRIMARY KEY,
+    player_name VARCHAR(16),
+    total_levels INT NOT NULL DEFAULT 0,
+    total_jobs INT NOT NULL DEFAULT 0,
+    total_xp DOUBLE PRECISION NOT NULL DEFAULT 0,
+    last_updated TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
 -- Player reward claim data table
 CREATE TABLE IF NOT EXISTS player_reward_claims (
     id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
@@ -64,6 +85,14 @@ CREATE TABLE IF NOT EXISTS schema_migrations (
 CREATE INDEX IF NOT EXISTS idx_player_job_data_last_updated ON player_job_data (last_updated);
 CREATE INDEX IF NOT EXISTS idx_player_job_data_created_at ON player_job_data (created_at);
 
+-- Covering index for leaderboard top-N and rank queries
+CREATE INDEX IF NOT EXISTS idx_player_job_levels_ranking ON player_job_levels (job_id, level DESC, xp DESC, player_uuid);
+
+-- Global ranking indexes (total levels, jobs and XP)
+CREATE INDEX IF NOT EXISTS idx_player_job_totals_levels ON player_job_totals (total_levels);
+CREATE INDEX IF NOT EXISTS idx_player_job_totals_jobs ON player_job_totals (total_jobs);
+CREATE INDEX IF NOT EXISTS idx_player_job_totals_xp ON player_job_totals (total_xp);
+
 CREATE INDEX IF NOT EXISTS idx_player_reward_claims_player_uuid ON player_reward_claims (player_uuid);
 CREATE INDEX IF NOT EXISTS idx_player_reward_claims_job_id ON player_reward_claims (job_id);
 CREATE INDEX IF NOT EXISTS idx_player_reward_claims_claim_time ON player_reward_claims (claim_time);